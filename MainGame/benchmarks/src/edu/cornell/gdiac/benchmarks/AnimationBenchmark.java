@@ -0,0 +1,68 @@
+/*
+ * AnimationBenchmark.java
+ *
+ * Measures the per-frame cost of animations.  Every animated model calls
+ * update once a frame, and most of those calls do not reach a new frame of
+ * the clip, so both the skipped update and advanceFrame are measured.  Every
+ * drawn model also asks for its current frame, which is measured as well.
+ */
+package edu.cornell.gdiac.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import edu.cornell.gdiac.util.Animation;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Updating, advancing and drawing a looping animation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationBenchmark {
+	/** The length of a game frame in seconds */
+	private static final double FRAME = 1/60.0;
+
+	/** The sprite sheet of the animation */
+	private Texture sheet;
+	/** The animation being measured */
+	private Animation animation;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSupport.start();
+		sheet = new Texture(512, 64, Pixmap.Format.RGBA8888);
+		animation = new Animation();
+		animation.addTexture("idle", sheet, 1, 8);
+		animation.addTexture("run", sheet, 2, 16);
+		animation.play("run", true);
+	}
+
+	@TearDown
+	public void tearDown() {
+		sheet.dispose();
+	}
+
+	@Benchmark
+	public Animation update() {
+		animation.update(FRAME);
+		return animation;
+	}
+
+	@Benchmark
+	public Animation advanceFrame() {
+		animation.advanceFrame();
+		return animation;
+	}
+
+	@Benchmark
+	public TextureRegion getTextureRegion() {
+		return animation.getTextureRegion();
+	}
+}
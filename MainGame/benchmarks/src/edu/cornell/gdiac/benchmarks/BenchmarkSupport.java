@@ -0,0 +1,61 @@
+/*
+ * BenchmarkSupport.java
+ *
+ * Sets up just enough of libGDX for the benchmarks to use the game classes.
+ * A headless application loads the native libraries (Box2D, pixmaps) and
+ * provides the file system, and OpenGL is replaced by the stand-in of the
+ * headless runner so that textures can be created without a window.
+ *
+ * The benchmarks run with the assets folder as the working directory, just
+ * like the desktop game.  Run them with
+ *
+ *     gradlew benchmarks:jmh
+ *
+ * The results are written to build/reports/jmh/results.json.
+ */
+package edu.cornell.gdiac.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import edu.cornell.gdiac.game.modes.GameMode;
+import edu.cornell.gdiac.headless.HeadlessRunner;
+import edu.cornell.gdiac.util.sidebar.Sidebar;
+
+/**
+ * Shared setup for the benchmarks.
+ */
+public class BenchmarkSupport {
+	/** The drawing scale of the game (pixels per physics unit) */
+	public static final Vector2 SCALE = new Vector2(GameMode.WORLD_WIDTH/32.0f, GameMode.WORLD_HEIGHT/18.0f);
+
+	/**
+	 * Starts libGDX without a window, if it has not been started yet.
+	 *
+	 * Every benchmark state must call this before touching a game class.
+	 */
+	public static synchronized void start() {
+		if (Gdx.app != null) {
+			return;
+		}
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		new HeadlessApplication(new ApplicationAdapter() {}, config);
+		Box2D.init();
+		Gdx.gl = Gdx.gl20 = HeadlessRunner.createNullGL();
+		Sidebar.initDefaultSettings();
+	}
+
+	/**
+	 * Returns a new asset manager after starting libGDX.
+	 *
+	 * @return a new asset manager after starting libGDX
+	 */
+	public static AssetManager createManager() {
+		start();
+		return new AssetManager();
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * CollisionBenchmark.java
+ *
+ * Measures the cost of dispatching contacts in the CollisionController.  A small
+ * world is set up with paintballs resting on a platform, against a wall, and
+ * against each other, and stepped once (without the controller) so that Box2D
+ * finds the contacts.  The benchmark then feeds those contacts to beginContact
+ * and endContact, the way the world does when objects touch and separate.
+ *
+ * The first dispatch pops the paintballs, so the measured calls are those for
+ * paintballs that have already hit something.  This is the common case, since
+ * a stuck paintball touches the level every frame until it disappears.
+ */
+package edu.cornell.gdiac.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import edu.cornell.gdiac.game.entity.controllers.CollisionController;
+import edu.cornell.gdiac.game.entity.factories.PaintballFactory;
+import edu.cornell.gdiac.game.entity.models.HUDModel;
+import edu.cornell.gdiac.game.entity.models.PaintballModel;
+import edu.cornell.gdiac.game.entity.models.PlatformModel;
+import edu.cornell.gdiac.game.entity.models.WallModel;
+import edu.cornell.gdiac.game.modes.GameMode;
+import edu.cornell.gdiac.util.obstacles.Obstacle;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Dispatching begin and end contacts between paintballs and the level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+	/** The asset manager holding the paintball textures */
+	private AssetManager manager;
+	/** The world the contacts come from */
+	private World world;
+	/** The creator of the paintballs */
+	private PaintballFactory factory;
+	/** The controller being measured */
+	private CollisionController controller;
+	/** The touching contacts of the world */
+	private Array<Contact> contacts;
+
+	@Setup
+	public void setUp() {
+		manager = BenchmarkSupport.createManager();
+		factory = new PaintballFactory(BenchmarkSupport.SCALE);
+		factory.preLoadContent(manager);
+		manager.finishLoading();
+		factory.loadContent(manager);
+		HUDModel hud = new HUDModel(GameMode.WORLD_WIDTH, GameMode.WORLD_HEIGHT);
+		controller = new CollisionController(hud, factory);
+
+		world = new World(new Vector2(0, -9.8f), false);
+		add(new PlatformModel(new float[] {0, 0, 16, 0, 16, 1, 0, 1}, PlatformModel.NORMAL_PLATFORM));
+		add(new WallModel(new float[] {16, 0, 17, 0, 17, 8, 16, 8}));
+		for(int ii = 0; ii < 4; ii++) {
+			// Resting on the platform
+			addPaintball(1+2*ii, 1, true, "normal");
+			// Against the wall
+			addPaintball(16, 2+ii, true, "normal");
+			// Meeting each other head on
+			addPaintball(9+2*ii, 4, true, "normal");
+			addPaintball(9+2*ii, 4, false, "normal");
+		}
+		world.step(1/60.0f, 8, 3);
+
+		contacts = new Array<Contact>();
+		for(Contact contact : world.getContactList()) {
+			if (contact.isTouching()) {
+				contacts.add(contact);
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		world.dispose();
+		factory.unloadContent(manager);
+		manager.dispose();
+	}
+
+	/**
+	 * Adds an obstacle to the world with the filter of its type
+	 *
+	 * @param obj The obstacle to add
+	 */
+	private void add(Obstacle obj) {
+		CollisionController.applyFilter(obj);
+		obj.activatePhysics(world);
+	}
+
+	/**
+	 * Adds a paintball centered at the given position
+	 */
+	private void addPaintball(float x, float y, boolean direction, String type) {
+		PaintballModel paintball = factory.createPaintball(x, y, direction, type);
+		paintball.setPosition(x, y);
+		paintball.activatePhysics(world);
+	}
+
+	@Benchmark
+	public int dispatch() {
+		for(int ii = 0; ii < contacts.size; ii++) {
+			Contact contact = contacts.get(ii);
+			controller.beginContact(contact);
+			controller.endContact(contact);
+		}
+		return contacts.size;
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * PaintballBenchmark.java
+ *
+ * Measures how long it takes to hand out a paintball.  Paintballs come from a
+ * pool, so once the pool is warm this is the cost of setting one up (its size,
+ * textures and animations) and returning it.
+ */
+package edu.cornell.gdiac.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.assets.AssetManager;
+import edu.cornell.gdiac.game.entity.factories.PaintballFactory;
+import edu.cornell.gdiac.game.entity.models.PaintballModel;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Creating and freeing paintballs of each type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaintballBenchmark {
+	/** The type of paintball to create */
+	@Param({"player", "normal", "trampoline"})
+	public String type;
+
+	/** The asset manager holding the paintball textures */
+	private AssetManager manager;
+	/** The factory being measured */
+	private PaintballFactory factory;
+
+	@Setup
+	public void setUp() {
+		manager = BenchmarkSupport.createManager();
+		factory = new PaintballFactory(BenchmarkSupport.SCALE);
+		factory.preLoadContent(manager);
+		manager.finishLoading();
+		factory.loadContent(manager);
+	}
+
+	@TearDown
+	public void tearDown() {
+		factory.unloadContent(manager);
+		manager.dispose();
+	}
+
+	@Benchmark
+	public PaintballModel createPaintball() {
+		PaintballModel paintball = factory.createPaintball(4, 4, true, type);
+		factory.free(paintball);
+		return paintball;
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * PolygonBenchmark.java
+ *
+ * Measures PolygonObstacle.initShapes, which triangulates the outline of a
+ * polygon and creates a Box2D shape for each triangle.  Level geometry goes
+ * through this for every wall and platform when a level is built.
+ *
+ * The shapes live in native memory, so they are released after each call.
+ */
+package edu.cornell.gdiac.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import edu.cornell.gdiac.util.obstacles.PolygonObstacle;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Triangulating polygons of increasing size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolygonBenchmark {
+	/** The number of vertices of the outline */
+	@Param({"4", "12", "32"})
+	public int vertices;
+
+	/** A polygon whose shapes can be released */
+	private static class Polygon extends PolygonObstacle {
+		public Polygon(float[] points) {
+			super(points);
+		}
+
+		/** Frees the Box2D shapes made by initShapes */
+		public void release() {
+			for(PolygonShape shape : shapes) {
+				shape.dispose();
+			}
+		}
+	}
+
+	/** The outline to triangulate */
+	private float[] points;
+	/** The polygon being measured */
+	private Polygon polygon;
+
+	@Setup
+	public void setUp() {
+		BenchmarkSupport.start();
+		// A star shaped outline, so that the triangulation has to clip ears
+		points = new float[2*vertices];
+		for(int ii = 0; ii < vertices; ii++) {
+			float angle = MathUtils.PI2*ii/vertices;
+			float radius = (vertices > 4 && ii % 2 == 1) ? 1.0f : 2.0f;
+			points[2*ii  ] = radius*MathUtils.cos(angle);
+			points[2*ii+1] = radius*MathUtils.sin(angle);
+		}
+		polygon = new Polygon(points);
+	}
+
+	@TearDown
+	public void tearDown() {
+		polygon.release();
+	}
+
+	@Benchmark
+	public PolygonObstacle initShapes() {
+		polygon.release();
+		polygon.initShapes(points);
+		return polygon;
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * PooledListBenchmark.java
+ *
+ * Compares PooledList with ArrayList and the libGDX Array for the way the
+ * game uses its object list: objects are appended, the list is walked every
+ * frame, and removed objects are dropped during the walk.
+ */
+package edu.cornell.gdiac.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.utils.Array;
+import edu.cornell.gdiac.util.PooledList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Add, iterate and remove for the three list types.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PooledListBenchmark {
+	/** The number of elements in the list */
+	@Param({"16", "256", "4096"})
+	public int size;
+
+	/** The elements to store */
+	private Integer[] values;
+
+	private PooledList<Integer> pooled;
+	private ArrayList<Integer> arrayList;
+	private Array<Integer> array;
+
+	@Setup
+	public void setUp() {
+		values = new Integer[size];
+		for(int ii = 0; ii < size; ii++) {
+			values[ii] = ii;
+		}
+		pooled = new PooledList<Integer>();
+		arrayList = new ArrayList<Integer>();
+		array = new Array<Integer>();
+		for(int ii = 0; ii < size; ii++) {
+			pooled.add(values[ii]);
+			arrayList.add(values[ii]);
+			array.add(values[ii]);
+		}
+	}
+
+	// Add: refill an empty list (the pooled list reuses its entries)
+	@Benchmark
+	public PooledList<Integer> addPooledList() {
+		pooled.clear();
+		for(int ii = 0; ii < size; ii++) {
+			pooled.add(values[ii]);
+		}
+		return pooled;
+	}
+
+	@Benchmark
+	public ArrayList<Integer> addArrayList() {
+		arrayList.clear();
+		for(int ii = 0; ii < size; ii++) {
+			arrayList.add(values[ii]);
+		}
+		return arrayList;
+	}
+
+	@Benchmark
+	public Array<Integer> addArray() {
+		array.clear();
+		for(int ii = 0; ii < size; ii++) {
+			array.add(values[ii]);
+		}
+		return array;
+	}
+
+	// Iterate: walk the full list, as update and draw do
+	@Benchmark
+	public void iteratePooledList(Blackhole hole) {
+		for(Integer value : pooled) {
+			hole.consume(value);
+		}
+	}
+
+	@Benchmark
+	public void iterateArrayList(Blackhole hole) {
+		for(Integer value : arrayList) {
+			hole.consume(value);
+		}
+	}
+
+	@Benchmark
+	public void iterateArray(Blackhole hole) {
+		for(int ii = 0; ii < array.size; ii++) {
+			hole.consume(array.get(ii));
+		}
+	}
+
+	// Remove: drop every other element during a walk, then put them back
+	@Benchmark
+	public PooledList<Integer> removePooledList() {
+		Iterator<PooledList<Integer>.Entry> iterator = pooled.entryIterator();
+		while (iterator.hasNext()) {
+			PooledList<Integer>.Entry entry = iterator.next();
+			if ((entry.getValue() & 1) == 1) {
+				entry.remove();
+			}
+		}
+		for(int ii = 1; ii < size; ii += 2) {
+			pooled.add(values[ii]);
+		}
+		return pooled;
+	}
+
+	@Benchmark
+	public ArrayList<Integer> removeArrayList() {
+		Iterator<Integer> iterator = arrayList.iterator();
+		while (iterator.hasNext()) {
+			if ((iterator.next() & 1) == 1) {
+				iterator.remove();
+			}
+		}
+		for(int ii = 1; ii < size; ii += 2) {
+			arrayList.add(values[ii]);
+		}
+		return arrayList;
+	}
+
+	@Benchmark
+	public Array<Integer> removeArray() {
+		for(int ii = array.size-1; ii >= 0; ii--) {
+			if ((array.get(ii) & 1) == 1) {
+				array.removeIndex(ii);
+			}
+		}
+		for(int ii = 1; ii < size; ii += 2) {
+			array.add(values[ii]);
+		}
+		return array;
+	}
+}
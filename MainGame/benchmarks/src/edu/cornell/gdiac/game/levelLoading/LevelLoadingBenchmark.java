@@ -0,0 +1,76 @@
+/*
+ * LevelLoadingBenchmark.java
+ *
+ * Measures how long it takes to read a level file and to build its obstacles.
+ * This lives in the levelLoading package so that it can call prepareLevel,
+ * which is what LevelLoader.loadLevel does when the level was not preloaded.
+ *
+ * Every built obstacle holds Box2D shapes in native memory that are only freed
+ * with a world, so the build is measured with a fixed number of single shots
+ * rather than for as long as a timed run would take.
+ */
+package edu.cornell.gdiac.game.levelLoading;
+
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.assets.AssetManager;
+import edu.cornell.gdiac.benchmarks.BenchmarkSupport;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Parsing and building each shipped level.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class LevelLoadingBenchmark {
+	/** The level file (the shipped levels of levelsDirectory.json) */
+	@Param({"JSON/tutorial_jumping.json", "JSON/tutorial_shooting.json", "JSON/tutorial_ammo_depot.json",
+			"JSON/tutorial_bullet.json", "JSON/tutorial_trampoline.json", "JSON/bumpers.json",
+			"JSON/pathway.json", "JSON/ceceMed.json", "JSON/level3.json", "JSON/tunnel.json",
+			"JSON/level5.json", "JSON/ryan1.json", "JSON/tower.json"})
+	public String file;
+
+	/** The asset manager holding the level textures */
+	private AssetManager manager;
+	/** The loader to build levels with */
+	private LevelLoader loader;
+	/** The parser to read levels with */
+	private LevelParser parser;
+
+	@Setup
+	public void setUp() {
+		manager = BenchmarkSupport.createManager();
+		loader = new LevelLoader(BenchmarkSupport.SCALE, manager);
+		loader.preLoadContent(manager);
+		manager.finishLoading();
+		loader.loadContent(manager);
+		parser = loader.createParser();
+	}
+
+	@TearDown
+	public void tearDown() {
+		loader.unloadContent(manager);
+		loader.dispose();
+		manager.dispose();
+	}
+
+	/** Reads the level file (the binary version if it is up to date) */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@Warmup(iterations = 5, time = 1)
+	@Measurement(iterations = 5, time = 1)
+	public LevelParser parse() {
+		parser.loadLevel(file);
+		return parser;
+	}
+
+	/** Reads the level file and builds all of its obstacles */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 10, batchSize = 10)
+	@Measurement(iterations = 20, batchSize = 10)
+	public LevelLoader.PreparedLevel prepare() {
+		return loader.prepareLevel(file, parser);
+	}
+}
@@ -137,6 +137,45 @@ public class Constants {
 
     public static final int DEFAULT_GRID = 48;
 
+    /** Entity type ids, used to index the collision tables */
+    public static final int TYPE_NONE = 0;
+    public static final int TYPE_PLAYER = 1;
+    public static final int TYPE_ENEMY = 2;
+    public static final int TYPE_GOAL = 3;
+    public static final int TYPE_PLATFORM = 4;
+    public static final int TYPE_WALL = 5;
+    public static final int TYPE_PAINTBALL = 6;
+    public static final int TYPE_AMMO_DEPOT = 7;
+    public static final int TYPE_SPLATTERER = 8;
+    public static final int TYPE_BACKGROUND = 9;
+    public static final int TYPE_BG_OBJECT = 10;
+    public static final int TYPE_HUD = 11;
+    public static final int ENTITY_TYPE_COUNT = 12;
+
+    /** Box2D collision categories, one bit per entity type that takes part in contacts */
+    public static final short CATEGORY_PLAYER = 0x0001;
+    public static final short CATEGORY_ENEMY = 0x0002;
+    public static final short CATEGORY_GOAL = 0x0004;
+    public static final short CATEGORY_PLATFORM = 0x0008;
+    public static final short CATEGORY_WALL = 0x0010;
+    public static final short CATEGORY_PAINTBALL = 0x0020;
+    public static final short CATEGORY_AMMO_DEPOT = 0x0040;
+    public static final short CATEGORY_SPLATTERER = 0x0080;
+    public static final short CATEGORY_SCENERY = 0x0100;
+
+    /** Box2D collision masks: the categories each entity type has contact handlers for */
+    public static final short MASK_PLAYER = CATEGORY_ENEMY | CATEGORY_GOAL | CATEGORY_PLATFORM | CATEGORY_WALL
+            | CATEGORY_PAINTBALL | CATEGORY_AMMO_DEPOT | CATEGORY_SPLATTERER;
+    public static final short MASK_ENEMY = CATEGORY_PLAYER | CATEGORY_PLATFORM | CATEGORY_PAINTBALL;
+    public static final short MASK_GOAL = CATEGORY_PLAYER | CATEGORY_PAINTBALL;
+    public static final short MASK_PLATFORM = CATEGORY_PLAYER | CATEGORY_ENEMY | CATEGORY_PAINTBALL;
+    public static final short MASK_WALL = CATEGORY_PLAYER | CATEGORY_PAINTBALL;
+    public static final short MASK_PAINTBALL = CATEGORY_PLAYER | CATEGORY_ENEMY | CATEGORY_GOAL | CATEGORY_PLATFORM
+            | CATEGORY_WALL | CATEGORY_PAINTBALL | CATEGORY_SPLATTERER;
+    public static final short MASK_AMMO_DEPOT = CATEGORY_PLAYER;
+    public static final short MASK_SPLATTERER = CATEGORY_PLAYER | CATEGORY_PAINTBALL;
+    public static final short MASK_SCENERY = 0;
+
     /**Ammo bar for hud*/
     public static final String AMMO_BAR = "ui/hud/ammo_bar.png";
     public static final String AMMO_EMPTY= "ui/hud/ammo_empty.png";
@@ -24,6 +24,8 @@ import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.graphics.glutils.*;
 import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.utils.Align;
+import edu.cornell.gdiac.util.Profiler;
+import edu.cornell.gdiac.util.TextLayoutCache;
 
 /**
  * Primary view class for the game, abstracting the basic graphics calls.
@@ -62,11 +64,41 @@ public class GameCanvas {
 	}	
 
 	
+	/** Number of frames shown by the profile graph */
+	private static final int PROFILE_FRAMES = 240;
+	/** Width of a frame in the profile graph, in pixels */
+	private static final float PROFILE_BAR_WIDTH = 2;
+	/** Height of a millisecond in the profile graph, in pixels */
+	private static final float PROFILE_MS_HEIGHT = 4;
+	/** The longest frame time the profile graph can show, in milliseconds */
+	private static final float PROFILE_MAX_MS = 40;
+	/** Height of the allocation strip under the profile graph, in pixels */
+	private static final float PROFILE_ALLOC_HEIGHT = 20;
+	/** Allocations that fill the allocation strip, in bytes */
+	private static final float PROFILE_ALLOC_BYTES = 64*1024;
+	/** Distance of the profile graph from the corner of the screen, in pixels */
+	private static final float PROFILE_MARGIN = 8;
+	/** Most text layouts to keep for reuse (a menu screen draws about a dozen strings) */
+	private static final int TEXT_CACHE_SIZE = 64;
+
 	/** Drawing context to handle textures AND POLYGONS as graphics */
 	private PolygonSpriteBatch spriteBatch;
 	
 	/** Rendering context for the debug outlines */
 	private ShapeRenderer debugRender;
+
+	/** Most sprites a static cache can hold (the limit of an indexed SpriteCache) */
+	public static final int MAX_STATIC_SPRITES = 8191;
+	/** Vertex buffer holding the static level geometry, baked once per level */
+	private SpriteCache staticCache;
+	/** Capacity of the static cache in sprites */
+	private int staticCapacity;
+	/** Sprites added to the static cache being recorded */
+	private int staticCount;
+	/** The id of the baked static geometry, or -1 if there is none */
+	private int staticCacheId;
+	/** Whether the static cache is being recorded */
+	private boolean staticRecording;
 	
 	/** Track whether or not we are active (for error checking) */
 	private DrawPass active;
@@ -90,6 +122,10 @@ public class GameCanvas {
 	private Vector2 vertex;
 	/** Cache object to handle raw textures */
 	private TextureRegion holder;
+	/** Cache object for the color of text */
+	private Color textColor;
+	/** Layouts of recently drawn strings */
+	private TextLayoutCache textLayouts;
 
 	/**
 	 * Creates a new GameCanvas determined by the application configuration.
@@ -109,11 +145,15 @@ public class GameCanvas {
 		spriteBatch.setProjectionMatrix(camera.combined);
 		debugRender.setProjectionMatrix(camera.combined);
 
+		staticCacheId = -1;
+
 		// Initialize the cache objects
 		holder = new TextureRegion();
 		local  = new Affine2();
 		global = new Matrix4();
 		vertex = new Vector2();
+		textColor = new Color();
+		textLayouts = new TextLayoutCache(TEXT_CACHE_SIZE);
 	}
 		
     /**
@@ -126,10 +166,15 @@ public class GameCanvas {
 		}
 		spriteBatch.dispose();
     	spriteBatch = null;
+		if (staticCache != null) {
+			staticCache.dispose();
+			staticCache = null;
+		}
     	local  = null;
     	global = null;
     	vertex = null;
     	holder = null;
+		textLayouts.clear();
     }
 
 	/**
@@ -409,6 +454,208 @@ public class GameCanvas {
     	active = DrawPass.INACTIVE;
     }
 
+	/**
+	 * Starts recording the static level geometry, replacing any baked before.
+	 *
+	 * Sprites added with cacheStatic() are copied into a vertex buffer once, and
+	 * drawStaticCache() then draws all of them with one call per texture. This
+	 * must not be called while drawing is active.
+	 *
+	 * @param size 	The number of sprites that will be added (at most MAX_STATIC_SPRITES)
+	 */
+	public void beginStaticCache(int size) {
+		if (active != DrawPass.INACTIVE) {
+			Gdx.app.error("GameCanvas", "Cannot cache while drawing active", new IllegalStateException());
+			return;
+		}
+		size = Math.max(1, Math.min(size, MAX_STATIC_SPRITES));
+		if (staticCache == null || staticCapacity < size) {
+			if (staticCache != null) {
+				staticCache.dispose();
+			}
+			staticCache = new SpriteCache(size, true);
+			staticCapacity = size;
+		}
+		staticCache.clear();
+		staticCache.setColor(Color.WHITE);
+		staticCache.beginCache();
+		staticCount = 0;
+		staticCacheId = -1;
+		staticRecording = true;
+	}
+
+	/**
+	 * Adds a texture to the static cache being recorded.
+	 *
+	 * The bottom left of the texture will be positioned at the given coordinates,
+	 * exactly as draw(TextureRegion, float, float) would.
+	 *
+	 * @param region The texture to cache
+	 * @param x 	The x-coordinate of the bottom left corner
+	 * @param y 	The y-coordinate of the bottom left corner
+	 *
+	 * @return false if the cache is full (the texture must be drawn normally)
+	 */
+	public boolean cacheStatic(TextureRegion region, float x, float y) {
+		if (!staticRecording || staticCount >= staticCapacity) {
+			return false;
+		}
+		staticCache.add(region, x, y);
+		staticCount++;
+		return true;
+	}
+
+	/**
+	 * Returns the number of sprites the static cache being recorded can still hold
+	 *
+	 * @return the number of sprites the static cache being recorded can still hold
+	 */
+	public int getStaticCacheRoom() {
+		return staticRecording ? staticCapacity-staticCount : 0;
+	}
+
+	/**
+	 * Finishes recording the static level geometry.
+	 */
+	public void endStaticCache() {
+		if (!staticRecording) {
+			return;
+		}
+		staticCacheId = staticCache.endCache();
+		staticRecording = false;
+	}
+
+	/**
+	 * Throws away the baked static geometry (e.g. when the level changes).
+	 */
+	public void clearStaticCache() {
+		if (staticRecording) {
+			staticCache.endCache();
+			staticRecording = false;
+		}
+		if (staticCache != null) {
+			staticCache.clear();
+		}
+		staticCacheId = -1;
+	}
+
+	/**
+	 * Draws the baked static geometry.
+	 *
+	 * The geometry is drawn on top of everything drawn so far in this pass, with
+	 * the current camera and blend state. It must be called between begin() and end().
+	 */
+	public void drawStaticCache() {
+		if (active != DrawPass.STANDARD) {
+			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+			return;
+		}
+		if (staticCacheId < 0) {
+			return;
+		}
+
+		// The cache has its own shader, so the batch must be flushed first
+		spriteBatch.end();
+		staticCache.setProjectionMatrix(spriteBatch.getProjectionMatrix());
+		Gdx.gl.glEnable(GL20.GL_BLEND);
+		Gdx.gl.glBlendFunc(spriteBatch.getBlendSrcFunc(), spriteBatch.getBlendDstFunc());
+		staticCache.begin();
+		staticCache.draw(staticCacheId);
+		staticCache.end();
+		spriteBatch.begin();
+	}
+
+	/**
+	 * Draws a graph of the recent frames recorded by the profiler.
+	 *
+	 * Each frame is a column in the bottom left corner of the screen, stacked from
+	 * physics (blue), the rest of update (green), draw (orange), debug draw (purple)
+	 * and whatever else the frame spent (gray).  The white and red lines mark 60 and
+	 * 30 frames per second.  The strip underneath shows the memory allocated by each
+	 * frame (yellow) and the frames in which the garbage collector ran (red).
+	 *
+	 * This method must be called outside of any begin-end pair.
+	 *
+	 * @param profiler The profiler to draw
+	 */
+	public void drawProfile(Profiler profiler) {
+		if (active != DrawPass.INACTIVE) {
+			Gdx.app.error("GameCanvas", "Cannot draw profile while drawing active", new IllegalStateException());
+			return;
+		}
+		int count = Math.min(profiler.getFrameCount(), PROFILE_FRAMES);
+		float left = PROFILE_MARGIN;
+		float bottom = PROFILE_MARGIN+PROFILE_ALLOC_HEIGHT;
+		float width = PROFILE_FRAMES*PROFILE_BAR_WIDTH;
+
+		global.setToOrtho2D(0, 0, getWidth(), getHeight());
+		debugRender.setProjectionMatrix(global);
+		Gdx.gl.glEnable(GL20.GL_BLEND);
+		Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		debugRender.begin(ShapeRenderer.ShapeType.Filled);
+		debugRender.setColor(0, 0, 0, 0.5f);
+		debugRender.rect(left, PROFILE_MARGIN, width, PROFILE_ALLOC_HEIGHT+PROFILE_MS_HEIGHT*PROFILE_MAX_MS);
+
+		for(int ii = 0; ii < count; ii++) {
+			// Newest frame on the right
+			float x = left+width-(ii+1)*PROFILE_BAR_WIDTH;
+			float physics = profiler.getTime(ii, Profiler.PHYSICS);
+			float update = Math.max(0, profiler.getTime(ii, Profiler.UPDATE)-physics);
+			float draw = profiler.getTime(ii, Profiler.DRAW);
+			float debug = profiler.getTime(ii, Profiler.DRAW_DEBUG);
+			float other = Math.max(0, profiler.getTime(ii, Profiler.FRAME)-physics-update-draw-debug);
+
+			float y = bottom;
+			debugRender.setColor(0.3f, 0.5f, 1.0f, 1);
+			y = drawProfileBar(x, y, physics);
+			debugRender.setColor(0.3f, 0.9f, 0.3f, 1);
+			y = drawProfileBar(x, y, update);
+			debugRender.setColor(1.0f, 0.6f, 0.2f, 1);
+			y = drawProfileBar(x, y, draw);
+			debugRender.setColor(0.7f, 0.4f, 1.0f, 1);
+			y = drawProfileBar(x, y, debug);
+			debugRender.setColor(0.6f, 0.6f, 0.6f, 1);
+			drawProfileBar(x, y, other);
+
+			if (profiler.getCollections(ii) > 0) {
+				debugRender.setColor(1, 0.2f, 0.2f, 1);
+				debugRender.rect(x, PROFILE_MARGIN, PROFILE_BAR_WIDTH, PROFILE_ALLOC_HEIGHT);
+			} else {
+				long bytes = profiler.getAllocated(ii);
+				float height = Math.min(1, (float)bytes/PROFILE_ALLOC_BYTES)*PROFILE_ALLOC_HEIGHT;
+				debugRender.setColor(1, 0.9f, 0.2f, 1);
+				debugRender.rect(x, PROFILE_MARGIN, PROFILE_BAR_WIDTH, height);
+			}
+		}
+
+		// Frame budgets for 60 and 30 frames per second
+		debugRender.setColor(1, 1, 1, 0.8f);
+		debugRender.rect(left, bottom+PROFILE_MS_HEIGHT*1000/60.0f, width, 1);
+		debugRender.setColor(1, 0.2f, 0.2f, 0.8f);
+		debugRender.rect(left, bottom+PROFILE_MS_HEIGHT*1000/30.0f, width, 1);
+		debugRender.end();
+		debugRender.setProjectionMatrix(camera.combined);
+	}
+
+	/**
+	 * Draws one segment of a profile column, clipped to the top of the graph.
+	 *
+	 * @param x  The left edge of the column
+	 * @param y  The bottom of the segment
+	 * @param ms The height of the segment in milliseconds
+	 *
+	 * @return the top of the segment
+	 */
+	private float drawProfileBar(float x, float y, float ms) {
+		float top = PROFILE_MARGIN+PROFILE_ALLOC_HEIGHT+PROFILE_MS_HEIGHT*PROFILE_MAX_MS;
+		float height = Math.min(ms*PROFILE_MS_HEIGHT, top-y);
+		if (height > 0) {
+			debugRender.rect(x, y, PROFILE_BAR_WIDTH, height);
+			return y+height;
+		}
+		return y;
+	}
+
 	/**
 	 * Draws the tinted texture at the given position.
 	 *
@@ -939,11 +1186,9 @@ public class GameCanvas {
 			return;
 		}
 
-		Color color = new Color();
-		color.set(font.getColor());
-		color.sub(0,0,0,0.3f);
-		GlyphLayout layout = new GlyphLayout(font,text,color,0, Align.left, false);
-		font.draw(spriteBatch, layout, x, y);
+		textColor.set(font.getColor());
+		textColor.sub(0,0,0,0.3f);
+		font.draw(spriteBatch, textLayouts.get(font,text,textColor), x, y);
 		spriteBatch.setColor(1f,1f,1f,1f);
     }
 
@@ -960,13 +1205,49 @@ public class GameCanvas {
 			return;
 		}
 
-		Color color = new Color();
-		color.set(font.getColor());
-		GlyphLayout layout = new GlyphLayout(font,text,color,0, Align.left, false);
+		GlyphLayout layout = textLayouts.get(font,text,font.getColor());
 		float x = (getWidth()  - layout.width) / 2.0f;
 		float y = (getHeight() + layout.height) / 2.0f;
 		font.draw(spriteBatch, layout, x, y+offset);
     }
+
+    /**
+     * Returns a font cache holding text centered on the screen.
+     *
+     * This is for text that does not change from frame to frame, like a title.
+     * The glyphs are laid out once, and drawing the cache only copies their
+     * vertices. The cache is placed for the current size of the canvas, so it
+     * must be made again if the canvas is resized.
+     *
+     * @param text The string to draw
+     * @param font The font to use
+     * @param offset The y-value offset from the center of the screen.
+     *
+     * @return a font cache holding text centered on the screen
+     */
+    public BitmapFontCache cacheTextCentered(String text, BitmapFont font, float offset) {
+		BitmapFontCache cache = new BitmapFontCache(font, font.usesIntegerPositions());
+		GlyphLayout layout = textLayouts.get(font,text,font.getColor());
+		float x = (getWidth()  - layout.width) / 2.0f;
+		float y = (getHeight() + layout.height) / 2.0f;
+		cache.setColor(font.getColor());
+		cache.setText(text, x, y+offset);
+		return cache;
+    }
+
+    /**
+     * Draws text that was laid out ahead of time.
+     *
+     * @param cache The font cache holding the text
+     */
+    public void drawText(BitmapFontCache cache) {
+		if (active != DrawPass.STANDARD) {
+			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+			return;
+		}
+
+		cache.draw(spriteBatch);
+    }
     
 	/**
 	 * Start the debug drawing sequence.
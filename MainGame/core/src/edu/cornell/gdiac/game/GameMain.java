@@ -21,6 +21,7 @@ import edu.cornell.gdiac.game.interfaces.Nameable;
 import edu.cornell.gdiac.game.interfaces.ScreenListener;
 import edu.cornell.gdiac.game.modes.LoadingMode;
 import edu.cornell.gdiac.game.modes.MenuMode;
+import edu.cornell.gdiac.util.MusicController;
 import edu.cornell.gdiac.util.sidebar.Sidebar;
 
 import javax.swing.*;
@@ -98,6 +99,8 @@ public class GameMain extends Game implements ScreenListener {
 
 		canvas.dispose();
 		canvas = null;
+
+		MusicController.getInstance().dispose();
 	
 		// Unload all of the resources
 		manager.clear();
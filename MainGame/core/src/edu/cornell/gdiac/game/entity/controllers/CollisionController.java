@@ -40,6 +40,37 @@ public class CollisionController implements ContactListener {
     private boolean hasDied = false;
     private PooledList<PaintballModel> objectsToAdd;
 
+    /** Handles the start or end of a contact, for one ordering of the two obstacles */
+    private interface ContactHandler {
+        void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2);
+    }
+
+    /** Decides whether a contact should be solved, for one ordering of the two obstacles */
+    private interface PreSolveHandler {
+        void preSolve(Contact contact, Obstacle obj1, Obstacle obj2, Fixture fix1, Fixture fix2);
+    }
+
+    /** Collision filters indexed by entity type, so pairs without handlers never reach the narrowphase */
+    private static final Filter[] FILTERS = new Filter[Constants.ENTITY_TYPE_COUNT];
+    static {
+        setFilter(Constants.TYPE_PLAYER, Constants.CATEGORY_PLAYER, Constants.MASK_PLAYER);
+        setFilter(Constants.TYPE_ENEMY, Constants.CATEGORY_ENEMY, Constants.MASK_ENEMY);
+        setFilter(Constants.TYPE_GOAL, Constants.CATEGORY_GOAL, Constants.MASK_GOAL);
+        setFilter(Constants.TYPE_PLATFORM, Constants.CATEGORY_PLATFORM, Constants.MASK_PLATFORM);
+        setFilter(Constants.TYPE_WALL, Constants.CATEGORY_WALL, Constants.MASK_WALL);
+        setFilter(Constants.TYPE_PAINTBALL, Constants.CATEGORY_PAINTBALL, Constants.MASK_PAINTBALL);
+        setFilter(Constants.TYPE_AMMO_DEPOT, Constants.CATEGORY_AMMO_DEPOT, Constants.MASK_AMMO_DEPOT);
+        setFilter(Constants.TYPE_SPLATTERER, Constants.CATEGORY_SPLATTERER, Constants.MASK_SPLATTERER);
+        setFilter(Constants.TYPE_BACKGROUND, Constants.CATEGORY_SCENERY, Constants.MASK_SCENERY);
+        setFilter(Constants.TYPE_BG_OBJECT, Constants.CATEGORY_SCENERY, Constants.MASK_SCENERY);
+        setFilter(Constants.TYPE_HUD, Constants.CATEGORY_SCENERY, Constants.MASK_SCENERY);
+    }
+
+    /** Handlers indexed by the entity types of the two obstacles (null if the pair does nothing) */
+    private ContactHandler[][] beginHandlers;
+    private ContactHandler[][] endHandlers;
+    private PreSolveHandler[][] preSolveHandlers;
+
 
     /**
      *  The contructor
@@ -49,6 +80,12 @@ public class CollisionController implements ContactListener {
         this.hud = hud;
         this.paintballFactory = paintballFactory;
         this.objectsToAdd = new PooledList<PaintballModel>();
+        beginHandlers = new ContactHandler[Constants.ENTITY_TYPE_COUNT][Constants.ENTITY_TYPE_COUNT];
+        endHandlers = new ContactHandler[Constants.ENTITY_TYPE_COUNT][Constants.ENTITY_TYPE_COUNT];
+        preSolveHandlers = new PreSolveHandler[Constants.ENTITY_TYPE_COUNT][Constants.ENTITY_TYPE_COUNT];
+        createBeginHandlers();
+        createEndHandlers();
+        createPreSolveHandlers();
     }
 
     // BEGIN: helper functions
@@ -106,7 +143,8 @@ public class CollisionController implements ContactListener {
     }
     private void lose(){
         hud.setLose(true);
-        SoundController.getSFXInstance().play("gameMode",Constants.SFX_PLAYER_DEATH, false);
+        SoundController.getSFXInstance().playEffect(Constants.SFX_PLAYER_DEATH,
+                SoundController.CATEGORY_EVENT, SoundController.PRIORITY_HIGH);
     }
 
     private void playerDie(PlayerModel player){
@@ -125,7 +163,8 @@ public class CollisionController implements ContactListener {
     }
     private void handleCollision(PlayerModel obj1, GoalModel obj2){
         SoundController.getSFXInstance().stopAll();
-        SoundController.getSFXInstance().play("gameMode",Constants.SFX_CAMERA_EXPLODE, false);
+        SoundController.getSFXInstance().playEffect(Constants.SFX_CAMERA_EXPLODE,
+                SoundController.CATEGORY_EVENT, SoundController.PRIORITY_HIGH);
         obj2.getAnimation().play("explosion",true);
         hud.setWin(true);
     }
@@ -159,7 +198,8 @@ public class CollisionController implements ContactListener {
                 obj1.setMyPlatform(obj2);
                 obj1.setTrampGrounded(true);
                 obj2.setUsed(true);
-                SoundController.getSFXInstance().play("gameMode", Constants.SFX_PAINT_JUMP_CHARGE, false);
+                SoundController.getSFXInstance().playEffect(Constants.SFX_PAINT_JUMP_CHARGE,
+                        SoundController.CATEGORY_EVENT, SoundController.PRIORITY_NORMAL);
             }
         }
     }
@@ -167,12 +207,14 @@ public class CollisionController implements ContactListener {
         if(obj2.isPlayerBullet()) {
             obj2.pop();
             obj1.setStunned(true);
-            SoundController.getSFXInstance().play("gameMode",Constants.SFX_ENEMY_STUN, false);
+            SoundController.getSFXInstance().playEffect(Constants.SFX_ENEMY_STUN,
+                    SoundController.CATEGORY_STUN, SoundController.PRIORITY_NORMAL, obj1.getX(), obj1.getY());
         }
     }
     private void handleCollision(EnemyModel obj1, PlatformModel obj2, Object userData1){}
     private void handleCollision(GoalModel obj1, PaintballModel obj2){
-        SoundController.getSFXInstance().play("gameMode",Constants.SFX_CAMERA_EXPLODE, false);
+        SoundController.getSFXInstance().playEffect(Constants.SFX_CAMERA_EXPLODE,
+                SoundController.CATEGORY_EVENT, SoundController.PRIORITY_HIGH);
         obj1.getAnimation().play("explosion",true);
         hud.setWin(true);
         obj2.pop();
@@ -182,17 +224,20 @@ public class CollisionController implements ContactListener {
         if(obj1.isDead() || obj2.isDead() || obj1.getRecentCollision() || obj2.getRecentCollision())
             return;
 
+        // Each position read goes through the native body, so read them once
+        float x1 = obj1.getX();
+        float x2 = obj2.getX();
         float newWidth = obj1.getWidth()+obj2.getWidth();
         float midPoint;
-        if(obj1.getX()<obj2.getX())
-            midPoint =obj1.getX()-obj1.getWidth()/2f + newWidth/2f;
+        if(x1<x2)
+            midPoint =x1-obj1.getWidth()/2f + newWidth/2f;
         else
-            midPoint =obj2.getX()-obj2.getWidth()/2f + newWidth/2f;
+            midPoint =x2-obj2.getWidth()/2f + newWidth/2f;
 
         float oneSign = obj1.getVX() / Math.abs(obj1.getVX());
         float twoSign = obj2.getVX() / Math.abs(obj2.getVX());
         if(oneSign == twoSign) {
-            if(obj1.getPosition().x*oneSign<obj2.getPosition().x*oneSign) {
+            if(x1*oneSign<x2*oneSign) {
                 obj1.pop();
             }
             return;
@@ -215,7 +260,8 @@ public class CollisionController implements ContactListener {
                 survives = obj1;
                 dies = obj2;
             }
-            SoundController.getSFXInstance().play("gameMode", Constants.SFX_PAINT_HIT_PAINT, false);
+            SoundController.getSFXInstance().playEffect(Constants.SFX_PAINT_HIT_PAINT,
+                    SoundController.CATEGORY_POP, SoundController.PRIORITY_LOW, survives.getX(), survives.getY());
 
             if(obj1.getPaintballType().equals("trampoline") || obj2.getPaintballType().equals("trampoline")) {
                survives.setPaintballType("trampolineComb");
@@ -229,7 +275,7 @@ public class CollisionController implements ContactListener {
         dies.pop();
         survives.platformPop();
         if(!obj1.isPlayerBullet() && !obj2.isPlayerBullet()&&!obj1.isDying()&&!obj2.isDying())
-            survives.newSize(midPoint,obj2.getPosition().y,obj1.getWidth()+obj2.getWidth());
+            survives.newSize(midPoint,obj2.getY(),obj1.getWidth()+obj2.getWidth());
         survives.setPassThrough(true);
 
         obj1.fixX(0f);
@@ -265,7 +311,8 @@ public class CollisionController implements ContactListener {
         if (!obj2.isUsed()) {
             obj2.setUsed(true);
             hud.addAmmo(obj2.getAmmoAmount());
-            SoundController.getSFXInstance().play("gameMode", Constants.SFX_PAINT_RELOAD,false);
+            SoundController.getSFXInstance().playEffect(Constants.SFX_PAINT_RELOAD,
+                    SoundController.CATEGORY_EVENT, SoundController.PRIORITY_NORMAL);
         }
     }
     private void handleCollision(SplattererModel obj1, PaintballModel obj2) {
@@ -310,53 +357,231 @@ public class CollisionController implements ContactListener {
 
     // END: Simple Collision handlers
 
+    // BEGIN: Collision filters
+    private static void setFilter(int type, short category, short mask) {
+        Filter filter = new Filter();
+        filter.categoryBits = category;
+        filter.maskBits = mask;
+        FILTERS[type] = filter;
+    }
+
     /**
-     * Processes a collision between two objects
-     * @param obj1          The first obstacle colliding
-     * @param obj2          The second obstacle colliding
-     * @param userData1     The user data of the first obstacle's fixture
-     * @param userData2     The user data for the second obstacle's fixture
-     * @param fix1          The first fixture colliding
-     * @param fix2          The second fixture colliding
+     * Returns the collision filter for an entity type.
+     *
+     * The masks only let through the pairs that have a handler here, so the
+     * broadphase drops every other pair before a contact is created. Types
+     * without a filter (TYPE_NONE) return null, which collides with everything.
+     * The filter is shared and must not be modified.
+     *
+     * @param entityType The entity type (see Constants.TYPE_*)
+     *
+     * @return the filter for that type, or null if there is none
      */
-    private void processCollision(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2,Fixture fix1, Fixture fix2){
-        if (obj1.getName().equals("player")) {
-            if (obj2.getName().equals("enemy"))
+    public static Filter getFilter(int entityType) {
+        return FILTERS[entityType];
+    }
+
+    /**
+     * Gives an obstacle the collision filter of its entity type.
+     *
+     * This must be called before the obstacle is added to the world.
+     *
+     * @param obj The obstacle to filter
+     */
+    public static void applyFilter(Obstacle obj) {
+        Filter filter = FILTERS[obj.getEntityType()];
+        if (filter != null)
+            obj.setFilterData(filter);
+    }
+    // END: Collision filters
+
+    // BEGIN: Dispatch tables
+    /**
+     * Fills the table of collision start handlers.
+     *
+     * Each contact is processed in both orders, so a pair is only listed under
+     * the ordering that has a handler.
+     */
+    private void createBeginHandlers() {
+        beginHandlers[Constants.TYPE_PLAYER][Constants.TYPE_ENEMY] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((PlayerModel)obj1, (EnemyModel) obj2);
-            else if (obj2.getName().equals("goal"))
+            }
+        };
+        beginHandlers[Constants.TYPE_PLAYER][Constants.TYPE_GOAL] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((PlayerModel)obj1,(GoalModel) obj2);
-            else if (obj2.getName().equals("platform"))
+            }
+        };
+        beginHandlers[Constants.TYPE_PLAYER][Constants.TYPE_PLATFORM] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((PlayerModel)obj1,(PlatformModel) obj2,userData1, fix2);
-            else if (obj2.getName().equals("wall"))
+            }
+        };
+        beginHandlers[Constants.TYPE_PLAYER][Constants.TYPE_WALL] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((PlayerModel)obj1,(WallModel) obj2);
-            else if (obj2.getName().equals("paintball"))
+            }
+        };
+        beginHandlers[Constants.TYPE_PLAYER][Constants.TYPE_PAINTBALL] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((PlayerModel)obj1,(PaintballModel) obj2, fix1,fix2,userData1,userData2);
-            else if (obj2.getName().equals("ammoDepot"))
+            }
+        };
+        beginHandlers[Constants.TYPE_PLAYER][Constants.TYPE_AMMO_DEPOT] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((PlayerModel)obj1, (AmmoDepotModel) obj2);
-            else if (obj2.getName().equals("splatterer")) {
+            }
+        };
+        beginHandlers[Constants.TYPE_PLAYER][Constants.TYPE_SPLATTERER] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((PlayerModel) obj1, (SplattererModel) obj2);
             }
-        }
-        else if (obj1.getName().equals("paintball")) {
-            if (obj2.getName().equals("enemy"))
+        };
+
+        beginHandlers[Constants.TYPE_PAINTBALL][Constants.TYPE_ENEMY] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((EnemyModel)obj2, (PaintballModel) obj1, userData2);
-            else if (obj2.getName().equals("goal"))
+            }
+        };
+        beginHandlers[Constants.TYPE_PAINTBALL][Constants.TYPE_GOAL] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((GoalModel)obj2,(PaintballModel) obj1);
-            else if (obj2.getName().equals("platform"))
+            }
+        };
+        beginHandlers[Constants.TYPE_PAINTBALL][Constants.TYPE_PLATFORM] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((PlatformModel)obj2,(PaintballModel) obj1);
-            else if (obj2.getName().equals("wall"))
+            }
+        };
+        beginHandlers[Constants.TYPE_PAINTBALL][Constants.TYPE_WALL] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((WallModel)obj2,(PaintballModel) obj1);
-            else if (obj2.getName().equals("paintball"))
+            }
+        };
+        beginHandlers[Constants.TYPE_PAINTBALL][Constants.TYPE_PAINTBALL] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((PaintballModel)obj2,(PaintballModel) obj1);
-            else if (obj2.getName().equals("splatterer"))
+            }
+        };
+        beginHandlers[Constants.TYPE_PAINTBALL][Constants.TYPE_SPLATTERER] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((SplattererModel)obj2,(PaintballModel) obj1);
-        }
-        else if (obj1.getName().equals("enemy")) {
-            if (obj2.getName().equals("paintball"))
+            }
+        };
+
+        beginHandlers[Constants.TYPE_ENEMY][Constants.TYPE_PAINTBALL] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((EnemyModel)obj1, (PaintballModel) obj2, userData1);
-            else if (obj2.getName().equals("platform"))
+            }
+        };
+        beginHandlers[Constants.TYPE_ENEMY][Constants.TYPE_PLATFORM] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
                 handleCollision((EnemyModel)obj1, (PlatformModel) obj2, userData1);
+            }
+        };
+    }
+
+    /**
+     * Fills the table of collision end handlers.
+     */
+    private void createEndHandlers() {
+        endHandlers[Constants.TYPE_PLAYER][Constants.TYPE_PLATFORM] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
+                handleEndCollision((PlayerModel)obj1,(PlatformModel) obj2, userData1, fix2);
+            }
+        };
+        endHandlers[Constants.TYPE_PLAYER][Constants.TYPE_WALL] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
+                handleEndCollision((PlayerModel)obj1,(WallModel) obj2);
+            }
+        };
+        endHandlers[Constants.TYPE_PLAYER][Constants.TYPE_PAINTBALL] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
+                handleEndCollision((PlayerModel)obj1,(PaintballModel) obj2, userData1,fix2);
+            }
+        };
+        endHandlers[Constants.TYPE_ENEMY][Constants.TYPE_PAINTBALL] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
+                handleEndCollision((EnemyModel)obj1, (PaintballModel) obj2, userData1);
+            }
+        };
+        endHandlers[Constants.TYPE_ENEMY][Constants.TYPE_PLATFORM] = new ContactHandler() {
+            public void handle(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2, Fixture fix1, Fixture fix2) {
+                handleEndCollision((EnemyModel)obj1, (PlatformModel) obj2, userData1);
+            }
+        };
+    }
+
+    /**
+     * Fills the table of pre-solve handlers.
+     *
+     * Unlike the contact handlers, a pre-solve handler runs once per contact, so
+     * every pair is listed in both orders.
+     */
+    private void createPreSolveHandlers() {
+        final PreSolveHandler disable = new PreSolveHandler() {
+            public void preSolve(Contact contact, Obstacle obj1, Obstacle obj2, Fixture fix1, Fixture fix2) {
+                contact.setEnabled(false);
+            }
+        };
+        final PreSolveHandler paintballHandler = new PreSolveHandler() {
+            public void preSolve(Contact contact, Obstacle obj1, Obstacle obj2, Fixture fix1, Fixture fix2) {
+                if (((PaintballModel) obj1).isDead())
+                    contact.setEnabled(false);
+            }
+        };
+        final PreSolveHandler playerHandler = new PreSolveHandler() {
+            public void preSolve(Contact contact, Obstacle obj1, Obstacle obj2, Fixture fix1, Fixture fix2) {
+                PlayerModel player = (PlayerModel) obj1;
+                if (!player.fixtureIsActive(fix1.getUserData()) && !player.isGroundSensor(fix1.getUserData()))
+                    contact.setEnabled(false);
+            }
+        };
+        final PreSolveHandler playerPaintballHandler = new PreSolveHandler() {
+            public void preSolve(Contact contact, Obstacle obj1, Obstacle obj2, Fixture fix1, Fixture fix2) {
+                preSolve(contact, (PlayerModel) obj1, (PaintballModel) obj2, fix1, fix2);
+            }
+        };
+
+        for (int type = 0; type < Constants.ENTITY_TYPE_COUNT; type++) {
+            setPreSolveHandler(Constants.TYPE_PAINTBALL, type, paintballHandler);
+            setPreSolveHandler(Constants.TYPE_PLAYER, type, playerHandler);
         }
+        setPreSolveHandler(Constants.TYPE_PLAYER, Constants.TYPE_PAINTBALL, playerPaintballHandler);
+        setPreSolveHandler(Constants.TYPE_PAINTBALL, Constants.TYPE_PAINTBALL, disable);
+    }
+
+    /**
+     * Sets the pre-solve handler of a pair of types, in both orders.
+     *
+     * The handler always receives the obstacle of the first type as obj1.
+     */
+    private void setPreSolveHandler(int type1, int type2, final PreSolveHandler handler) {
+        preSolveHandlers[type1][type2] = handler;
+        if (type1 != type2) {
+            preSolveHandlers[type2][type1] = new PreSolveHandler() {
+                public void preSolve(Contact contact, Obstacle obj1, Obstacle obj2, Fixture fix1, Fixture fix2) {
+                    handler.preSolve(contact, obj2, obj1, fix2, fix1);
+                }
+            };
+        }
+    }
+    // END: Dispatch tables
+
+    /**
+     * Processes a collision between two objects
+     * @param obj1          The first obstacle colliding
+     * @param obj2          The second obstacle colliding
+     * @param userData1     The user data of the first obstacle's fixture
+     * @param userData2     The user data for the second obstacle's fixture
+     * @param fix1          The first fixture colliding
+     * @param fix2          The second fixture colliding
+     */
+    private void processCollision(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2,Fixture fix1, Fixture fix2){
+        ContactHandler handler = beginHandlers[obj1.getEntityType()][obj2.getEntityType()];
+        if (handler != null)
+            handler.handle(obj1, obj2, userData1, userData2, fix1, fix2);
     }
 
     public PooledList<PaintballModel> getObjsToAdd() {
@@ -373,19 +598,9 @@ public class CollisionController implements ContactListener {
      * @param fix2          The second fixture colliding
      */
     private void processEndCollision(Obstacle obj1, Obstacle obj2, Object userData1, Object userData2,Fixture fix1, Fixture fix2){
-        if (obj1.getName().equals("player")) {
-            if (obj2.getName().equals("platform"))
-                handleEndCollision((PlayerModel)obj1,(PlatformModel) obj2, userData1, fix2);
-            else if (obj2.getName().equals("wall"))
-                handleEndCollision((PlayerModel)obj1,(WallModel) obj2);
-            else if (obj2.getName().equals("paintball"))
-                handleEndCollision((PlayerModel)obj1,(PaintballModel) obj2, userData1,fix2);
-        }else if (obj1.getName().equals("enemy")) {
-            if (obj2.getName().equals("paintball"))
-                handleEndCollision((EnemyModel)obj1, (PaintballModel) obj2, userData1);
-            else if (obj2.getName().equals("platform"))
-                handleEndCollision((EnemyModel)obj1, (PlatformModel) obj2, userData1);
-        }
+        ContactHandler handler = endHandlers[obj1.getEntityType()][obj2.getEntityType()];
+        if (handler != null)
+            handler.handle(obj1, obj2, userData1, userData2, fix1, fix2);
     }
 
     @Override
@@ -405,10 +620,10 @@ public class CollisionController implements ContactListener {
 
             PlayerModel player = null;
             Object playerFixData = null;
-            if(bd1.getName().equals("player")) {
+            if(bd1.getEntityType() == Constants.TYPE_PLAYER) {
                 player = (PlayerModel) bd1;
                 playerFixData = fd1;
-            } else if (bd2.getName().equals("player")) {
+            } else if (bd2.getEntityType() == Constants.TYPE_PLAYER) {
                 player = (PlayerModel) bd2;
                 playerFixData = fd2;
             }
@@ -439,17 +654,6 @@ public class CollisionController implements ContactListener {
             Obstacle bd1 = (Obstacle) body1.getUserData();
             Obstacle bd2 = (Obstacle) body2.getUserData();
 
-            PlayerModel player = null;
-            Object playerFixData = null;
-            if(bd1.getName().equals("player")) {
-                player = (PlayerModel) bd1;
-                playerFixData = fd1;
-            } else if (bd2.getName().equals("player")) {
-                player = (PlayerModel) bd2;
-                playerFixData = fd2;
-            }
-
-
             processEndCollision(bd1, bd2, fd1, fd2,fix1,fix2);
             processEndCollision(bd2, bd1, fd2, fd1,fix2,fix1);
         }catch (Exception e) {
@@ -462,87 +666,62 @@ public class CollisionController implements ContactListener {
         Fixture fix1 = contact.getFixtureA();
         Fixture fix2 = contact.getFixtureB();
 
-        Body body1 = fix1.getBody();
-        Body body2 = fix2.getBody();
-
-        Object fd1 = fix1.getUserData();
-        Object fd2 = fix2.getUserData();
-
         try {
-            Obstacle bd1 = (Obstacle) body1.getUserData();
-            Obstacle bd2 = (Obstacle) body2.getUserData();
+            Obstacle bd1 = (Obstacle) fix1.getBody().getUserData();
+            Obstacle bd2 = (Obstacle) fix2.getBody().getUserData();
 
-            PlayerModel player = null;
-            Object playerFixData = null;
-            PaintballModel paintball = null;
-            Fixture paintballFix = null;
+            PreSolveHandler handler = preSolveHandlers[bd1.getEntityType()][bd2.getEntityType()];
+            if (handler != null)
+                handler.preSolve(contact, bd1, bd2, fix1, fix2);
+        }catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
 
-            if(bd2.getName().equals("paintball")) {
-                paintball = (PaintballModel) bd2;
-                paintballFix = fix2;
-                if(paintball.isDead() || bd1.getName().equals("paintball")) {
-                    contact.setEnabled(false);
-                    return;
-                }
-            } else if (bd1.getName().equals("paintball")) {
-                paintball = (PaintballModel) bd1;
-                paintballFix = fix1;
-                if(paintball.isDead()) {
-                    contact.setEnabled(false);
-                    return;
-                }
-            }
+    /**
+     * Decides whether a contact between the player and a paintball is solved,
+     * letting the player pass through paintballs from below and from the sides.
+     */
+    private void preSolve(Contact contact, PlayerModel player, PaintballModel paintball, Fixture playerFix, Fixture paintballFix) {
+        if(paintball.isDead()) {
+            contact.setEnabled(false);
+            return;
+        }
 
+        Object playerFixData = playerFix.getUserData();
+        if(!player.fixtureIsActive(playerFixData) && !player.isGroundSensor(playerFixData)) {
+            if(player.getRidingBullet()==paintball && ! aboveGround(player,paintball))
+                player.setRidingVX(null);
+            contact.setEnabled(false);
+            return;
+        }
 
-            if(bd1.getName().equals("player")) {
-                player = (PlayerModel) bd1;
-                playerFixData = fd1;
-            } else if (bd2.getName().equals("player")) {
-                player = (PlayerModel) bd2;
-                playerFixData = fd2;
-            }
+        if (player.isGhosting() && !paintball.isPlatformPopped()) {
+            contact.setEnabled(false);
+            return;
+        }
 
 
-            if(player!=null && !player.fixtureIsActive(playerFixData) && !player.isGroundSensor(playerFixData)) {
-                if(paintball!=null && player.getRidingBullet()==paintball && ! aboveGround(player,paintball))
+        if(paintball.canPassThrough()) {
+            if(player.getVY()>0 || !aboveGround(player,paintball,.0f) || (player.getX()-player.getWidth()+.1>paintball.getX()+paintball.getWidth() || player.getX()+player.getWidth()-.1<paintball.getX()-paintball.getWidth())) {
+                if(player.getRidingBullet()==paintball)
                     player.setRidingVX(null);
                 contact.setEnabled(false);
-                return;
-            }
-
-            if (paintball == null ||  player == null){
-                return;
+                player.removeSensorCollision(player.getSensorName(),paintballFix);
+                player.removeSensorCollision(player.getRunningSensorName(),paintballFix);
+                if(!player.isColliding())
+                    player.setGrounded(false);
             }
-
-            if (player.isGhosting() && !paintball.isPlatformPopped()) {
-                contact.setEnabled(false);
-                return;
+            else if(aboveGround(player,paintball)) {
+                    player.setGrounded(true);
+                    player.addSensorCollision(player.getSensorName(),paintballFix);
+                    player.addSensorCollision(player.getRunningSensorName(),paintballFix);
+                    if (paintball.getPaintballType().equals("trampolineComb"))
+                        player.setTrampGrounded(true);
             }
-
-
-            if(paintball.canPassThrough()) {
-                if(player.getVY()>0 || !aboveGround(player,paintball,.0f) || (player.getX()-player.getWidth()+.1>paintball.getX()+paintball.getWidth() || player.getX()+player.getWidth()-.1<paintball.getX()-paintball.getWidth())) {
-                    if(player.getRidingBullet()==paintball)
-                        player.setRidingVX(null);
-                    contact.setEnabled(false);
-                    player.removeSensorCollision(player.getSensorName(),paintballFix);
-                    player.removeSensorCollision(player.getRunningSensorName(),paintballFix);
-                    if(!player.isColliding())
-                        player.setGrounded(false);
-                }
-                else if(aboveGround(player,paintball)) {
-                        player.setGrounded(true);
-                        player.addSensorCollision(player.getSensorName(),paintballFix);
-                        player.addSensorCollision(player.getRunningSensorName(),paintballFix);
-                        if (paintball.getPaintballType().equals("trampolineComb"))
-                            player.setTrampGrounded(true);
-                }
-            }
-
-        }catch (Exception e) {
-            e.printStackTrace();
         }
     }
+
     @Override
     public void postSolve(Contact contact, ContactImpulse impulse) {
     }
@@ -16,6 +16,8 @@ public class EnemyController extends EntityController {
     /** The enemy which this controller controls**/
     private EnemyModel enemy;
     private int lastFrame = 0;
+    /** The clips of the enemy animation, looked up once */
+    private int alertClip, shootingClip, stillClip;
 
     /** The constructor for EnemyController
     *@param player      The player which this enemy keeps track of
@@ -24,6 +26,9 @@ public class EnemyController extends EntityController {
     public EnemyController(PlayerModel player, EnemyModel enemyModel){
         super(player);
         enemy = enemyModel;
+        alertClip = enemy.getAnimation().getClipId("alert");
+        shootingClip = enemy.getAnimation().getClipId("shooting");
+        stillClip = enemy.getAnimation().getClipId("still");
     }
     
     @Override
@@ -41,15 +46,15 @@ public class EnemyController extends EntityController {
 
     private void updateOnSightAnimation(){
         if (getInLineOfSight() || lastFrame!=0){
-            enemy.getAnimation().play("alert",false);
+            enemy.getAnimation().play(alertClip,false);
             if(lastFrame != 0 && enemy.getAnimation().getCurrentFrame() == 0){
                 enemy.setShooting(true);
-                enemy.getAnimation().playOnce("shooting");
+                enemy.getAnimation().playOnce(shootingClip);
                 lastFrame=0;
             }
             lastFrame = enemy.getAnimation().getCurrentFrame();
         }else{
-            enemy.getAnimation().play("still", true);
+            enemy.getAnimation().play(stillClip, true);
             enemy.setShooting(false);
             lastFrame=0;
         }
@@ -57,7 +62,7 @@ public class EnemyController extends EntityController {
 
     private void updateIntervalAnimation(){
         if(enemy.getShootCooldownCounter() < 40) {
-            enemy.getAnimation().play("shooting", false);
+            enemy.getAnimation().play(shootingClip, false);
         }
     }
 
@@ -86,9 +91,12 @@ public class EnemyController extends EntityController {
     }
 
     private boolean getInLineOfSight(){
-        boolean right = enemy.isFacingRight() && enemy.getPosition().x < (player.getPosition().x);
-        boolean left = !enemy.isFacingRight() && enemy.getPosition().x > (player.getPosition().x);
-        return enemy.getPosition().y < (player.getPosition().y + 1)
-                && enemy.getPosition().y > (player.getPosition().y - 1) && (right||left);
+        float enemyX = enemy.getX();
+        float enemyY = enemy.getY();
+        float playerX = player.getX();
+        float playerY = player.getY();
+        boolean right = enemy.isFacingRight() && enemyX < playerX;
+        boolean left = !enemy.isFacingRight() && enemyX > playerX;
+        return enemyY < playerY + 1 && enemyY > playerY - 1 && (right||left);
     }
 }
@@ -4,6 +4,7 @@ import com.sun.scenario.Settings;
 import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.game.entity.models.PlayerModel;
 import edu.cornell.gdiac.game.input.PlayerInputController;
+import edu.cornell.gdiac.util.Animation;
 import edu.cornell.gdiac.util.SoundController;
 import edu.cornell.gdiac.util.sidebar.Sidebar;
 
@@ -20,6 +21,9 @@ public class PlayerController extends EntityController {
     private PlayerInputController input;
     private boolean superJumpEnabled;
     private boolean wasGrounded = false;
+    /** The clips of the player animation, looked up once */
+    private int crouchShootClip, crouchClip, fallingClip, stillClip, risingClip, peakClip, stunnedClip,
+            runClip, shootClip, idleClip;
 
     /**
      * PlayerController's contructor
@@ -29,6 +33,18 @@ public class PlayerController extends EntityController {
         super(player);
         input = PlayerInputController.getInstance();
         wasGrounded = player.isGrounded();
+
+        Animation animation = player.getAnimation();
+        crouchShootClip = animation.getClipId("crouch_shoot");
+        crouchClip = animation.getClipId("crouch");
+        fallingClip = animation.getClipId("falling");
+        stillClip = animation.getClipId("still");
+        risingClip = animation.getClipId("rising");
+        peakClip = animation.getClipId("peak");
+        stunnedClip = animation.getClipId("stunned");
+        runClip = animation.getClipId("run");
+        shootClip = animation.getClipId("shoot");
+        idleClip = animation.getClipId("idle");
     }
 
     @Override
@@ -61,33 +77,34 @@ public class PlayerController extends EntityController {
     private void updateAnimation(){
 
         if(!wasGrounded &&player.isGrounded()) {
-            SoundController.getSFXInstance().stopAll();
-            SoundController.getSFXInstance().play("gameMode",Constants.SFX_PLAYER_LAND,false,0.3f);
+            SoundController.getSFXInstance().playEffect(Constants.SFX_PLAYER_LAND,
+                    SoundController.CATEGORY_EVENT, SoundController.PRIORITY_NORMAL, 0.3f);
         }
         else if (player.isShooting() && player.isCrouching())
-            player.getAnimation().playOnce("crouch_shoot");
+            player.getAnimation().playOnce(crouchShootClip);
         else if(player.isGrounded() && player.isCrouching())
-            player.getAnimation().play("crouch",false);
+            player.getAnimation().play(crouchClip,false);
         else if (!player.isGrounded() && (player.getVY() < -OFF_GROUND_THRESHOLD || player.getRidingBullet()!=null ||  (player.getVY()==0 && player.semirecentlyUngrounded())))
-            player.getAnimation().play("falling", true);
+            player.getAnimation().play(fallingClip, true);
         else if (!player.isGrounded() && player.getVY() > OFF_GROUND_THRESHOLD) {
             if (player.isDoubleJumping())
-                player.getAnimation().setPlayingAnimation("still");
-            player.getAnimation().play("rising", true);
+                player.getAnimation().setPlayingAnimation(stillClip);
+            player.getAnimation().play(risingClip, true);
         }
         else if (!player.isGrounded() &&
                 player.getVY() <= OFF_GROUND_THRESHOLD + 1 && player.getVY() >= OFF_GROUND_THRESHOLD-1)
-            player.getAnimation().playOnce("peak");
+            player.getAnimation().playOnce(peakClip);
         else if (!player.isGrounded() && player.isKnockedBack()) {
-            player.getAnimation().playOnce("stunned");
-            SoundController.getSFXInstance().play("gameMode", Constants.SFX_PLAYER_STUN, false);
+            player.getAnimation().playOnce(stunnedClip);
+            SoundController.getSFXInstance().playEffect(Constants.SFX_PLAYER_STUN,
+                    SoundController.CATEGORY_STUN, SoundController.PRIORITY_HIGH);
         }
         else if (player.isGrounded() && input.getHorizontal() != 0 && !player.isGhosting())
-            player.getAnimation().play("run", true);
+            player.getAnimation().play(runClip, true);
         else if (player.isShooting() && !player.isCrouching())
-            player.getAnimation().playOnce("shoot");
+            player.getAnimation().playOnce(shootClip);
         else if (player.isGrounded() || player.recentlyGrounded())
-            player.getAnimation().play("idle", true);
+            player.getAnimation().play(idleClip, true);
 
         wasGrounded = player.isGrounded();
     }
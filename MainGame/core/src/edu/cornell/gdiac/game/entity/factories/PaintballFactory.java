@@ -1,16 +1,18 @@
 package edu.cornell.gdiac.game.entity.factories;
 
 import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Pool;
 import com.sun.xml.internal.bind.v2.runtime.reflect.opt.Const;
 import edu.cornell.gdiac.game.Constants;
+import edu.cornell.gdiac.game.entity.controllers.CollisionController;
 import edu.cornell.gdiac.game.entity.models.PaintballModel;
 import edu.cornell.gdiac.game.interfaces.AssetUser;
 import edu.cornell.gdiac.game.interfaces.Settable;
 import edu.cornell.gdiac.util.AssetRetriever;
-import edu.cornell.gdiac.util.sidebar.Sidebar;
+import edu.cornell.gdiac.util.ClipSet;
+import edu.cornell.gdiac.util.sidebar.Settings;
 
 /**
  * Created by Lu on 3/17/2017.
@@ -46,31 +48,59 @@ public class PaintballFactory implements AssetUser, Settable {
     private Vector2 scale;
     /** Texture of the paintball */
     private TextureRegion enemyTexture;
-    private TextureRegion enemyTextureHead;
-    private TextureRegion playerTextureHead;
-    private TextureRegion normalPlatformTexture;
-    private TextureRegion charPlatformTexture;
-    private TextureRegion splatEffectTexture;
-    private TextureRegion trailTexture;
-    private TextureRegion enemyMineHeadTexture;
-    private TextureRegion minePlatformTexture;
-    private TextureRegion movingMineTexture;
-    private TextureRegion primedMineTexture;
-    private TextureRegion primedMineWarningTexture;
-    private TextureRegion armedMineTexture;
-    private TextureRegion armedMineWarningTexture;
-    private TextureRegion mineTrailTexture;
-    private TextureRegion charSplatEffectTexture;
-    private TextureRegion enemySplatEffectTexture;
-    private TextureRegion mineSplatEffectTexture;
+    /** Animation clips of the paintballs, cut once and shared by every paintball of a type */
+    private ClipSet enemyTextureHead;
+    private ClipSet playerTextureHead;
+    private ClipSet normalPlatformTexture;
+    private ClipSet charPlatformTexture;
+    private ClipSet splatEffectTexture;
+    private ClipSet trailTexture;
+    private ClipSet enemyMineHeadTexture;
+    private ClipSet minePlatformTexture;
+    private ClipSet movingMineTexture;
+    private ClipSet primedMineTexture;
+    private ClipSet primedMineWarningTexture;
+    private ClipSet armedMineTexture;
+    private ClipSet armedMineWarningTexture;
+    private ClipSet mineTrailTexture;
+    private ClipSet charSplatEffectTexture;
+    private ClipSet enemySplatEffectTexture;
+    private ClipSet mineSplatEffectTexture;
+
+    /** Paintballs that have been removed from the world and can be reused */
+    private Pool<PaintballModel> pool;
+    /** The settings version last applied (see Settings.Snapshot) */
+    private int appliedSettings = -1;
 
     public PaintballFactory(Vector2 scale){
         this.scale = scale;
+        pool = new Pool<PaintballModel>() {
+            @Override
+            protected PaintballModel newObject() {
+                // The filter lives in the fixture definition, so it survives reuse
+                PaintballModel paintball = new PaintballModel();
+                CollisionController.applyFilter(paintball);
+                return paintball;
+            }
+        };
     }
 
 
     /**
-     *  Creates a paintball at the given location moving in the given direction
+     * Returns a paintball to the pool once it has been removed from the world.
+     *
+     * The paintball must no longer be referenced by anything, since the next
+     * call to createPaintball may hand it out again.
+     *
+     * @param paintball The removed paintball
+     */
+    public void free(PaintballModel paintball){
+        pool.free(paintball);
+    }
+
+    /**
+     *  Creates a paintball at the given location moving in the given direction.
+     *  Paintballs are taken from a pool, so their animations are reused, and they play the shared clips of their type.
      *  @param x            Initial x position of the paintball
      *  @param y            Initial y position of the paintball
      *  @param direction    Initial traveling direction of the paintball (true for right, left otherwise)
@@ -80,7 +110,8 @@ public class PaintballFactory implements AssetUser, Settable {
         float width = enemyTexture.getRegionWidth()/(scale.x);
         float height = enemyTexture.getRegionHeight()/(scale.y);
         float speed  = (direction ? initial_speed : -initial_speed);
-        PaintballModel paintball = new PaintballModel(x+xOffset, y+y_offset, width, height,speed,xScale,yScale,scale,paintballType);
+        PaintballModel paintball = pool.obtain();
+        paintball.init(x+xOffset, y+y_offset, width, height,speed,xScale,yScale,scale,paintballType);
 
         paintball.setMaxXScale(maxXScale);
         paintball.setBullet(true);
@@ -213,77 +244,94 @@ public class PaintballFactory implements AssetUser, Settable {
 
     // END: Setters and Getters
 
+    /**
+     * Applies the paintball settings.
+     *
+     * Paintballs take these values from the factory when they are created, so a
+     * paintball applies the settings once, at creation, and never again.
+     */
     @Override
-    public void applySettings() {
-        maxXScale = Sidebar.getValue("Paintball Width");
-        initial_speed = Sidebar.getValue("Paintball Speed");
-        player_initial_speed = 2*Sidebar.getValue("Paintball Speed");
-        yScale = Sidebar.getValue("Paintball Height");
-        paintballToPaintballDuration = Sidebar.getValue("Paintball-paintball Stick Time");
-        paintballToWallDuration = Sidebar.getValue("Paintball-Wall Stick Time");
-        paintballToPlatformDuration = Sidebar.getValue("Paintball-Wall Stick Time");
+    public void applySettings(Settings.Snapshot settings) {
+        if (settings.getVersion() == appliedSettings)
+            return;
+        appliedSettings = settings.getVersion();
+        maxXScale = settings.get(Settings.PAINTBALL_WIDTH);
+        initial_speed = settings.get(Settings.PAINTBALL_SPEED);
+        player_initial_speed = 2*settings.get(Settings.PAINTBALL_SPEED);
+        yScale = settings.get(Settings.PAINTBALL_HEIGHT);
+        paintballToPaintballDuration = settings.get(Settings.PAINTBALL_STICK_TIME);
+        paintballToWallDuration = settings.get(Settings.WALL_STICK_TIME);
+        paintballToPlatformDuration = settings.get(Settings.WALL_STICK_TIME);
     }
 
     @Override
     public void preLoadContent(AssetManager manager)
     {
-        manager.load(Constants.PAINTBALL_FILE,Texture.class);
-        manager.load(Constants.PAINTBALL_STATIONARY_NORMAL_FILE,Texture.class);
-        manager.load(Constants.PAINTBALL_STATIONARY_CHAR_FILE,Texture.class);
-        manager.load(Constants.PAINTBALL_NORMAL_TRAIL_FILE,Texture.class);
-        manager.load(Constants.PAINTBALL_MINE_TRAIL_FILE,Texture.class);
-        manager.load(Constants.PAINTBALL_ENEMY_NORMAL_FILE,Texture.class);
-        manager.load(Constants.PAINTBALL_ENEMY_MINE_FILE,Texture.class);
-        manager.load(Constants.PAINTBALL_CHARACTER_FILE,Texture.class);
-        manager.load(Constants.PAINTBALL_SPLAT_EFFECT_FILE,Texture.class);
-        manager.load(Constants.PAINTBALL_CHAR_SPLAT_EFFECT_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_ENEMY_SPLAT_EFFECT_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_MINE_ENEMY_SPLAT_EFFECT_FILE, Texture.class);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_STATIONARY_NORMAL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_STATIONARY_CHAR_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_NORMAL_TRAIL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_MINE_TRAIL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_ENEMY_NORMAL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_ENEMY_MINE_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_CHARACTER_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_SPLAT_EFFECT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_CHAR_SPLAT_EFFECT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_ENEMY_SPLAT_EFFECT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_MINE_ENEMY_SPLAT_EFFECT_FILE);
     }
 
     @Override
     public void loadContent(AssetManager manager) {
         enemyTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_FILE, false);
-        enemyTextureHead = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_ENEMY_NORMAL_FILE, false);
-        enemyMineHeadTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_ENEMY_MINE_FILE, false);
-        minePlatformTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_STATIONARY_MINE_FILE, false);
-        charPlatformTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_STATIONARY_CHAR_FILE, false);
-        mineTrailTexture =  AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_MINE_TRAIL_FILE, false);
-        armedMineTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_ARMED_MINE_FILE, false);
-        armedMineWarningTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_ARMED_MINE_WARNING_FILE, false);
-        primedMineTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_PRIMED_MINE_FILE, false);
-        primedMineWarningTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_PRIMED_MINE_WARNING_FILE, false);
-        movingMineTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_MOVING_MINE_FILE, false);
-        playerTextureHead = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_CHARACTER_FILE, false);
-        normalPlatformTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_STATIONARY_NORMAL_FILE, false);
-        splatEffectTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_SPLAT_EFFECT_FILE, false);
-        trailTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_NORMAL_TRAIL_FILE, false);
-        charSplatEffectTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_CHAR_SPLAT_EFFECT_FILE, false);
-        enemySplatEffectTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_ENEMY_SPLAT_EFFECT_FILE, false);
-        mineSplatEffectTexture = AssetRetriever.createTextureRegion(manager, Constants.PAINTBALL_MINE_ENEMY_SPLAT_EFFECT_FILE, false);
+        enemyTextureHead = createClips(manager, Constants.PAINTBALL_ENEMY_NORMAL_FILE, "head", Constants.PAINTBALL_TRAIL_COLUMNS);
+        enemyMineHeadTexture = createClips(manager, Constants.PAINTBALL_ENEMY_MINE_FILE, "head", Constants.PAINTBALL_TRAIL_COLUMNS);
+        playerTextureHead = createClips(manager, Constants.PAINTBALL_CHARACTER_FILE, "head", Constants.PAINTBALL_TRAIL_COLUMNS);
+        minePlatformTexture = createClips(manager, Constants.PAINTBALL_STATIONARY_MINE_FILE, "head", 2);
+        charPlatformTexture = createClips(manager, Constants.PAINTBALL_STATIONARY_CHAR_FILE, "head", 2);
+        normalPlatformTexture = createClips(manager, Constants.PAINTBALL_STATIONARY_NORMAL_FILE, "head", 2);
+        mineTrailTexture = createClips(manager, Constants.PAINTBALL_MINE_TRAIL_FILE, "trail", 5);
+        trailTexture = createClips(manager, Constants.PAINTBALL_NORMAL_TRAIL_FILE, "trail", 5);
+        movingMineTexture = createClips(manager, Constants.PAINTBALL_MOVING_MINE_FILE, "trail", 5);
+        armedMineTexture = createClips(manager, Constants.PAINTBALL_ARMED_MINE_FILE, "stationary", 4);
+        armedMineWarningTexture = createClips(manager, Constants.PAINTBALL_ARMED_MINE_WARNING_FILE, "stationary", 4);
+        primedMineTexture = createClips(manager, Constants.PAINTBALL_PRIMED_MINE_FILE, "stationary", 6);
+        primedMineWarningTexture = createClips(manager, Constants.PAINTBALL_PRIMED_MINE_WARNING_FILE, "stationary", 6);
+        splatEffectTexture = createClips(manager, Constants.PAINTBALL_SPLAT_EFFECT_FILE, "splat", 10);
+        charSplatEffectTexture = createClips(manager, Constants.PAINTBALL_CHAR_SPLAT_EFFECT_FILE, "platform splat", 15);
+        enemySplatEffectTexture = createClips(manager, Constants.PAINTBALL_ENEMY_SPLAT_EFFECT_FILE, "platform splat", 15);
+        mineSplatEffectTexture = createClips(manager, Constants.PAINTBALL_MINE_ENEMY_SPLAT_EFFECT_FILE, "platform splat", 15);
+    }
 
+    /**
+     * Cuts a single row spritesheet into a set holding just that clip
+     *
+     * @param manager   The asset manager holding the spritesheet
+     * @param file      The file of the spritesheet
+     * @param name      The name of the clip
+     * @param frames    The number of frames in the spritesheet
+     */
+    private static ClipSet createClips(AssetManager manager, String file, String name, int frames) {
+        ClipSet clips = new ClipSet();
+        clips.add(name, AssetRetriever.createTextureRegion(manager, file, false), 1, frames);
+        return clips;
     }
 
     @Override
     public void unloadContent(AssetManager manager) {
-        if(manager.isLoaded(Constants.PAINTBALL_FILE)) {
-            manager.unload(Constants.PAINTBALL_FILE);
-            manager.unload(Constants.PAINTBALL_STATIONARY_NORMAL_FILE);
-            manager.unload(Constants.PAINTBALL_STATIONARY_CHAR_FILE);
-            manager.unload(Constants.PAINTBALL_NORMAL_TRAIL_FILE);
-            manager.unload(Constants.PAINTBALL_MINE_TRAIL_FILE);
-            manager.unload(Constants.PAINTBALL_ARMED_MINE_FILE);
-            manager.unload(Constants.PAINTBALL_ARMED_MINE_WARNING_FILE);
-            manager.unload(Constants.PAINTBALL_PRIMED_MINE_FILE);
-            manager.unload(Constants.PAINTBALL_PRIMED_MINE_WARNING_FILE);
-            manager.unload(Constants.PAINTBALL_MOVING_MINE_FILE);
-            manager.unload(Constants.PAINTBALL_ENEMY_NORMAL_FILE);
-            manager.unload(Constants.PAINTBALL_ENEMY_MINE_FILE);
-            manager.unload(Constants.PAINTBALL_CHARACTER_FILE);
-            manager.unload(Constants.PAINTBALL_SPLAT_EFFECT_FILE);
-            manager.unload(Constants.PAINTBALL_CHAR_SPLAT_EFFECT_FILE);
-            manager.unload(Constants.PAINTBALL_ENEMY_SPLAT_EFFECT_FILE);
-            manager.unload(Constants.PAINTBALL_MINE_ENEMY_SPLAT_EFFECT_FILE);
+        if(AssetRetriever.isTextureLoaded(manager, Constants.PAINTBALL_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_FILE);
+            AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_STATIONARY_NORMAL_FILE);
+            AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_STATIONARY_CHAR_FILE);
+            AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_NORMAL_TRAIL_FILE);
+            AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_MINE_TRAIL_FILE);
+            AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_ENEMY_NORMAL_FILE);
+            AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_ENEMY_MINE_FILE);
+            AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_CHARACTER_FILE);
+            AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_SPLAT_EFFECT_FILE);
+            AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_CHAR_SPLAT_EFFECT_FILE);
+            AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_ENEMY_SPLAT_EFFECT_FILE);
+            AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_MINE_ENEMY_SPLAT_EFFECT_FILE);
         }
     }
 }
\ No newline at end of file
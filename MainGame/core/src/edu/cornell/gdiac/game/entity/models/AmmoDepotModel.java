@@ -10,6 +10,7 @@ package edu.cornell.gdiac.game.entity.models;
 import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.physics.box2d.*;
+import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.game.GameCanvas;
 import edu.cornell.gdiac.util.obstacles.BoxObstacle;
 
@@ -56,6 +57,7 @@ public class AmmoDepotModel extends BoxObstacle {
         setGravityScale(0);
         setFixedRotation(true);
         setName("ammoDepot");
+        setEntityType(Constants.TYPE_AMMO_DEPOT);
 
         // Gameplay attributes
         this.ammoAmount = ammoAmount;
@@ -8,6 +8,7 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.utils.Disposable;
+import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.game.GameCanvas;
 import edu.cornell.gdiac.game.interfaces.TextureDrawable;
 import edu.cornell.gdiac.util.obstacles.BoxObstacle;
@@ -43,6 +44,7 @@ public class BackgroundModel extends BoxObstacle {
         setRestitution(0.0f);
         setSensor(true);
         setName("background");
+        setEntityType(Constants.TYPE_BACKGROUND);
     }
 
     // BEGIN: Setter and getter
@@ -1,5 +1,6 @@
 package edu.cornell.gdiac.game.entity.models;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.util.obstacles.BoxObstacle;
 
 /**
@@ -32,6 +33,7 @@ public class BackgroundObjectModel extends BoxObstacle {
         setRestitution(BASIC_RESTITUTION);
         setSensor(true);
         setName("bgObject");
+        setEntityType(Constants.TYPE_BG_OBJECT);
     }
 
 }
@@ -4,6 +4,7 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.physics.box2d.*;
+import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.game.GameCanvas;
 import edu.cornell.gdiac.game.interfaces.Animatable;
 import edu.cornell.gdiac.game.interfaces.Shooter;
@@ -128,6 +129,7 @@ public class EnemyModel extends PolygonObstacle implements Shooter, Animatable {
         setFriction(ENEMY_FRICTION);  /// HE WILL STICK TO WALLS IF YOU FORGET
         setFixedRotation(true);
         setName("enemy");
+        setEntityType(Constants.TYPE_ENEMY);
         setEnemyType(enemyType);
         setSensor(true);
         bodyinfo.type = BodyDef.BodyType.StaticBody;
@@ -233,8 +235,6 @@ public class EnemyModel extends PolygonObstacle implements Shooter, Animatable {
 
         if (stunCooldownCounter > 0)
             stunCooldownCounter --;
-
-        animation.update(dt);
     }
 
     /**
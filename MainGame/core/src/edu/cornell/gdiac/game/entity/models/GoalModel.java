@@ -2,7 +2,9 @@ package edu.cornell.gdiac.game.entity.models;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.game.GameCanvas;
+import edu.cornell.gdiac.game.interfaces.Animatable;
 import edu.cornell.gdiac.util.Animation;
 import edu.cornell.gdiac.util.obstacles.BoxObstacle;
 
@@ -11,7 +13,7 @@ import edu.cornell.gdiac.util.obstacles.BoxObstacle;
  *
  * This class is the model for the target that the player must shoot in order to win. 
  */
-public class GoalModel extends BoxObstacle {
+public class GoalModel extends BoxObstacle implements Animatable {
     private Animation animation;
 	/**
      *
@@ -32,6 +34,7 @@ public class GoalModel extends BoxObstacle {
         setRestitution(0.0f);
         setSensor(true);
         setName("goal");
+        setEntityType(Constants.TYPE_GOAL);
         animation = null;
     }
 
@@ -43,10 +46,6 @@ public class GoalModel extends BoxObstacle {
         return animation;
     }
 
-    @Override
-    public void update(float dt){
-        animation.update(dt);
-    }
     @Override
     public void draw(GameCanvas canvas){
         if (texture != null) {
@@ -4,6 +4,7 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.game.GameCanvas;
 import edu.cornell.gdiac.util.Animation;
 import edu.cornell.gdiac.util.obstacles.BoxObstacle;
@@ -65,6 +66,7 @@ public class HUDModel extends BoxObstacle {
         setRestitution(0.0f);
         setSensor(true);
         setName("hud");
+        setEntityType(Constants.TYPE_HUD);
 
         ammoLeft = DEFAULT_STARTING_AMMO;
         startingAmmo = DEFAULT_STARTING_AMMO;
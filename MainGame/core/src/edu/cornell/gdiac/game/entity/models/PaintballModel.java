@@ -1,13 +1,14 @@
 package edu.cornell.gdiac.game.entity.models;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.utils.Pool;
 import com.sun.xml.internal.bind.v2.runtime.reflect.opt.Const;
 import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.game.GameCanvas;
 import edu.cornell.gdiac.util.Animation;
+import edu.cornell.gdiac.util.ClipSet;
 import edu.cornell.gdiac.util.SoundController;
 import edu.cornell.gdiac.util.obstacles.BoxObstacle;
 
@@ -16,7 +17,7 @@ import edu.cornell.gdiac.util.obstacles.BoxObstacle;
  *
  * The model class for paintball objects
  */
-public class PaintballModel extends BoxObstacle {
+public class PaintballModel extends BoxObstacle implements Pool.Poolable {
     /** Scale of paintball**/
     private float xScale;
     private float yScale;
@@ -106,6 +107,15 @@ public class PaintballModel extends BoxObstacle {
     private Animation primedAnimation;
     private Animation primedWarningAnimation;
 
+    /** Animations kept across uses of a pooled paintball */
+    private Animation trailAnimation;
+    private Animation platformAnimation;
+    private Animation movingAnimationCache;
+    private Animation armedAnimationCache;
+    private Animation armedWarningAnimationCache;
+    private Animation primedAnimationCache;
+    private Animation primedWarningAnimationCache;
+
     private int currTrailFrame;
 
     private Vector2 platformOrigin;
@@ -116,9 +126,31 @@ public class PaintballModel extends BoxObstacle {
     /** Type of paintball */
     private String paintballType;
 
+    /** The clip every animation of a paintball plays (the only one in its set) */
+    private static final int CLIP = 0;
+
     private static final float FLASHING_RATE = .2f;
     private static final float FLASHING_TIME = 1.5f;
 
+    /**
+     * Creates an unused paintball for a pool.
+     *
+     * The paintball must be set up with init before it is added to a world.
+     */
+    public PaintballModel(){
+        super(0,0,1,1);
+        setName("paintball");
+        setEntityType(Constants.TYPE_PAINTBALL);
+        headTexture = new Animation();
+        splatEffectTexture = new Animation();
+        platformSplatEffectTexture = new Animation();
+        trailAnimation = new Animation();
+        platformAnimation = new Animation();
+        trailTexture = trailAnimation;
+        platformTexture = platformAnimation;
+        platformOrigin=new Vector2();
+    }
+
     /**
      * PaintballModel constructor
      * @param x         Starting x position
@@ -131,8 +163,32 @@ public class PaintballModel extends BoxObstacle {
      * @param scl       Screen scale
      */
     public PaintballModel(float x, float y, float w, float h, float s, float xScl, float yScl, Vector2 scl, String type){
-        super(x,y,w,h);
-        setName("paintball");
+        this();
+        init(x,y,w,h,s,xScl,yScl,scl,type);
+    }
+
+    /**
+     * Sets up a new or pooled paintball as if it had just been constructed.
+     *
+     * Textures are not set here, since the factory sets them for each paintball type.
+     *
+     * @param x         Starting x position
+     * @param y         Starting y position
+     * @param w         Starting width
+     * @param h         Starting height
+     * @param s         Starting speed
+     * @param xScl      Starting x-scale
+     * @param yScl      Starting y-scale
+     * @param scl       Screen scale
+     */
+    public void init(float x, float y, float w, float h, float s, float xScl, float yScl, Vector2 scl, String type){
+        setPosition(x,y);
+        setAngle(0);
+        setVX(0);
+        setVY(0);
+        setAngularVelocity(0);
+        resetMass();
+        markRemoved(false);
         if(yScl == 0 || xScl == 0) {
             markRemoved(true);
             xScale = 1;
@@ -144,6 +200,10 @@ public class PaintballModel extends BoxObstacle {
             opacity = 1;
         }
 
+        xtransform = 1f;
+        ytransform = 1f;
+        headSize = .2f;
+        timeToDie = 0;
         maxXScale = 6*xScale;
         initWidth = w*xScale;
         initHeight = h*yScale;
@@ -159,7 +219,7 @@ public class PaintballModel extends BoxObstacle {
         scale = scl;
         gravity = false;
         maxLifeTime = 20f;
-//        snapping = false;
+        snapping = false;
         updateTime = .25f;
 
         lastUpdate = 0f;
@@ -172,20 +232,37 @@ public class PaintballModel extends BoxObstacle {
         isPlayerBullet = false;
         paintballType = type;
         isUsed = false;
-        headTexture = new Animation();
-        splatEffectTexture = new Animation();
-        platformSplatEffectTexture = new Animation();
-        trailTexture = new Animation();
-        platformTexture = new Animation();
         trailEnabled=true;
         currTrailFrame = 0;
         passThrough = false;
-        platformOrigin=new Vector2();
         direction = true;
         litUp = false;
         armed = false;
     }
 
+    /**
+     * Returns this paintball to its unused state so that it can go back into a pool.
+     *
+     * The animations are kept so the next paintball can reuse them.
+     */
+    @Override
+    public void reset() {
+        headTexture.reset();
+        splatEffectTexture.reset();
+        platformSplatEffectTexture.reset();
+        trailAnimation.reset();
+        platformAnimation.reset();
+        trailTexture = trailAnimation;
+        platformTexture = platformAnimation;
+        movingAnimation = null;
+        armedAnimation = null;
+        armedWarningAnimation = null;
+        primedAnimation = null;
+        primedWarningAnimation = null;
+        clearPreviousState();
+        markRemoved(false);
+    }
+
     //BEGIN: GETTERS AND SETTERS
     public boolean getDying() { return dying; }
     public boolean getGrowing() { return growing;}
@@ -267,57 +344,68 @@ public class PaintballModel extends BoxObstacle {
         this.paintballToPaintballDuration = paintballToPaintballDuration;
     }
 
-    public void setHeadTexture(TextureRegion tex) {
-        headTexture.addTexture("head",tex.getTexture(),1, Constants.PAINTBALL_TRAIL_COLUMNS);
-        headTexture.play("head",true);
+    // Each of these takes a set of one clip, shared by every paintball of a type
+    public void setHeadTexture(ClipSet clips) {
+        headTexture.setClips(clips);
+        headTexture.play(CLIP,true);
     }
 
-    public void setPlatformTexture(TextureRegion tex) {
-        platformTexture.addTexture("head",tex.getTexture(),1, 2);
-        platformTexture.play("head",true);
+    public void setPlatformTexture(ClipSet clips) {
+        platformTexture.setClips(clips);
+        platformTexture.play(CLIP,true);
     }
 
-    public void setSplatEffectTexture(TextureRegion tex) {
-       splatEffectTexture.addTexture("splat",tex.getTexture(),1,10);
+    public void setSplatEffectTexture(ClipSet clips) {
+        splatEffectTexture.setClips(clips);
     }
 
-    public void setPlatformSplatEffectTexture(TextureRegion tex) {
-        platformSplatEffectTexture.addTexture("platform splat", tex.getTexture(),1, 15);
+    public void setPlatformSplatEffectTexture(ClipSet clips) {
+        platformSplatEffectTexture.setClips(clips);
     }
 
-    public void setTrailTexture(TextureRegion tex) {
-        trailTexture.addTexture("trail",tex.getTexture(),1,5);
-        trailTexture.playOnce("trail");
+    public void setTrailTexture(ClipSet clips) {
+        trailTexture.setClips(clips);
+        trailTexture.playOnce(CLIP);
     }
 
-    public void setMovingAnimationTexture(TextureRegion tex) {
-        movingAnimation = new Animation();
-        movingAnimation.addTexture("trail",tex.getTexture(),1,5);
-        movingAnimation.play("trail",true);
+    public void setMovingAnimationTexture(ClipSet clips) {
+        if (movingAnimationCache == null)
+            movingAnimationCache = new Animation();
+        movingAnimation = movingAnimationCache;
+        movingAnimation.setClips(clips);
+        movingAnimation.play(CLIP,true);
     }
 
-    public void setArmedAnimation(TextureRegion tex) {
-        armedAnimation = new Animation();
-        armedAnimation.addTexture("stationary",tex.getTexture(),1,4);
-        armedAnimation.play("stationary",true);
+    public void setArmedAnimation(ClipSet clips) {
+        if (armedAnimationCache == null)
+            armedAnimationCache = new Animation();
+        armedAnimation = armedAnimationCache;
+        armedAnimation.setClips(clips);
+        armedAnimation.play(CLIP,true);
     }
 
-    public void setArmedWarningAnimation(TextureRegion tex) {
-        armedWarningAnimation = new Animation();
-        armedWarningAnimation.addTexture("stationary",tex.getTexture(),1,4);
-        armedWarningAnimation.play("stationary",true);
+    public void setArmedWarningAnimation(ClipSet clips) {
+        if (armedWarningAnimationCache == null)
+            armedWarningAnimationCache = new Animation();
+        armedWarningAnimation = armedWarningAnimationCache;
+        armedWarningAnimation.setClips(clips);
+        armedWarningAnimation.play(CLIP,true);
     }
 
-    public void setPrimedAnimation(TextureRegion tex) {
-        primedAnimation = new Animation();
-        primedAnimation.addTexture("stationary",tex.getTexture(),1,6);
-        primedAnimation.play("stationary",true);
+    public void setPrimedAnimation(ClipSet clips) {
+        if (primedAnimationCache == null)
+            primedAnimationCache = new Animation();
+        primedAnimation = primedAnimationCache;
+        primedAnimation.setClips(clips);
+        primedAnimation.play(CLIP,true);
     }
 
-    public void setPrimedWarningAnimation(TextureRegion tex) {
-        primedWarningAnimation = new Animation();
-        primedWarningAnimation.addTexture("stationary", tex.getTexture(), 1, 6);
-        primedWarningAnimation.play("stationary", true);
+    public void setPrimedWarningAnimation(ClipSet clips) {
+        if (primedWarningAnimationCache == null)
+            primedWarningAnimationCache = new Animation();
+        primedWarningAnimation = primedWarningAnimationCache;
+        primedWarningAnimation.setClips(clips);
+        primedWarningAnimation.play(CLIP, true);
     }
 
     public float getMaxLifeTime() {
@@ -437,19 +525,20 @@ public class PaintballModel extends BoxObstacle {
         popped = true;
         timeToDie = 0;
         fixX(0);
-        splatEffectTexture.playOnce("splat");
-        SoundController.getSFXInstance().play("gameMode", Constants.SFX_PAINT_POP,false);
+        splatEffectTexture.playOnce(CLIP);
+        SoundController.getSFXInstance().playEffect(Constants.SFX_PAINT_POP,
+                SoundController.CATEGORY_POP, SoundController.PRIORITY_LOW, getX(), getY());
     }
 
     public void platformPop() {
         platformPopped = true;
         fixX(0);
-        platformSplatEffectTexture.playOnce("platform splat");
+        platformSplatEffectTexture.playOnce(CLIP);
         //SoundController.getSFXInstance().play("gameMode", Constants.SFX_PAINT_PLATFORM_SPWAN,false);
     }
 
     public void snap(){
-        setPosition(getPosition().x,snapToGrid(getPosition().y));
+        setPosition(getX(),snapToGrid(getY()));
     }
 
     @Override
@@ -564,44 +653,44 @@ public class PaintballModel extends BoxObstacle {
     public void draw(GameCanvas canvas) {
         paintcolor.a = opacity;
         if (platformSplatEffectTexture.getTextureRegion() != null && platformPopped) {
-            float xPos = (getX() + getWidth()/2f*initDir) * drawScale.x - initDir*platformSplatEffectTexture.getTextureRegion().getRegionWidth()/4f;
-            float yPos = getY()*drawScale.y-platformSplatEffectTexture.getTextureRegion().getRegionHeight()*getScaledY()/2f;
-            canvas.draw(platformSplatEffectTexture.getTextureRegion(), paintcolor, origin.x, origin.y, xPos,yPos, getAngle(), -initDir, 1.0f);
+            float xPos = (getDrawX() + getWidth()/2f*initDir) * drawScale.x - initDir*platformSplatEffectTexture.getTextureRegion().getRegionWidth()/4f;
+            float yPos = getDrawY()*drawScale.y-platformSplatEffectTexture.getTextureRegion().getRegionHeight()*getScaledY()/2f;
+            canvas.draw(platformSplatEffectTexture.getTextureRegion(), paintcolor, origin.x, origin.y, xPos,yPos, getDrawAngle(), -initDir, 1.0f);
         }
         if(!popped) {
             if (dying) {
                 float vscale = (texture.getRegionHeight() * getScaledY()) / platformTexture.getTextureRegion().getRegionHeight();
-                canvas.draw(platformTexture.getTextureRegion(), paintcolor, platformOrigin.x, platformOrigin.y, getX() * drawScale.x, getY() * drawScale.y, getAngle(), getScaledPlatformX(), 1/vscale);
+                canvas.draw(platformTexture.getTextureRegion(), paintcolor, platformOrigin.x, platformOrigin.y, getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(), getScaledPlatformX(), 1/vscale);
             } else {
                 if (texture != null && trailEnabled) {
-                    float xPos = getX();
-                    // canvas.draw(texture, paintcolor, origin.x, origin.y, xPos * drawScale.x, getY() * drawScale.y, getAngle(), getScaledX(), getScaledY());
+                    float xPos = getDrawX();
+                    // canvas.draw(texture, paintcolor, origin.x, origin.y, xPos * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(), getScaledX(), getScaledY());
 
                     if (trailTexture.getTextureRegion() != null && xtransform > 0) {
                         xPos = (initX) * drawScale.x + initDir * trailTexture.getTextureRegion().getRegionWidth() / 2f;
-                        if (xPos * initDir < getX() * drawScale.x * initDir)
-                            xPos = getX() * drawScale.x;
+                        if (xPos * initDir < getDrawX() * drawScale.x * initDir)
+                            xPos = getDrawX() * drawScale.x;
                         float hscale = (texture.getRegionWidth() * getMaxScaledX()) / trailTexture.getTextureRegion().getRegionWidth();
                         float vscale = (texture.getRegionHeight() * getScaledY()) / trailTexture.getTextureRegion().getRegionHeight();
                         canvas.draw(trailTexture.getTextureRegion(), paintcolor, trailTexture.getTextureRegion().getRegionWidth() / 2f,
-                                trailTexture.getTextureRegion().getRegionHeight() / 2f, xPos, getY() * drawScale.y, getAngle(), -initDir * hscale, vscale);
+                                trailTexture.getTextureRegion().getRegionHeight() / 2f, xPos, getDrawY() * drawScale.y, getDrawAngle(), -initDir * hscale, vscale);
                     }
                 }
 
                 if (headTexture != null && !dying && !platformPopped) {
-                    float xPos = (getX() + initDir * getScaledX() / 2f) * drawScale.x + initDir * headTexture.getTextureRegion().getRegionWidth() / 4.0f;
+                    float xPos = (getDrawX() + initDir * getScaledX() / 2f) * drawScale.x + initDir * headTexture.getTextureRegion().getRegionWidth() / 4.0f;
                     canvas.draw(headTexture.getTextureRegion(), paintcolor, headTexture.getTextureRegion().getRegionWidth() / 2f,
                             headTexture.getTextureRegion().getRegionHeight() / 2f,
-                            xPos, getY() * drawScale.y, getAngle(), initDir, 1.0f);
+                            xPos, getDrawY() * drawScale.y, getDrawAngle(), initDir, 1.0f);
 
                 }
             }
         }
 
         if (splatEffectTexture.getTextureRegion() != null && splatEffectTexture.isPlaying()) {
-            float xPos = (getX() + getWidth()/2f*initDir) * drawScale.x - initDir*splatEffectTexture.getTextureRegion().getRegionWidth()/4f;
-            float yPos = getY()*drawScale.y-splatEffectTexture.getTextureRegion().getRegionHeight()*getScaledY()/2f;
-            canvas.draw(splatEffectTexture.getTextureRegion(), paintcolor, origin.x, origin.y, xPos,yPos, getAngle(), initDir, 1.0f);
+            float xPos = (getDrawX() + getWidth()/2f*initDir) * drawScale.x - initDir*splatEffectTexture.getTextureRegion().getRegionWidth()/4f;
+            float yPos = getDrawY()*drawScale.y-splatEffectTexture.getTextureRegion().getRegionHeight()*getScaledY()/2f;
+            canvas.draw(splatEffectTexture.getTextureRegion(), paintcolor, origin.x, origin.y, xPos,yPos, getDrawAngle(), initDir, 1.0f);
 
         }
     }
@@ -3,7 +3,9 @@ package edu.cornell.gdiac.game.entity.models;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.game.GameCanvas;
+import edu.cornell.gdiac.game.interfaces.Animatable;
 import edu.cornell.gdiac.util.Animation;
 import edu.cornell.gdiac.util.obstacles.PolygonObstacle;
 
@@ -12,7 +14,7 @@ import edu.cornell.gdiac.util.obstacles.PolygonObstacle;
  * 
  * The model class for the platforms.
  */
-public class PlatformModel extends PolygonObstacle {
+public class PlatformModel extends PolygonObstacle implements Animatable {
     //constants for the platforms
     public static final int NORMAL_PLATFORM = 0;
     public static final int SPIKE_DOWN_PLATFORM = 1;
@@ -33,6 +35,12 @@ public class PlatformModel extends PolygonObstacle {
     /** The animation associated with this entity */
     private Animation animation;
     private float angle = 0;
+    /** Bottom left corners (x,y pairs) of the tiles drawn by a merged platform */
+    private float[] tileCorners;
+    /** Textures of the tiles drawn by a merged platform */
+    private TextureRegion[] tileTextures;
+    /** Whether the tiles are drawn from the canvas static cache instead */
+    private boolean cached;
 
     /**
      * Creates a new platform.
@@ -51,6 +59,7 @@ public class PlatformModel extends PolygonObstacle {
         setFriction(BASIC_FRICTION);
         setRestitution(BASIC_RESTITUTION);
         setName("platform");
+        setEntityType(Constants.TYPE_PLATFORM);
         if(type != NORMAL_PLATFORM)
             setSensor(true);
         this.type = type;
@@ -63,6 +72,9 @@ public class PlatformModel extends PolygonObstacle {
     public void setType(int type) {
         this.type = type;
     }
+    public Animation getAnimation(){
+        return animation;
+    }
     public void setAnimation(Animation animation){
         this.animation = animation;
 
@@ -78,7 +90,46 @@ public class PlatformModel extends PolygonObstacle {
         else if (type == SPIKE_DOWN_PLATFORM){
             angle = ((float)Math.PI);
         }
-        animation.play("spin", true);
+    }
+
+    /**
+     * Sets the tiles this platform draws in place of a single texture.
+     *
+     * Adjacent tiles are merged into one body at level load. Each tile still keeps
+     * its own texture, so the merged platform draws them one by one at their
+     * bottom left corners.
+     *
+     * @param corners   Bottom left corners of the tiles as x,y pairs in physics units
+     * @param textures  The texture of each tile
+     */
+    public void setTiles(float[] corners, TextureRegion[] textures){
+        tileCorners = corners;
+        tileTextures = textures;
+    }
+
+    /** Returns the number of tiles drawn by this platform, or 0 if it is unmerged */
+    public int getTileCount(){ return tileTextures == null ? 0 : tileTextures.length; }
+
+    /** Returns true if the tiles of this platform are drawn from the canvas static cache */
+    public boolean isCached(){ return cached; }
+
+    /**
+     * Adds the tiles of this platform to the static cache the canvas is recording.
+     *
+     * Only merged, unanimated platforms can be cached. Once cached, draw() skips
+     * the tiles and the canvas draws them with the rest of the static geometry.
+     *
+     * @param canvas The canvas recording a static cache
+     *
+     * @return true if the platform was cached
+     */
+    public boolean cacheTiles(GameCanvas canvas){
+        if (tileTextures == null || animation != null || canvas.getStaticCacheRoom() < tileTextures.length)
+            return false;
+        for (int i = 0; i < tileTextures.length; i++)
+            canvas.cacheStatic(tileTextures[i], tileCorners[2*i]*drawScale.x, tileCorners[2*i+1]*drawScale.y);
+        cached = true;
+        return true;
     }
     // END: Setters and GEtters
 
@@ -96,16 +147,14 @@ public class PlatformModel extends PolygonObstacle {
     }
 
 
-    @Override
-    public void update(float dt){
-        super.update(dt);
-        if (animation != null)
-            animation.update(dt);
-    }
-
     @Override
     public void draw(GameCanvas canvas){
-        if (texture != null) {
+        if (cached) {
+            return;
+        } else if (tileTextures != null) {
+            for (int i = 0; i < tileTextures.length; i++)
+                canvas.draw(tileTextures[i], tileCorners[2*i]*drawScale.x, tileCorners[2*i+1]*drawScale.y);
+        } else if (texture != null) {
             if (animation == null)
                 canvas.draw(texture,Color.WHITE,origin.x,origin.y,(pointArray[6])*
                     drawScale.x+origin.x,(pointArray[7])*drawScale.y+origin.y,angle,1,1.0f);
@@ -5,6 +5,7 @@ import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.utils.ObjectSet;
+import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.game.GameCanvas;
 import edu.cornell.gdiac.game.entity.factories.PaintballFactory;
 import edu.cornell.gdiac.game.interfaces.Animatable;
@@ -15,7 +16,7 @@ import edu.cornell.gdiac.util.obstacles.BoxObstacle;
 import edu.cornell.gdiac.util.obstacles.CapsuleObstacle;
 import edu.cornell.gdiac.util.obstacles.ComplexObstacle;
 import edu.cornell.gdiac.util.obstacles.PolygonObstacle;
-import edu.cornell.gdiac.util.sidebar.Sidebar;
+import edu.cornell.gdiac.util.sidebar.Settings;
 
 /**
  * Player avatar for the plaform game.
@@ -137,9 +138,13 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
     /** Cache for internal force calculations */
     private Vector2 forceCache = new Vector2();
     private Vector2 zeroVector = new Vector2(0,0);
+    /** The settings version last applied (see Settings.Snapshot) */
+    private int appliedSettings = -1;
 
     /** The animation associated with this entity */
     private Animation animation;
+    /** The clips of the animation that change the shape of the player */
+    private int runClip, crouchClip;
     /** The color associated with this entity */
     private Color drawColor;
 
@@ -224,6 +229,7 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
         setFriction(PLAYER_FRICTION);  /// HE WILL STICK TO WALLS IF YOU FORGET
         setFixedRotation(true);
         setName("player");
+        setEntityType(Constants.TYPE_PLAYER);
         setMass(PLAYER_MASS);
         sensorX = -height/2;
 
@@ -254,7 +260,7 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
 
     // BEGIN: Setters and Getters
     public float getPlayerJump() {
-        return Sidebar.getValue("Jump Height");
+        return Settings.get(Settings.JUMP_HEIGHT);
     }
 
     private float getMaxDiff(float a, float b, float c) {
@@ -288,6 +294,8 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
     @Override
     public void setAnimation(Animation animation){
         this.animation = animation;
+        runClip = animation.getClipId("run");
+        crouchClip = animation.getClipId("crouch");
     }
 
     @Override
@@ -501,28 +509,40 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
         myPlatform = p;
     }
 
+    /**
+     * Drops any reference to a paintball that is being removed from the world.
+     *
+     * @param p the removed paintball
+     */
+    public void forgetPaintball(PaintballModel p) {
+        if (myPlatform == p)
+            myPlatform = null;
+        if (ridingBullet == p)
+            ridingBullet = null;
+    }
+
     public boolean fixtureIsActive(Object fixData) {
         if(fixData == null)
             return false;
 
         if(fixData.equals(sensorFixture.getUserData())) {
-            if (animation.getCurrentStrip().equals("run"))
+            if (animation.getCurrentClip() == runClip)
                 return false;
             else
                 return true;
         }
 
         if(fixData.equals(runningSensorFixture.getUserData())) {
-            if (animation.getCurrentStrip().equals("run"))
+            if (animation.getCurrentClip() == runClip)
                 return true;
             else
                 return false;
         }
 
-        if(animation.getCurrentStrip().equals("crouch")) {
+        if(animation.getCurrentClip() == crouchClip) {
             if(fixData.equals(crouchFixture.getUserData()))
                 return true;
-        } else if (animation.getCurrentStrip().equals("run")){
+        } else if (animation.getCurrentClip() == runClip){
             if(fixData.equals(runningFixture.getUserData()))
                 return true;
         } else if (fixData.equals(playerFixture.getUserData())) {
@@ -592,6 +612,7 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
         sensorDef.isSensor = true;
         sensorShape = new PolygonShape();
         sensorShape.setAsBox(PLAYER_SSHRINK*super.getWidth()/2.0f, SENSOR_HEIGHT, sensorCenter, 0.0f);
+        copyFilter(sensorDef);
         sensorDef.shape = sensorShape;
 
         sensorFixture = body.createFixture(sensorDef);
@@ -610,6 +631,7 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
         playerDef.friction = PLAYER_FRICTION;
         playerShape = new PolygonShape();
         playerShape.set(defaultBox);
+        copyFilter(playerDef);
         playerDef.shape = playerShape;
 
         playerFixture = body.createFixture(playerDef);
@@ -620,6 +642,7 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
         crouchDef.friction = PLAYER_FRICTION;
         crouchShape = new PolygonShape();
         crouchShape.set(crouchingBox);
+        copyFilter(crouchDef);
         crouchDef.shape = crouchShape;
 
         crouchFixture = body.createFixture(crouchDef);
@@ -630,6 +653,7 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
         runningDef.friction = PLAYER_FRICTION;
         runningShape = new PolygonShape();
         runningShape.set(runningBox);
+        copyFilter(runningDef);
         runningDef.shape = runningShape;
 
         runningFixture = body.createFixture(runningDef);
@@ -638,6 +662,18 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
         return true;
     }
 
+    /**
+     * Gives an extra fixture the same collision filter as the player body.
+     *
+     * @param def The definition of the fixture
+     */
+    private void copyFilter(FixtureDef def) {
+        Filter filter = getFilterData();
+        def.filter.categoryBits = filter.categoryBits;
+        def.filter.maskBits = filter.maskBits;
+        def.filter.groupIndex = filter.groupIndex;
+    }
+
     //TODO: find better solution for riding a bullet
     private PaintballModel ridingBullet = null;
     public void setRidingVX(PaintballModel b){
@@ -727,13 +763,16 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
     }
 
     @Override
-    public void applySettings() {
-        jumpForce = Sidebar.getValue("Jump Height");
-        knockbackForce = Sidebar.getValue("Knockback Force");
-        defaultKnockbackDuration = Sidebar.getValue("Knockback Duration");
-        knockbackStunDuration = Sidebar.getValue("Knockback Stun Duration");
-        knockbackFriction = 1-Sidebar.getValue("Knockback Friction");
-        maxSpeed = Sidebar.getValue("Player Speed");
+    public void applySettings(Settings.Snapshot settings) {
+        if (settings.getVersion() == appliedSettings)
+            return;
+        appliedSettings = settings.getVersion();
+        jumpForce = settings.get(Settings.JUMP_HEIGHT);
+        knockbackForce = settings.get(Settings.KNOCKBACK_FORCE);
+        defaultKnockbackDuration = settings.get(Settings.KNOCKBACK_DURATION);
+        knockbackStunDuration = settings.get(Settings.KNOCKBACK_STUN_DURATION);
+        knockbackFriction = 1-settings.get(Settings.KNOCKBACK_FRICTION);
+        maxSpeed = settings.get(Settings.PLAYER_SPEED);
     }
 
     /**
@@ -778,7 +817,6 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
             ridingBullet=null;
 
         super.update(dt);
-        animation.update(dt);
     }
 
     /**
@@ -792,9 +830,9 @@ public class PlayerModel extends PolygonObstacle implements Shooter, Settable, A
         drawColor.a = isGhosting() ? .6f : 1.0f;
 
         if (animation == null)
-            canvas.draw(texture,drawColor,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),effect,1.0f);
+            canvas.draw(texture,drawColor,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),effect,1.0f);
         else
-            canvas.draw(animation.getTextureRegion(),drawColor,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),effect,1.0f);
+            canvas.draw(animation.getTextureRegion(),drawColor,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),effect,1.0f);
     }
 
     /**
@@ -1,6 +1,7 @@
 package edu.cornell.gdiac.game.entity.models;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.game.GameCanvas;
 import edu.cornell.gdiac.util.obstacles.BoxObstacle;
 
@@ -31,6 +32,7 @@ public class SplattererModel extends BoxObstacle {
         setBodyType(BodyDef.BodyType.StaticBody);
         setFixedRotation(true);
         setName("splatterer");
+        setEntityType(Constants.TYPE_SPLATTERER);
 
         this.used = false;
         this.usedCooldown = 0;
@@ -1,6 +1,7 @@
 package edu.cornell.gdiac.game.entity.models;
 
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.util.obstacles.PolygonObstacle;
 
 /**
@@ -35,6 +36,7 @@ public class WallModel extends PolygonObstacle {
         setFriction(BASIC_FRICTION);
         setRestitution(BASIC_RESTITUTION);
         setName("wall");
+        setEntityType(Constants.TYPE_WALL);
     }
 
     public float[] getPoints(){
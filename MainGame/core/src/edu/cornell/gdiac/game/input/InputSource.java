@@ -0,0 +1,31 @@
+/*
+ * InputSource.java
+ *
+ * The input controllers ask this interface whether a key is down instead of
+ * asking Gdx.input directly.  Normally the answer comes from the keyboard, but
+ * a script can answer instead, which lets the game run without a window.
+ */
+package edu.cornell.gdiac.game.input;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * A source of key states for the input controllers.
+ */
+public interface InputSource {
+    /** Reads the keys from the keyboard */
+    InputSource KEYBOARD = new InputSource() {
+        public boolean isKeyPressed(int key) {
+            return Gdx.input.isKeyPressed(key);
+        }
+    };
+
+    /**
+     * Returns true if the given key is held down
+     *
+     * @param key The key code (see Input.Keys)
+     *
+     * @return true if the given key is held down
+     */
+    boolean isKeyPressed(int key);
+}
@@ -36,11 +36,15 @@ public class MainInputController {
     private boolean debugPressed;
     private boolean pausePressed;
     private boolean exitPressed;
+    private boolean profilePressed;
+    private boolean tracePressed;
 
     private boolean resetPrevious;
     private boolean debugPrevious;
     private boolean pausePrevious;
     private boolean exitPrevious;
+    private boolean profilePrevious;
+    private boolean tracePrevious;
 
     /**
      * Creates a new input controller
@@ -60,6 +64,12 @@ public class MainInputController {
     public boolean didExit() {
         return exitPressed && !exitPrevious;
     }
+    public boolean didProfile() {
+        return profilePressed && !profilePrevious;
+    }
+    public boolean didTrace() {
+        return tracePressed && !tracePrevious;
+    }
     // END: Getters and Setters
 
     /**
@@ -73,6 +83,8 @@ public class MainInputController {
         debugPrevious  = debugPressed;
         pausePrevious  = pausePressed;
         exitPrevious = exitPressed;
+        profilePrevious = profilePressed;
+        tracePrevious = tracePressed;
 
         readKeyboard(false);
     }
@@ -91,5 +103,7 @@ public class MainInputController {
                 && Gdx.input.isKeyPressed(Input.Keys.B) && Gdx.input.isKeyPressed(Input.Keys.U)
                 && Gdx.input.isKeyPressed(Input.Keys.G));
         pausePressed = (secondary && debugPressed) || (Gdx.input.isKeyPressed(Input.Keys.P));
+        profilePressed = Gdx.input.isKeyPressed(Input.Keys.F3);
+        tracePressed = Gdx.input.isKeyPressed(Input.Keys.F4);
     }
 }
\ No newline at end of file
@@ -10,7 +10,6 @@
  */
 package edu.cornell.gdiac.game.input;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 
 /**
@@ -49,6 +48,9 @@ public class PlayerInputController {
     /** How much did we move vertically? */
     private float vertical;
 
+    /** Where the key states come from */
+    private InputSource source = InputSource.KEYBOARD;
+
     /**
      * Creates a new input controller
      */
@@ -66,6 +68,17 @@ public class PlayerInputController {
     }
     public boolean didJump() { return jumpPressed && !jumpPrevious; }
     public boolean didStopJump() { return jumpReleased; }
+    /**
+     * Sets where the key states come from.
+     *
+     * By default they are read from the keyboard. A scripted source lets the
+     * player be driven without a window (see HeadlessRunner).
+     *
+     * @param source the new source of key states
+     */
+    public void setSource(InputSource source) {
+        this.source = source;
+    }
     public boolean anyKeyPressed(){ return didShoot() || didJump() || didDown() || didUp() ||getHorizontal()!=0 || getVertical()!= 0;}
     /**
      * Returns the amount of sideways movement.
@@ -110,7 +123,7 @@ public class PlayerInputController {
      *
      */
     public boolean isDownHeld(){
-        return (Gdx.input.isKeyPressed(Input.Keys.DOWN));
+        return (source.isKeyPressed(Input.Keys.DOWN));
     }
     /**
      * Reads input from the keyboard.
@@ -119,26 +132,26 @@ public class PlayerInputController {
      */
     private void readKeyboard(boolean secondary) {
         // Give priority to gamepad results
-        upPressed  = (secondary && upPressed) || (Gdx.input.isKeyPressed(Input.Keys.UP));
-        downPressed  = (secondary && downPressed) || (Gdx.input.isKeyPressed(Input.Keys.DOWN));
-        shootPressed = (secondary && shootPressed) || (Gdx.input.isKeyPressed(Input.Keys.Z) || (Gdx.input.isKeyPressed(Input.Keys.SPACE)));
-        jumpPressed = (secondary && jumpPressed) || (Gdx.input.isKeyPressed(Input.Keys.X) || upPressed);
+        upPressed  = (secondary && upPressed) || (source.isKeyPressed(Input.Keys.UP));
+        downPressed  = (secondary && downPressed) || (source.isKeyPressed(Input.Keys.DOWN));
+        shootPressed = (secondary && shootPressed) || (source.isKeyPressed(Input.Keys.Z) || (source.isKeyPressed(Input.Keys.SPACE)));
+        jumpPressed = (secondary && jumpPressed) || (source.isKeyPressed(Input.Keys.X) || upPressed);
         jumpReleased = (!jumpPressed && jumpPrevious);
 
         // Directional controls
         horizontal = (secondary ? horizontal : 0.0f);
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+        if (source.isKeyPressed(Input.Keys.RIGHT)) {
             horizontal += 1.0f;
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+        if (source.isKeyPressed(Input.Keys.LEFT)) {
             horizontal -= 1.0f;
         }
 
         vertical = (secondary ? vertical : 0.0f);
-        if (Gdx.input.isKeyPressed(Input.Keys.UP)) {
+        if (source.isKeyPressed(Input.Keys.UP)) {
             vertical += 1.0f;
         }
-        if (Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
+        if (source.isKeyPressed(Input.Keys.DOWN)) {
             vertical -= 1.0f;
         }
 
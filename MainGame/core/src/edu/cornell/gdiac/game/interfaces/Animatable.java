@@ -4,6 +4,11 @@ import edu.cornell.gdiac.util.Animation;
 
 /**
  * Created by Lu on 4/5/2017.
+ *
+ * An entity that draws itself from an animation.
+ *
+ * The entity does not advance the animation itself, since it may share it with
+ * others. GameMode registers it with an AnimationClock when the entity is added.
  */
 public interface Animatable {
     /**
@@ -0,0 +1,40 @@
+package edu.cornell.gdiac.game.interfaces;
+
+/**
+ * Receives the records of a level as they are read from a level file.
+ *
+ * Parsers call these in file order, so a listener never needs the whole
+ * document in memory.
+ */
+public interface LevelListener {
+    /**
+     * Receives a piece of level geometry.
+     *
+     * @param layer The geometry layer (see LevelData)
+     * @param verts The vertices in physics units
+     *
+     * @return true if the geometry was kept
+     */
+    boolean addGeometry(int layer, float[] verts);
+
+    /** Receives the starting position of the player */
+    void setPlayer(float x, float y);
+
+    /** Receives the position of the target */
+    void setTarget(float x, float y);
+
+    /** Receives the ammo the player starts the level with */
+    void setStartingAmmo(int value);
+
+    /** Receives an enemy */
+    void addEnemy(float x, float y, boolean isFacingRight, boolean onSight, int interval, String enemyType);
+
+    /** Receives an ammo depot */
+    void addAmmoDepot(float x, float y, int amount);
+
+    /** Receives a splatterer */
+    void addSplatterer(float x, float y);
+
+    /** Receives a background object (like tutorial text) */
+    void addBackgroundObject(String path, float x, float y);
+}
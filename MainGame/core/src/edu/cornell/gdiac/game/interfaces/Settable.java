@@ -1,11 +1,18 @@
 package edu.cornell.gdiac.game.interfaces;
 
+import edu.cornell.gdiac.util.sidebar.Settings;
+
 /**
  * Created by Lu on 3/19/2017.
  */
 public interface Settable {
     /**
      * For classes that have parameters than can be changed with settings
+     *
+     * Implementations remember the version of the snapshot they last applied and
+     * return right away if it has not changed.
+     *
+     * @param settings  The current settings
      */
-    void applySettings();
+    void applySettings(Settings.Snapshot settings);
 }
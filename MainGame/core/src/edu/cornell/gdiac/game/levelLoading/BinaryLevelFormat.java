@@ -0,0 +1,194 @@
+package edu.cornell.gdiac.game.levelLoading;
+
+import com.badlogic.gdx.math.Vector2;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+/**
+ * The compact binary level format.
+ *
+ * A binary level holds exactly what LevelData holds, so loading one skips JSON
+ * parsing entirely. All values are big-endian. The layout is
+ *  - header: magic, version, tile width/height, starting ammo, player x/y, target x/y
+ *  - string table: count, then (length, UTF-8 bytes) per string
+ *  - geometry: for each LevelData layer, an array count, then (float count, floats) per array
+ *  - enemies: count, then (x, y, flags, interval, type string id) per enemy
+ *  - ammo depots: count, then (x, y, amount) per depot
+ *  - splatterers: count, then (x, y) per splatterer
+ *  - background objects: count, then (x, y, path string id) per object
+ *
+ * Positions are stored in physics units, so a file is only valid for the tile
+ * size it was written with. read rejects a file whose tile size does not match
+ * the level data, and the caller falls back to the json level.
+ */
+public class BinaryLevelFormat {
+    /** File extension of binary levels, used in place of .json */
+    public static final String EXTENSION = ".lvl";
+    /** Marks the start of a binary level ("LVL" followed by a zero byte) */
+    private static final int MAGIC = 0x4C564C00;
+    /** Bumped whenever the layout changes, so stale files are rejected */
+    private static final int VERSION = 2;
+
+    /** Enemy flag bits */
+    private static final int FLAG_FACING_RIGHT = 1;
+    private static final int FLAG_ON_SIGHT = 2;
+
+    /**
+     * Returns the path of the binary level that belongs to a json level.
+     *
+     * @param jsonFile path of the json level
+     * @return path of the binary level
+     */
+    public static String getBinaryPath(String jsonFile) {
+        int dot = jsonFile.lastIndexOf('.');
+        return (dot < 0 ? jsonFile : jsonFile.substring(0, dot)) + EXTENSION;
+    }
+
+    /**
+     * Writes a level in the binary format.
+     *
+     * @param level The level to write
+     * @param out   The stream to write to. It is not closed.
+     */
+    public static void write(LevelData level, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeFloat(level.getTileWidth());
+        data.writeFloat(level.getTileHeight());
+        data.writeInt(level.getStartingAmmo());
+        data.writeFloat(level.getPlayer().x);
+        data.writeFloat(level.getPlayer().y);
+        data.writeFloat(level.getTarget().x);
+        data.writeFloat(level.getTarget().y);
+
+        ArrayList<String> strings = new ArrayList<String>();
+        for (LevelData.EnemyData enemy : level.getEnemies())
+            if (!strings.contains(enemy.enemyType))
+                strings.add(enemy.enemyType);
+        for (LevelData.BackgroundObjectData bg : level.getBackgroundObjects())
+            if (!strings.contains(bg.path))
+                strings.add(bg.path);
+        data.writeInt(strings.size());
+        for (String s : strings) {
+            byte[] bytes = s.getBytes("UTF-8");
+            data.writeShort(bytes.length);
+            data.write(bytes);
+        }
+
+        for (int layer = 0; layer < LevelData.LAYER_COUNT; layer++) {
+            ArrayList<float[]> geometry = level.getGeometry(layer);
+            data.writeInt(geometry.size());
+            for (float[] verts : geometry) {
+                data.writeShort(verts.length);
+                for (float v : verts)
+                    data.writeFloat(v);
+            }
+        }
+
+        data.writeInt(level.getEnemies().size());
+        for (LevelData.EnemyData enemy : level.getEnemies()) {
+            data.writeFloat(enemy.x);
+            data.writeFloat(enemy.y);
+            data.writeByte((enemy.isFacingRight ? FLAG_FACING_RIGHT : 0) | (enemy.onSight ? FLAG_ON_SIGHT : 0));
+            data.writeInt(enemy.interval);
+            data.writeShort(strings.indexOf(enemy.enemyType));
+        }
+
+        data.writeInt(level.getAmmoDepots().size());
+        for (LevelData.AmmoDepotData depot : level.getAmmoDepots()) {
+            data.writeFloat(depot.x);
+            data.writeFloat(depot.y);
+            data.writeInt(depot.amount);
+        }
+
+        data.writeInt(level.getSplatterers().size());
+        for (Vector2 splat : level.getSplatterers()) {
+            data.writeFloat(splat.x);
+            data.writeFloat(splat.y);
+        }
+
+        data.writeInt(level.getBackgroundObjects().size());
+        for (LevelData.BackgroundObjectData bg : level.getBackgroundObjects()) {
+            data.writeFloat(bg.x);
+            data.writeFloat(bg.y);
+            data.writeShort(strings.indexOf(bg.path));
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a binary level into the given level data.
+     *
+     * The level data is expected to be empty, and to have the tile size the
+     * level should be read at.
+     *
+     * @param buffer The buffer holding the level, positioned at its start
+     * @param level  The level data to fill
+     *
+     * @return false if the buffer does not hold a binary level of this version and tile size
+     */
+    public static boolean read(ByteBuffer buffer, LevelData level) {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                return false;
+            if (buffer.getFloat() != level.getTileWidth() || buffer.getFloat() != level.getTileHeight())
+                return false;
+            level.setStartingAmmo(buffer.getInt());
+            level.setPlayer(buffer.getFloat(), buffer.getFloat());
+            level.setTarget(buffer.getFloat(), buffer.getFloat());
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[buffer.getShort()];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, "UTF-8");
+            }
+
+            for (int layer = 0; layer < LevelData.LAYER_COUNT; layer++) {
+                int count = buffer.getInt();
+                for (int i = 0; i < count; i++) {
+                    float[] verts = new float[buffer.getShort()];
+                    for (int j = 0; j < verts.length; j++)
+                        verts[j] = buffer.getFloat();
+                    level.addGeometry(layer, verts);
+                }
+            }
+
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                float x = buffer.getFloat();
+                float y = buffer.getFloat();
+                int flags = buffer.get();
+                int interval = buffer.getInt();
+                level.addEnemy(x, y, (flags & FLAG_FACING_RIGHT) != 0, (flags & FLAG_ON_SIGHT) != 0,
+                        interval, strings[buffer.getShort()]);
+            }
+
+            count = buffer.getInt();
+            for (int i = 0; i < count; i++)
+                level.addAmmoDepot(buffer.getFloat(), buffer.getFloat(), buffer.getInt());
+
+            count = buffer.getInt();
+            for (int i = 0; i < count; i++)
+                level.addSplatterer(buffer.getFloat(), buffer.getFloat());
+
+            count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                float x = buffer.getFloat();
+                float y = buffer.getFloat();
+                level.addBackgroundObject(strings[buffer.getShort()], x, y);
+            }
+            return true;
+        } catch (BufferUnderflowException e) {
+            return false;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
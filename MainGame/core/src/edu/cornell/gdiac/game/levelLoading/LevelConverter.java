@@ -0,0 +1,47 @@
+package edu.cornell.gdiac.game.levelLoading;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import edu.cornell.gdiac.game.Constants;
+import edu.cornell.gdiac.game.modes.GameMode;
+import edu.cornell.gdiac.util.FileReaderWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Converts every level listed in the levels directory to the binary level format.
+ *
+ * This is run at build time by the convertLevels Gradle task, with the assets
+ * folder as its working directory. It does not need a running application.
+ */
+public class LevelConverter {
+    /** Physics units across the world, matching the level bounds in LevelLoader */
+    private static final float WORLD_UNITS = 32.0f;
+
+    public static void main(String[] args) throws Exception {
+        File root = new File(args.length > 0 ? args[0] : ".");
+        String[] levels = new JsonReader().parse(new FileHandle(new File(root, FileReaderWriter.JSON_LEVELS)))
+                .get("levels").asStringArray();
+
+        float tile = Constants.DEFAULT_GRID/(GameMode.WORLD_WIDTH/WORLD_UNITS);
+        LevelParser parser = new LevelParser(tile, tile);
+        for (String level : levels) {
+            File json = new File(root, level);
+            File binary = new File(root, BinaryLevelFormat.getBinaryPath(level));
+
+            parser.getLevel().clear();
+            parser.parseJson(new FileHandle(json));
+            OutputStream out = new BufferedOutputStream(new FileOutputStream(binary));
+            try {
+                BinaryLevelFormat.write(parser.getLevel(), out);
+            } finally {
+                out.close();
+            }
+            System.out.println("Converted " + level + " (" + json.length() + " bytes) to " +
+                    binary.getName() + " (" + binary.length() + " bytes)");
+        }
+    }
+}
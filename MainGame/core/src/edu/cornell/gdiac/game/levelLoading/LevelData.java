@@ -0,0 +1,255 @@
+package edu.cornell.gdiac.game.levelLoading;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.LongMap;
+import edu.cornell.gdiac.game.interfaces.LevelListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * The normalized contents of a single level.
+ *
+ * Geometry is split into layers (platforms, each spike direction, walls) and
+ * deduplicated as it is added, so byte-identical vertex arrays in a level file
+ * only ever produce one obstacle. Platforms are also indexed by tile coordinates,
+ * which makes neighbour queries for tile selection O(1) lookups that allocate nothing.
+ */
+public class LevelData implements LevelListener {
+    /** Geometry layers */
+    public static final int PLATFORMS = 0;
+    public static final int SPIKES_LEFT = 1;
+    public static final int SPIKES_RIGHT = 2;
+    public static final int SPIKES_UP = 3;
+    public static final int SPIKES_DOWN = 4;
+    public static final int WALLS = 5;
+    public static final int LAYER_COUNT = 6;
+
+    /** Vertex arrays of each geometry layer, in file order */
+    private ArrayList<ArrayList<float[]>> layers;
+    /** Vertex arrays already seen in each geometry layer */
+    private ArrayList<HashSet<VertexKey>> seen;
+    /** Platform vertices keyed by packed tile coordinates */
+    private LongMap<float[]> platformGrid;
+    /** Size of a tile in physics units */
+    private float tileWidth, tileHeight;
+
+    /** Entities */
+    private Vector2 player;
+    private Vector2 target;
+    private ArrayList<EnemyData> enemies;
+    private ArrayList<AmmoDepotData> ammoDepots;
+    private ArrayList<Vector2> splatterers;
+    private ArrayList<BackgroundObjectData> backgroundObjects;
+    private int startingAmmo;
+
+    /** Data for a single enemy */
+    public static class EnemyData {
+        public float x, y;
+        public boolean isFacingRight;
+        public boolean onSight;
+        public int interval;
+        public String enemyType;
+    }
+
+    /** Data for a single ammo depot */
+    public static class AmmoDepotData {
+        public float x, y;
+        public int amount;
+    }
+
+    /** Data for a single background object (like tutorial text) */
+    public static class BackgroundObjectData {
+        public float x, y;
+        public String path;
+    }
+
+    /** Wraps a vertex array so that identical arrays hash and compare equal */
+    private static class VertexKey {
+        private final float[] verts;
+        private final int hash;
+
+        VertexKey(float[] verts) {
+            this.verts = verts;
+            this.hash = Arrays.hashCode(verts);
+        }
+
+        @Override
+        public int hashCode() { return hash; }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof VertexKey && Arrays.equals(verts, ((VertexKey) o).verts);
+        }
+    }
+
+    /**
+     * Creates an empty level.
+     *
+     * @param tileWidth  Width of a tile in physics units
+     * @param tileHeight Height of a tile in physics units
+     */
+    public LevelData(float tileWidth, float tileHeight) {
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        layers = new ArrayList<ArrayList<float[]>>(LAYER_COUNT);
+        seen = new ArrayList<HashSet<VertexKey>>(LAYER_COUNT);
+        for (int i = 0; i < LAYER_COUNT; i++) {
+            layers.add(new ArrayList<float[]>());
+            seen.add(new HashSet<VertexKey>());
+        }
+        platformGrid = new LongMap<float[]>();
+        player = new Vector2();
+        target = new Vector2();
+        enemies = new ArrayList<EnemyData>();
+        ammoDepots = new ArrayList<AmmoDepotData>();
+        splatterers = new ArrayList<Vector2>();
+        backgroundObjects = new ArrayList<BackgroundObjectData>();
+    }
+
+    /** Empties the level so that it can be filled again */
+    public void clear() {
+        for (int i = 0; i < LAYER_COUNT; i++) {
+            layers.get(i).clear();
+            seen.get(i).clear();
+        }
+        platformGrid.clear();
+        player.setZero();
+        target.setZero();
+        enemies.clear();
+        ammoDepots.clear();
+        splatterers.clear();
+        backgroundObjects.clear();
+        startingAmmo = 0;
+    }
+
+    /**
+     * Replaces the entities of this level with those of another level.
+     *
+     * Geometry is not copied. Entity records are never changed after they are
+     * added, so they are shared rather than cloned.
+     *
+     * @param other The level to copy the entities of
+     */
+    public void copyEntities(LevelData other) {
+        player.set(other.player);
+        target.set(other.target);
+        startingAmmo = other.startingAmmo;
+        enemies.clear();
+        enemies.addAll(other.enemies);
+        ammoDepots.clear();
+        ammoDepots.addAll(other.ammoDepots);
+        splatterers.clear();
+        splatterers.addAll(other.splatterers);
+    }
+
+    // BEGIN: Building
+    /**
+     * Adds a vertex array to a geometry layer unless an identical one is already there.
+     *
+     * A platform is also dropped if its tile is already taken by another platform.
+     *
+     * @param layer The geometry layer (PLATFORMS, SPIKES_*, WALLS)
+     * @param verts The vertices in physics units
+     *
+     * @return true if the vertices were added
+     */
+    @Override
+    public boolean addGeometry(int layer, float[] verts) {
+        if (!seen.get(layer).add(new VertexKey(verts)))
+            return false;
+
+        if (layer == PLATFORMS) {
+            long key = packCell(getCellX(verts), getCellY(verts));
+            if (platformGrid.containsKey(key))
+                return false;
+            platformGrid.put(key, verts);
+        }
+        layers.get(layer).add(verts);
+        return true;
+    }
+
+    @Override
+    public void setPlayer(float x, float y) { player.set(x, y); }
+
+    @Override
+    public void setTarget(float x, float y) { target.set(x, y); }
+
+    @Override
+    public void setStartingAmmo(int value) { startingAmmo = value; }
+
+    @Override
+    public void addEnemy(float x, float y, boolean isFacingRight, boolean onSight, int interval, String enemyType) {
+        EnemyData enemy = new EnemyData();
+        enemy.x = x;
+        enemy.y = y;
+        enemy.isFacingRight = isFacingRight;
+        enemy.onSight = onSight;
+        enemy.interval = interval;
+        enemy.enemyType = enemyType;
+        enemies.add(enemy);
+    }
+
+    @Override
+    public void addAmmoDepot(float x, float y, int amount) {
+        AmmoDepotData depot = new AmmoDepotData();
+        depot.x = x;
+        depot.y = y;
+        depot.amount = amount;
+        ammoDepots.add(depot);
+    }
+
+    @Override
+    public void addSplatterer(float x, float y) { splatterers.add(new Vector2(x, y)); }
+
+    @Override
+    public void addBackgroundObject(String path, float x, float y) {
+        BackgroundObjectData bg = new BackgroundObjectData();
+        bg.path = path;
+        bg.x = x;
+        bg.y = y;
+        backgroundObjects.add(bg);
+    }
+    // END: Building
+
+    // BEGIN: Setters and Getters
+    /** Returns the vertex arrays of a geometry layer. These must not be modified. */
+    public ArrayList<float[]> getGeometry(int layer) { return layers.get(layer); }
+
+    /** Returns the tile column of a platform */
+    public int getCellX(float[] verts) { return (int) Math.floor(verts[0] / tileWidth); }
+
+    /** Returns the tile row of a platform */
+    public int getCellY(float[] verts) { return (int) Math.floor(verts[1] / tileHeight); }
+
+    /** Returns true if there is a platform at the given tile */
+    public boolean hasPlatform(int cellX, int cellY) { return platformGrid.containsKey(packCell(cellX, cellY)); }
+
+    /** Returns the platform vertices at the given tile, or null if there is none */
+    public float[] getPlatform(int cellX, int cellY) { return platformGrid.get(packCell(cellX, cellY)); }
+
+    public float getTileWidth() { return tileWidth; }
+
+    public float getTileHeight() { return tileHeight; }
+
+    public Vector2 getPlayer() { return player; }
+
+    public Vector2 getTarget() { return target; }
+
+    public int getStartingAmmo() { return startingAmmo; }
+
+    public ArrayList<EnemyData> getEnemies() { return enemies; }
+
+    public ArrayList<AmmoDepotData> getAmmoDepots() { return ammoDepots; }
+
+    public ArrayList<Vector2> getSplatterers() { return splatterers; }
+
+    public ArrayList<BackgroundObjectData> getBackgroundObjects() { return backgroundObjects; }
+    // END: Setters and Getters
+
+    /** Packs a pair of tile coordinates into a single grid key */
+    private static long packCell(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+}
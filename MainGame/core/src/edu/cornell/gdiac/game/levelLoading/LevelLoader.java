@@ -1,21 +1,25 @@
 package edu.cornell.gdiac.game.levelLoading;
 
-import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IdentityMap;
 import edu.cornell.gdiac.game.Constants;
+import edu.cornell.gdiac.game.entity.controllers.CollisionController;
 import edu.cornell.gdiac.game.entity.models.*;
 import edu.cornell.gdiac.game.interfaces.AssetUser;
 import edu.cornell.gdiac.util.Animation;
 import edu.cornell.gdiac.util.AssetRetriever;
+import edu.cornell.gdiac.util.ClipSet;
 import edu.cornell.gdiac.util.PooledList;
 import edu.cornell.gdiac.util.obstacles.BoxObstacle;
 import edu.cornell.gdiac.util.obstacles.Obstacle;
 import edu.cornell.gdiac.util.obstacles.PolygonObstacle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 
 
@@ -47,26 +51,37 @@ public class LevelLoader implements AssetUser, Disposable{
     private HashMap<String, TextureRegion> backgroundRegions;
     /** Animations */
     private Animation playerAnimation;
-    private Animation enemyOnsightAnimation;
-    private Animation enemyIntervalAnimation;
+    /** Enemy clips. Every enemy gets its own animation playing the clips of its type. */
+    private ClipSet enemyIntervalClips;
+    private ClipSet enemyOnsightClips;
     private Animation spikeAnimation;
+    /** The first frame of the spikes, which the spikes are built with */
+    private TextureRegion spikeTexture;
     private Animation goalAnimation;
     /** Bounds of the window*/
     private Rectangle bounds;
     /** Queue for adding objects */
     private PooledList<Obstacle> addQueue = new PooledList<Obstacle>();
+    /** Ammo the player starts the loaded level with */
+    private int startingAmmo;
+    /** Entities of the loaded level, used to restart it */
+    private LevelData snapshot;
     /** LevelParser object we get object data from*/
     private LevelParser levelParser;
+    /** Prepares levels on a worker thread ahead of time */
+    private LevelPreloader preloader;
     /** LevelParser scale at which everything is drawn*/
     private Vector2 scale;
 
     private AssetManager manager;
+    /** Whether adjacent platform tiles are merged into combined bodies */
+    private boolean mergePlatforms = true;
 
     /** Constructor that specifies scale.
      * @param scale Scale at which the level is drawn*/
     public LevelLoader(Vector2 scale, AssetManager manager){
         this.scale = scale;
-        levelParser = new LevelParser();
+        levelParser = createParser();
         backgroundRegions = new HashMap<String, TextureRegion>();
         platformBlockTiles = new TextureRegion[PLATFORM_BLOCKS_NUMBER];
         this.manager = manager;
@@ -75,35 +90,148 @@ public class LevelLoader implements AssetUser, Disposable{
     // BEGIN: Setters and Getters
     public Rectangle getBounds(){ return bounds; }
     public PooledList<Obstacle> getAddQueue(){ return addQueue; }
-    public int getStartingAmmo(){ return levelParser.getStartingAmmo(); }
+    public int getStartingAmmo(){ return startingAmmo; }
+    /** Sets whether adjacent platform tiles are merged (the level editor needs them separate) */
+    public void setMergePlatforms(boolean value){ mergePlatforms = value; }
     // END: Setters and Getters
 
+    /** A level whose obstacles have been built but not yet added to a world */
+    public static class PreparedLevel {
+        /** The level file this was built from */
+        public String file;
+        /** Every obstacle of the level, in insertion order */
+        public PooledList<Obstacle> objects = new PooledList<Obstacle>();
+        /** Bounds of the level */
+        public Rectangle bounds;
+        /** Ammo the player starts with */
+        public int startingAmmo;
+        /** The entities of the level as loaded, for restarting it */
+        public LevelData entities;
+    }
+
     /**
      * loads the level based on the json file.
+     *
+     * If the level was preloaded, the prepared obstacles are used (waiting for the
+     * worker if it is still busy with them). Otherwise the level is built right here.
+     * Any other preloaded level is thrown away, since it was not the one needed.
      */
     public void loadLevel(String JSONFile){
+        PreparedLevel level = null;
+        if (preloader != null) {
+            preloader.retain(JSONFile);
+            level = preloader.take(JSONFile);
+        }
+        if (level == null)
+            level = prepareLevel(JSONFile, levelParser);
+
         // reset queue of objects
         addQueue.clear();
+        for (Obstacle obj : level.objects)
+            addQueue.add(obj);
         //sets the new world bounds
-        bounds = new Rectangle(0,0,32,18*3);
-        levelParser.loadLevel(JSONFile);
-        populateLevel();
+        bounds = level.bounds;
+        startingAmmo = level.startingAmmo;
+        snapshot = level.entities;
+    }
+
+    /**
+     * Queues fresh copies of the entities of the loaded level.
+     *
+     * The level geometry is static and never changed by play, so a restart can keep
+     * it in the world and only rebuild the entities from the snapshot taken when the
+     * level was loaded. The caller must remove the old entities (see isLevelGeometry).
+     *
+     * @return false if no level has been loaded yet
+     */
+    public boolean restartLevel(){
+        if (snapshot == null)
+            return false;
+        addQueue.clear();
+        populateEntities(snapshot, addQueue);
+        applyCollisionFilters(addQueue);
+        startingAmmo = snapshot.getStartingAmmo();
+        return true;
+    }
+
+    /**
+     * Returns true if the object is part of the level geometry, which is kept
+     * across restarts. Everything else is an entity and is rebuilt on restart.
+     */
+    public static boolean isLevelGeometry(Obstacle obj){
+        String name = obj.getName();
+        return name.equals("platform") || name.equals("wall") || name.equals("background") || name.equals("bgObject");
+    }
+
+    /**
+     * Starts building a level on the worker thread, so that a later loadLevel
+     * call for it only has to hand over the obstacles.
+     *
+     * Must be called after loadContent, since the obstacles use the loaded textures.
+     */
+    public void preloadLevel(String JSONFile){
+        if (preloader == null)
+            preloader = new LevelPreloader(this, createParser());
+        preloader.preload(JSONFile);
+    }
+
+    /**
+     * Parses a level and builds all of its obstacles without touching a world.
+     *
+     * This makes no OpenGL or Box2D world calls, so it is safe to run off the
+     * rendering thread as long as each thread uses its own parser.
+     *
+     * @param JSONFile  The level file
+     * @param parser    The parser to read the file with
+     *
+     * @return the built level
+     */
+    PreparedLevel prepareLevel(String JSONFile, LevelParser parser){
+        parser.loadLevel(JSONFile);
+        PreparedLevel prepared = new PreparedLevel();
+        prepared.file = JSONFile;
+        prepared.bounds = new Rectangle(0,0,32,18*3);
+        prepared.startingAmmo = parser.getStartingAmmo();
+        prepared.entities = new LevelData(parser.getLevel().getTileWidth(), parser.getLevel().getTileHeight());
+        prepared.entities.copyEntities(parser.getLevel());
+        populateLevel(parser.getLevel(), prepared.objects);
+        applyCollisionFilters(prepared.objects);
+        return prepared;
+    }
+
+    /** Returns a new parser for levels drawn at this loader's scale */
+    LevelParser createParser(){
+        return new LevelParser(Constants.DEFAULT_GRID/scale.x, Constants.DEFAULT_GRID/scale.y);
     }
 
     /**
      * Lays out the game geography.
      */
-    private void populateLevel() {
-        addBackground();
-        addBackgroundObjects();
-        addPlatforms();
-        addWalls();
-        addPlayer();
-        addEnemies();
-        addResources();
-        addTarget();
-        addSplatterers();
+    private void populateLevel(LevelData level, PooledList<Obstacle> queue) {
+        addBackground(queue);
+        addBackgroundObjects(level, queue);
+        addPlatforms(level, queue);
+        addWalls(level, queue);
+        populateEntities(level, queue);
+    }
 
+    /**
+     * Lays out everything in the level that can move or change during play.
+     */
+    private void populateEntities(LevelData level, PooledList<Obstacle> queue) {
+        addPlayer(level, queue);
+        addEnemies(level, queue);
+        addResources(level, queue);
+        addTarget(level, queue);
+        addSplatterers(level, queue);
+    }
+
+    /**
+     * Gives every queued obstacle the collision filter of its entity type.
+     */
+    private void applyCollisionFilters(PooledList<Obstacle> queue) {
+        for (Obstacle obj : queue)
+            CollisionController.applyFilter(obj);
     }
 
     /**
@@ -123,343 +251,360 @@ public class LevelLoader implements AssetUser, Disposable{
     /**
      * Adds the background to the insertion queue
      */
-    public void addBackground() {
+    private void addBackground(PooledList<Obstacle> queue) {
         float dwidth = bgTile.getRegionWidth() / scale.x;
         float dheight = bgTile.getRegionHeight() / scale.y;
         BoxObstacle bg = new BackgroundModel(dwidth/2, dheight/2, dwidth * 10, dheight * 10);
         bg.setDrawScale(scale);
-        bgTile.getTexture().setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.Repeat);
         bg.setTexture(bgTile);
-        addQueuedObject(bg);
-    }
-
-    private float mod(float x,int n) {
-        return x>0 ? x % n : x % n + n;
+        queue.add(bg);
     }
 
     /**
      * Adds the platforms to the insertion queue
      */
-    public void addPlatforms(){
-        JsonValue platforms = levelParser.getPlatforms();
-        JsonValue dflt = platforms.get("default");
-        JsonValue.JsonIterator iter = dflt.iterator();
-        JsonValue vertices;
-        HashMap<Vector2,float[]> platformMap = new HashMap<Vector2, float[]>();
-        while (iter.hasNext()){
-            vertices = iter.next();
-            float[] verts = vertices.asFloatArray();
-            Vector2 vec = new Vector2(verts[0]*scale.x,verts[1]*scale.y);
-            vec.x = (int) (vec.x-mod(vec.x,Constants.DEFAULT_GRID))/Constants.DEFAULT_GRID;
-            vec.y = (int) (vec.y-mod(vec.y,Constants.DEFAULT_GRID))/Constants.DEFAULT_GRID;
-            platformMap.put(vec,verts);
-        }
-        Vector2 left = new Vector2();
-        Vector2 right = new Vector2();
-        Vector2 above = new Vector2();
-        Vector2 below = new Vector2();
-        for(Vector2 k : platformMap.keySet()) {
-            float[] verts = platformMap.get(k);
-            PolygonObstacle obj = new PlatformModel(verts, PlatformModel.NORMAL_PLATFORM);
-            obj.setDrawScale(scale);
-            left.set(k.x-1,k.y);
-            right.set(k.x+1,k.y);
-            above.set(k.x,k.y+1);
-            below.set(k.x,k.y-1);
+    private void addPlatforms(LevelData level, PooledList<Obstacle> queue){
+        ArrayList<float[]> tiles = level.getGeometry(LevelData.PLATFORMS);
+        IdentityMap<float[],TextureRegion> textureMap = new IdentityMap<float[], TextureRegion>(tiles.size());
+        for (float[] verts : tiles) {
+            int x = level.getCellX(verts);
+            int y = level.getCellY(verts);
 
             TextureRegion texture;
-            if(platformMap.containsKey(above) || platformMap.containsKey(below)) {
+            if(level.hasPlatform(x,y+1) || level.hasPlatform(x,y-1)) {
                 texture = platformBlockTiles[(int)(Math.random()*PLATFORM_BLOCKS_NUMBER)];
-            } else if(platformMap.containsKey(left) && platformMap.containsKey(right)) {
+            } else if(level.hasPlatform(x-1,y) && level.hasPlatform(x+1,y)) {
                 texture = platformCenterTile;
-            } else if(platformMap.containsKey(left)) {
+            } else if(level.hasPlatform(x-1,y)) {
                 texture = platformRightTile;
-            } else if(platformMap.containsKey(right)) {
+            } else if(level.hasPlatform(x+1,y)) {
                 texture = platformLeftTile;
             } else{
                 texture = platformSingleTile;
             }
-
-            obj.setTexture(texture);
-            addQueuedObject(obj);
+            textureMap.put(verts, texture);
         }
 
-        JsonValue spikes = platforms.get("spikes_left");
-        iter = spikes.iterator();
-        while (iter.hasNext()) {
-            vertices = iter.next();
-            PlatformModel obj = new PlatformModel(vertices.asFloatArray(), PlatformModel.SPIKE_LEFT_PLATFORM);
-            obj.setDrawScale(scale);
-            obj.setTexture(spikeAnimation.getTextureRegion());
-            obj.setAnimation(spikeAnimation);
-            addQueuedObject(obj);
+        if (mergePlatforms) {
+            mergePlatformTiles(level, textureMap, queue);
+        } else {
+            for (float[] verts : tiles) {
+                PolygonObstacle obj = new PlatformModel(verts, PlatformModel.NORMAL_PLATFORM);
+                obj.setDrawScale(scale);
+                obj.setTexture(textureMap.get(verts));
+                queue.add(obj);
+            }
         }
 
-        spikes = platforms.get("spikes_right");
-        iter = spikes.iterator();
-        while (iter.hasNext()) {
-            vertices = iter.next();
-            PlatformModel obj = new PlatformModel(vertices.asFloatArray(), PlatformModel.SPIKE_RIGHT_PLATFORM);
-            obj.setDrawScale(scale);
-            obj.setTexture(spikeAnimation.getTextureRegion());
-            obj.setAnimation(spikeAnimation);
-            addQueuedObject(obj);
-        }
+        addSpikes(level, LevelData.SPIKES_LEFT, PlatformModel.SPIKE_LEFT_PLATFORM, queue);
+        addSpikes(level, LevelData.SPIKES_RIGHT, PlatformModel.SPIKE_RIGHT_PLATFORM, queue);
+        addSpikes(level, LevelData.SPIKES_UP, PlatformModel.SPIKE_UP_PLATFORM, queue);
+        addSpikes(level, LevelData.SPIKES_DOWN, PlatformModel.SPIKE_DOWN_PLATFORM, queue);
+    }
 
-        spikes = platforms.get("spikes_up");
-        iter = spikes.iterator();
-        while (iter.hasNext()) {
-            vertices = iter.next();
-            PlatformModel obj = new PlatformModel(vertices.asFloatArray(), PlatformModel.SPIKE_UP_PLATFORM);
+    /**
+     * Adds the spikes of one direction to the insertion queue
+     *
+     * @param level The level data
+     * @param layer The geometry layer of the spikes
+     * @param type  The platform type of the spikes
+     * @param queue The queue to add the spikes to
+     */
+    private void addSpikes(LevelData level, int layer, int type, PooledList<Obstacle> queue) {
+        for (float[] verts : level.getGeometry(layer)) {
+            // Spikes shrink their vertices in place, so keep the level data intact
+            PlatformModel obj = new PlatformModel(verts.clone(), type);
             obj.setDrawScale(scale);
-            obj.setTexture(spikeAnimation.getTextureRegion());
+            obj.setTexture(spikeTexture);
             obj.setAnimation(spikeAnimation);
-            addQueuedObject(obj);
+            queue.add(obj);
         }
+    }
 
-        spikes = platforms.get("spikes_down");
-        iter = spikes.iterator();
-        while (iter.hasNext()) {
-            vertices = iter.next();
-            PlatformModel obj = new PlatformModel(vertices.asFloatArray(), PlatformModel.SPIKE_DOWN_PLATFORM);
+    /**
+     * Merges adjacent platform tiles into rectangles and queues one platform per rectangle.
+     *
+     * Tiles are swept bottom to top, left to right. Each unvisited tile grows into
+     * the longest horizontal run it can, and that run then grows upwards for as long
+     * as the row above is filled across the whole run. Every rectangle becomes a
+     * single static body, while the tiles inside it keep their own textures for drawing.
+     *
+     * @param level         The level data holding the tile grid
+     * @param textureMap    Tile textures keyed by tile vertices
+     * @param queue         The queue to add the platforms to
+     */
+    private void mergePlatformTiles(final LevelData level, IdentityMap<float[],TextureRegion> textureMap,
+                                    PooledList<Obstacle> queue) {
+        ArrayList<float[]> tiles = new ArrayList<float[]>(level.getGeometry(LevelData.PLATFORMS));
+        Collections.sort(tiles, new Comparator<float[]>() {
+            @Override
+            public int compare(float[] a, float[] b) {
+                int ay = level.getCellY(a), by = level.getCellY(b);
+                if (ay != by)
+                    return ay < by ? -1 : 1;
+                int ax = level.getCellX(a), bx = level.getCellX(b);
+                if (ax != bx)
+                    return ax < bx ? -1 : 1;
+                return 0;
+            }
+        });
+
+        IdentityMap<float[],Boolean> visited = new IdentityMap<float[], Boolean>(tiles.size());
+        for (float[] first : tiles) {
+            if (visited.containsKey(first))
+                continue;
+            int x = level.getCellX(first);
+            int y = level.getCellY(first);
+
+            // Grow to the right
+            int width = 1;
+            while (isFreeTile(level, visited, x+width, y))
+                width++;
+
+            // Grow upwards while the whole row above is free
+            int height = 1;
+            boolean rowFree = true;
+            while (rowFree) {
+                for (int i = 0; i < width && rowFree; i++)
+                    rowFree = isFreeTile(level, visited, x+i, y+height);
+                if (rowFree)
+                    height++;
+            }
+
+            float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+            float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+            float[] corners = new float[2*width*height];
+            TextureRegion[] textures = new TextureRegion[width*height];
+            int count = 0;
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    float[] verts = level.getPlatform(x+i, y+j);
+                    visited.put(verts, Boolean.TRUE);
+                    for (int v = 0; v < verts.length; v += 2) {
+                        minX = Math.min(minX, verts[v]);
+                        maxX = Math.max(maxX, verts[v]);
+                        minY = Math.min(minY, verts[v+1]);
+                        maxY = Math.max(maxY, verts[v+1]);
+                    }
+                    corners[2*count] = verts[6];
+                    corners[2*count+1] = verts[7];
+                    textures[count] = textureMap.get(verts);
+                    count++;
+                }
+            }
+
+            PlatformModel obj = new PlatformModel(new float[]{minX, maxY, maxX, maxY, maxX, minY, minX, minY},
+                    PlatformModel.NORMAL_PLATFORM);
             obj.setDrawScale(scale);
-            obj.setTexture(spikeAnimation.getTextureRegion());
-            obj.setAnimation(spikeAnimation);
-            addQueuedObject(obj);
+            obj.setTexture(textures[0]);
+            obj.setTiles(corners, textures);
+            queue.add(obj);
         }
     }
 
+    /**
+     * Returns true if there is a platform tile at the given tile coordinates that has not been merged yet.
+     */
+    private boolean isFreeTile(LevelData level, IdentityMap<float[],Boolean> visited, int x, int y) {
+        float[] verts = level.getPlatform(x, y);
+        return verts != null && !visited.containsKey(verts);
+    }
+
     /**
      * Adds the walls to the insertion queue
      */
-    public void addWalls(){
-        JsonValue walls = levelParser.getWalls();
-        JsonValue dflt = walls.get("default");
-        JsonValue.JsonIterator iter = dflt.iterator();
-        JsonValue vertices;
-        while (iter.hasNext()){
-            vertices = iter.next();
-            PolygonObstacle obj = new WallModel(vertices.asFloatArray());
+    private void addWalls(LevelData level, PooledList<Obstacle> queue){
+        for (float[] verts : level.getGeometry(LevelData.WALLS)) {
+            PolygonObstacle obj = new WallModel(verts);
             obj.setDrawScale(scale);
             obj.setTexture(wallTile);
-            addQueuedObject(obj);
+            queue.add(obj);
         }
     }
 
     /**
      * Adds the player to the insertion queue
      */
-    public void addPlayer(){
-        JsonValue playerData = levelParser.getPlayer();
-        PlayerModel player = new PlayerModel(playerData.get("x").asFloat(), playerData.get("y").asFloat(),
+    private void addPlayer(LevelData level, PooledList<Obstacle> queue){
+        Vector2 playerData = level.getPlayer();
+        PlayerModel player = new PlayerModel(playerData.x, playerData.y,
                 playerTexture.getRegionWidth() / scale.x, playerTexture.getRegionHeight() / scale.y);
         player.setDrawScale(scale);
         player.setTexture(playerTexture);
         player.setAnimation(playerAnimation);
-        addQueuedObject(player);
+        queue.add(player);
     }
 
     /**
      * Adds the enemies to the insertion queue. Currently handles on sight and interval shooters.
      */
-    public void addEnemies(){
-        float dwidth  = enemyIntervalTexture.getRegionWidth()/scale.x;
-        float dheight = enemyIntervalTexture.getRegionHeight()/scale.y;
-        JsonValue enemies = levelParser.getEnemies();
-
-        //add interval shooters
-        JsonValue interval = enemies.get("interval");
-        JsonValue.JsonIterator iter = interval.iterator();
-        JsonValue enemy;
-        while (iter.hasNext()){
-            enemy = iter.next();
-            EnemyModel obj = new EnemyModel(enemy.get("x").asInt(), enemy.get("y").asFloat(), dwidth, dheight,
-                    enemy.get("isFacingRight").asBoolean(), false, enemy.get("interval").asInt(),
-                    enemy.get("enemyType").asString());
-            obj.setDrawScale(scale);
-            obj.setTexture(enemyIntervalTexture);
-            obj.setAnimation(enemyIntervalAnimation);
-            addQueuedObject(obj);
-
-
-            enemyIntervalAnimation= new Animation();
-            enemyIntervalAnimation.addTexture("shoot", AssetRetriever.createTexture(manager, Constants.ENEMY_INTERVAL_SHOOT_FILE, false), 1,1);
-            enemyIntervalAnimation.addTexture("shooting", AssetRetriever.createTexture(manager, Constants.ENEMY_INTERVAL_SHOOTING_FILE, false), 1,10);
-            enemyIntervalAnimation.addTexture("spotted", AssetRetriever.createTexture(manager, Constants.ENEMY_SPOTTED_FILE, false), 1,1);
-            enemyIntervalAnimation.addTexture("still", enemyIntervalTexture.getTexture(), 1, 1);
-            enemyIntervalAnimation.setPlaying(false);
-            enemyIntervalAnimation.setPlayingAnimation("still");
-        }
-        dwidth  = enemyOnsightTexture.getRegionWidth()/scale.x;
-        dheight = enemyOnsightTexture.getRegionHeight()/scale.y;
-
-        //add on sight shooters
-        JsonValue onSight = enemies.get("on_sight");
-        iter = onSight.iterator();
-        while (iter.hasNext()){
-            enemy = iter.next();
-            EnemyModel obj = new EnemyModel(enemy.get("x").asInt(), enemy.get("y").asFloat(), dwidth, dheight,
-                    enemy.get("isFacingRight").asBoolean(), true, 0,
-                    enemy.get("enemyType").asString());
-            obj.setDrawScale(scale);
-            obj.setTexture(enemyOnsightTexture);
-            obj.setAnimation(enemyOnsightAnimation);
-            addQueuedObject(obj);
-
-            enemyOnsightAnimation= new Animation();
-            enemyOnsightAnimation.addTexture("shoot", AssetRetriever.createTexture(manager, Constants.ENEMY_ONSIGHT_SHOOT_FILE, false), 1,1);
-            enemyOnsightAnimation.addTexture("shooting", AssetRetriever.createTexture(manager, Constants.ENEMY_ONSIGHT_SHOOTING_FILE, false), 1,6);
-            enemyOnsightAnimation.addTexture("alert", AssetRetriever.createTexture(manager, Constants.ENEMY_ONSIGHT_ALERTED_FILE, false), 1,5);
-            enemyOnsightAnimation.addTexture("spotted", AssetRetriever.createTexture(manager, Constants.ENEMY_SPOTTED_FILE, false), 1,1);
-            enemyOnsightAnimation.addTexture("still", enemyOnsightTexture.getTexture(), 1, 1);
-            enemyOnsightAnimation.setPlaying(false);
-            enemyOnsightAnimation.setPlayingAnimation("still");
+    private void addEnemies(LevelData level, PooledList<Obstacle> queue){
+        float intervalWidth  = enemyIntervalTexture.getRegionWidth()/scale.x;
+        float intervalHeight = enemyIntervalTexture.getRegionHeight()/scale.y;
+        float onsightWidth  = enemyOnsightTexture.getRegionWidth()/scale.x;
+        float onsightHeight = enemyOnsightTexture.getRegionHeight()/scale.y;
+
+        for (LevelData.EnemyData enemy : level.getEnemies()) {
+            if (!enemy.onSight) {
+                //add interval shooters
+                EnemyModel obj = new EnemyModel((int) enemy.x, enemy.y, intervalWidth, intervalHeight,
+                        enemy.isFacingRight, false, enemy.interval, enemy.enemyType);
+                obj.setDrawScale(scale);
+                obj.setTexture(enemyIntervalTexture);
+                obj.setAnimation(createEnemyIntervalAnimation());
+                queue.add(obj);
+            } else {
+                //add on sight shooters
+                EnemyModel obj = new EnemyModel((int) enemy.x, enemy.y, onsightWidth, onsightHeight,
+                        enemy.isFacingRight, true, 0, enemy.enemyType);
+                obj.setDrawScale(scale);
+                obj.setTexture(enemyOnsightTexture);
+                obj.setAnimation(createEnemyOnsightAnimation());
+                queue.add(obj);
+            }
         }
     }
 
     /**
      * Adds the resources to the insertion queue. Currently only handles ammo depots.
      */
-    public void addResources(){
-        JsonValue resources = levelParser.getResources();
+    private void addResources(LevelData level, PooledList<Obstacle> queue){
         float dheight = depotTexture.getRegionHeight()/scale.y;
         float dwidth = depotTexture.getRegionWidth()/scale.x;
 
-        JsonValue ammoDepots = resources.get("ammo_depots");
-        JsonValue.JsonIterator iter = ammoDepots.iterator();
-        JsonValue depot;
-        while (iter.hasNext()){
-            depot = iter.next();
-            AmmoDepotModel ammoDepot = new AmmoDepotModel(depot.get("x").asFloat(), depot.get("y").asFloat(), dwidth,
-                    dheight, depot.get("amount").asInt());
+        for (LevelData.AmmoDepotData depot : level.getAmmoDepots()) {
+            AmmoDepotModel ammoDepot = new AmmoDepotModel(depot.x, depot.y, dwidth, dheight, depot.amount);
             ammoDepot.setDrawScale(scale);
             ammoDepot.setTexture(depotTexture);
-            addQueuedObject(ammoDepot);
+            queue.add(ammoDepot);
         }
     }
 
     /**
      * Adds the splatterers to the insertion queue.
      */
-    public void addSplatterers(){
-        JsonValue splatterers = levelParser.getSplatterers();
+    private void addSplatterers(LevelData level, PooledList<Obstacle> queue){
         float dheight = splattererTexture.getRegionWidth()/scale.x;
         float dwidth = splattererTexture.getRegionHeight()/scale.y;
 
-        JsonValue dflt = splatterers.get("default");
-        JsonValue.JsonIterator iter = dflt.iterator();
-        JsonValue splat;
-        while (iter.hasNext()){
-            splat = iter.next();
-            SplattererModel splatterer = new SplattererModel(splat.get("x").asFloat(), splat.get("y").asFloat(), dwidth, dheight);
+        for (Vector2 splat : level.getSplatterers()) {
+            SplattererModel splatterer = new SplattererModel(splat.x, splat.y, dwidth, dheight);
             splatterer.setDrawScale(scale);
             splatterer.setTexture(splattererTexture);
-            addQueuedObject(splatterer);
+            queue.add(splatterer);
         }
     }
 
     /**
      * Adds the background objects to the insertion queue.
      */
-    public void addBackgroundObjects(){
-        if (levelParser.backgroundObjectsExist()) {
-            JsonValue bgObjects = levelParser.getBackgroundObjects();
-
-            JsonValue.JsonIterator iter = bgObjects.iterator();
-            JsonValue bgObject;
-            while (iter.hasNext()){
-                bgObject = iter.next();
-                String id = bgObject.get("path").asString();
-                TextureRegion current = backgroundRegions.get(id);
-                BackgroundObjectModel bg = new BackgroundObjectModel(bgObject.get("x").asFloat(), bgObject.get("y").asFloat(),
-                        current.getRegionWidth()/scale.x, current.getRegionHeight()/scale.y);
-                bg.setDrawScale(scale);
-                bg.setTexture(current);
-                addQueuedObject(bg);
-            }
+    private void addBackgroundObjects(LevelData level, PooledList<Obstacle> queue){
+        for (LevelData.BackgroundObjectData bgObject : level.getBackgroundObjects()) {
+            TextureRegion current = backgroundRegions.get(bgObject.path);
+            BackgroundObjectModel bg = new BackgroundObjectModel(bgObject.x, bgObject.y,
+                    current.getRegionWidth()/scale.x, current.getRegionHeight()/scale.y);
+            bg.setDrawScale(scale);
+            bg.setTexture(current);
+            queue.add(bg);
         }
     }
 
     /**
      * Adds the target to the insertion queue
      */
-    public void addTarget(){
+    private void addTarget(LevelData level, PooledList<Obstacle> queue){
         float dwidth  = goalTile.getRegionWidth()/scale.x;
         float dheight = goalTile.getRegionHeight()/scale.y;
-        JsonValue target = levelParser.getTarget();
-        GoalModel goalDoor = new GoalModel(target.get("x").asFloat(),target.get("y").asFloat(),dwidth, dheight);
+        Vector2 target = level.getTarget();
+        GoalModel goalDoor = new GoalModel(target.x,target.y,dwidth, dheight);
         goalDoor.setDrawScale(scale);
         goalDoor.setTexture(goalTile);
         goalDoor.setAnimation(goalAnimation);
-        addQueuedObject(goalDoor);
+        queue.add(goalDoor);
+    }
+
+    /** Returns a new animation for an interval enemy */
+    private Animation createEnemyIntervalAnimation(){
+        Animation animation = new Animation(enemyIntervalClips);
+        animation.setPlaying(false);
+        animation.setPlayingAnimation("still");
+        return animation;
+    }
+
+    /** Returns a new animation for an on sight enemy */
+    private Animation createEnemyOnsightAnimation(){
+        Animation animation = new Animation(enemyOnsightClips);
+        animation.setPlaying(false);
+        animation.setPlayingAnimation("still");
+        return animation;
     }
 
     @Override
     public void preLoadContent(AssetManager manager) {
         // Load the shared tiles.
-        manager.load(Constants.PLATFORM_FILE,Texture.class);
-        manager.load(Constants.PLATFORM_LEFT_CAP_FILE,Texture.class);
-        manager.load(Constants.PLATFORM_RIGHT_CAP_FILE,Texture.class);
-        manager.load(Constants.PLATFORM_CENTER_FILE,Texture.class);
-        manager.load(Constants.PLATFORM_SINGLE_FILE,Texture.class);
-        manager.load(Constants.PLATFORM_BLOCK_1_FILE,Texture.class);
-        manager.load(Constants.PLATFORM_BLOCK_2_FILE,Texture.class);
-        manager.load(Constants.PLATFORM_BLOCK_3_FILE,Texture.class);
-        manager.load(Constants.PLATFORM_BLOCK_4_FILE,Texture.class);
-        manager.load(Constants.WALL_FILE,Texture.class);
-        manager.load(Constants.GOAL_FILE,Texture.class);
-        manager.load(Constants.BACKGROUND_FILE,Texture.class);
-        manager.load(Constants.ENEMY_INTERVAL_FILE,Texture.class);
-        manager.load(Constants.ENEMY_INTERVAL_SHOOT_FILE,Texture.class);
-        manager.load(Constants.ENEMY_INTERVAL_SHOOTING_FILE,Texture.class);
-        manager.load(Constants.ENEMY_ONSIGHT_FILE,Texture.class);
-        manager.load(Constants.ENEMY_ONSIGHT_SHOOT_FILE,Texture.class);
-        manager.load(Constants.ENEMY_ONSIGHT_SHOOTING_FILE,Texture.class);
-        manager.load(Constants.ENEMY_ONSIGHT_ALERTED_FILE,Texture.class);
-        manager.load(Constants.ENEMY_SPOTTED_FILE,Texture.class);
-        manager.load(Constants.CHARACTER_STILL_FILE, Texture.class);
-        manager.load(Constants.CHARACTER_FALLING_FILE, Texture.class);
-        manager.load(Constants.CHARACTER_IDLE_FILE, Texture.class);
-        manager.load(Constants.CHARACTER_MIDAIR_FILE, Texture.class);
-        manager.load(Constants.CHARACTER_RISING_FILE, Texture.class);
-        manager.load(Constants.CHARACTER_TRANSITION_FILE, Texture.class);
-        manager.load(Constants.CHARACTER_RUN_FILE, Texture.class);
-        manager.load(Constants.CHARACTER_SHOOT_FILE, Texture.class);
-        manager.load(Constants.CHARACTER_CROUCH_FILE, Texture.class);
-        manager.load(Constants.CHARACTER_STUNNED_FILE, Texture.class);
-        manager.load(Constants.CHARACTER_CROUCH_SHOOT_FILE, Texture.class);
-        manager.load(Constants.CHARACTER_DEATH_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_CHARACTER_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_ENEMY_MINE_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_ENEMY_NORMAL_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_MINE_TRAIL_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_NORMAL_TRAIL_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_STATIONARY_MINE_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_MOVING_MINE_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_ARMED_MINE_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_ARMED_MINE_WARNING_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_PRIMED_MINE_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_PRIMED_MINE_WARNING_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_STATIONARY_NORMAL_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_STATIONARY_CHAR_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_SPLAT_EFFECT_FILE, Texture.class);
-        manager.load(Constants.AMMO_DEPOT_FILE, Texture.class);
-        manager.load(Constants.SPLATTERER_FILE, Texture.class);
-        manager.load(Constants.SPIKES_DOWN_SPIN_FILE, Texture.class);
-        manager.load(Constants.SPIKES_UP_SPIN_FILE, Texture.class);
-        manager.load(Constants.SPIKES_LEFT_SPIN_FILE, Texture.class);
-        manager.load(Constants.SPIKES_RIGHT_SPIN_FILE, Texture.class);
-        manager.load(Constants.SPIKES_RIGHT_STILL_FILE, Texture.class);
-        manager.load(Constants.SPIKES_LEFT_STILL_FILE, Texture.class);
-        manager.load(Constants.SPIKES_UP_STILL_FILE, Texture.class);
-        manager.load(Constants.SPIKES_DOWN_STILL_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_CHAR_SPLAT_EFFECT_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_ENEMY_SPLAT_EFFECT_FILE, Texture.class);
-        manager.load(Constants.PAINTBALL_MINE_ENEMY_SPLAT_EFFECT_FILE, Texture.class);
-        manager.load(Constants.GOAL_EXPLOSION, Texture.class);
+        AssetRetriever.loadTexture(manager, Constants.PLATFORM_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PLATFORM_LEFT_CAP_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PLATFORM_RIGHT_CAP_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PLATFORM_CENTER_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PLATFORM_SINGLE_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PLATFORM_BLOCK_1_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PLATFORM_BLOCK_2_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PLATFORM_BLOCK_3_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PLATFORM_BLOCK_4_FILE);
+        AssetRetriever.loadTexture(manager, Constants.WALL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.GOAL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.BACKGROUND_FILE);
+        AssetRetriever.loadTexture(manager, Constants.ENEMY_INTERVAL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.ENEMY_INTERVAL_SHOOT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.ENEMY_INTERVAL_SHOOTING_FILE);
+        AssetRetriever.loadTexture(manager, Constants.ENEMY_ONSIGHT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.ENEMY_ONSIGHT_SHOOT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.ENEMY_ONSIGHT_SHOOTING_FILE);
+        AssetRetriever.loadTexture(manager, Constants.ENEMY_ONSIGHT_ALERTED_FILE);
+        AssetRetriever.loadTexture(manager, Constants.ENEMY_SPOTTED_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CHARACTER_STILL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CHARACTER_FALLING_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CHARACTER_IDLE_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CHARACTER_MIDAIR_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CHARACTER_RISING_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CHARACTER_TRANSITION_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CHARACTER_RUN_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CHARACTER_SHOOT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CHARACTER_CROUCH_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CHARACTER_STUNNED_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CHARACTER_CROUCH_SHOOT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CHARACTER_DEATH_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_CHARACTER_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_ENEMY_MINE_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_ENEMY_NORMAL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_MINE_TRAIL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_NORMAL_TRAIL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_STATIONARY_MINE_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_MOVING_MINE_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_ARMED_MINE_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_ARMED_MINE_WARNING_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_PRIMED_MINE_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_PRIMED_MINE_WARNING_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_STATIONARY_NORMAL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_STATIONARY_CHAR_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_SPLAT_EFFECT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.AMMO_DEPOT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPLATTERER_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_DOWN_SPIN_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_UP_SPIN_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_LEFT_SPIN_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_RIGHT_SPIN_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_RIGHT_STILL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_LEFT_STILL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_UP_STILL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_DOWN_STILL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_CHAR_SPLAT_EFFECT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_ENEMY_SPLAT_EFFECT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PAINTBALL_MINE_ENEMY_SPLAT_EFFECT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.GOAL_EXPLOSION);
 
         for (String s: Constants.TUTORIAL_FILES) {
-            manager.load(s, Texture.class);
+            AssetRetriever.loadTexture(manager, s);
         }
     }
 
@@ -489,107 +634,123 @@ public class LevelLoader implements AssetUser, Disposable{
         }
         // animation spritesheet loading
         playerAnimation = new Animation();
-        playerAnimation.addTexture("idle", AssetRetriever.createTexture(manager, Constants.CHARACTER_IDLE_FILE, false), 1,5);
-        playerAnimation.addTexture("run", AssetRetriever.createTexture(manager, Constants.CHARACTER_RUN_FILE, false), 1,4);
-        playerAnimation.addTexture("shoot", AssetRetriever.createTexture(manager, Constants.CHARACTER_SHOOT_FILE, false), 1,2);
-        playerAnimation.addTexture("crouch", AssetRetriever.createTexture(manager, Constants.CHARACTER_CROUCH_FILE, false), 1,1);
-        playerAnimation.addTexture("stunned", AssetRetriever.createTexture(manager, Constants.CHARACTER_STUNNED_FILE, false), 1,1);
-        playerAnimation.addTexture("rising", AssetRetriever.createTexture(manager, Constants.CHARACTER_RISING_FILE, false), 1,2);
-        playerAnimation.addTexture("falling", AssetRetriever.createTexture(manager, Constants.CHARACTER_FALLING_FILE, false), 1,2);
-        playerAnimation.addTexture("peak", AssetRetriever.createTexture(manager, Constants.CHARACTER_TRANSITION_FILE, false), 1,2);
-        playerAnimation.addTexture("midair shoot", AssetRetriever.createTexture(manager, Constants.CHARACTER_MIDAIR_FILE, false), 1,1);
-        playerAnimation.addTexture("crouch", AssetRetriever.createTexture(manager, Constants.CHARACTER_CROUCH_FILE, false), 1,1);
-        playerAnimation.addTexture("crouch_shoot", AssetRetriever.createTexture(manager, Constants.CHARACTER_CROUCH_SHOOT_FILE, false), 1,1);
-        playerAnimation.addTexture("death", AssetRetriever.createTexture(manager, Constants.CHARACTER_DEATH_FILE, false), 1,8);
-        playerAnimation.addTexture("still", playerTexture.getTexture(), 1, 1);
+        playerAnimation.addTexture("idle", AssetRetriever.createTextureRegion(manager, Constants.CHARACTER_IDLE_FILE, false), 1,5);
+        playerAnimation.addTexture("run", AssetRetriever.createTextureRegion(manager, Constants.CHARACTER_RUN_FILE, false), 1,4);
+        playerAnimation.addTexture("shoot", AssetRetriever.createTextureRegion(manager, Constants.CHARACTER_SHOOT_FILE, false), 1,2);
+        playerAnimation.addTexture("crouch", AssetRetriever.createTextureRegion(manager, Constants.CHARACTER_CROUCH_FILE, false), 1,1);
+        playerAnimation.addTexture("stunned", AssetRetriever.createTextureRegion(manager, Constants.CHARACTER_STUNNED_FILE, false), 1,1);
+        playerAnimation.addTexture("rising", AssetRetriever.createTextureRegion(manager, Constants.CHARACTER_RISING_FILE, false), 1,2);
+        playerAnimation.addTexture("falling", AssetRetriever.createTextureRegion(manager, Constants.CHARACTER_FALLING_FILE, false), 1,2);
+        playerAnimation.addTexture("peak", AssetRetriever.createTextureRegion(manager, Constants.CHARACTER_TRANSITION_FILE, false), 1,2);
+        playerAnimation.addTexture("midair shoot", AssetRetriever.createTextureRegion(manager, Constants.CHARACTER_MIDAIR_FILE, false), 1,1);
+        playerAnimation.addTexture("crouch", AssetRetriever.createTextureRegion(manager, Constants.CHARACTER_CROUCH_FILE, false), 1,1);
+        playerAnimation.addTexture("crouch_shoot", AssetRetriever.createTextureRegion(manager, Constants.CHARACTER_CROUCH_SHOOT_FILE, false), 1,1);
+        playerAnimation.addTexture("death", AssetRetriever.createTextureRegion(manager, Constants.CHARACTER_DEATH_FILE, false), 1,8);
+        playerAnimation.addTexture("still", playerTexture, 1, 1);
         playerAnimation.setPlaying(false);
         playerAnimation.setPlayingAnimation("idle");
 
-        enemyIntervalAnimation= new Animation();
-        enemyIntervalAnimation.addTexture("shoot", AssetRetriever.createTexture(manager, Constants.ENEMY_INTERVAL_SHOOT_FILE, false), 1,1);
-        enemyIntervalAnimation.addTexture("shooting", AssetRetriever.createTexture(manager, Constants.ENEMY_INTERVAL_SHOOTING_FILE, false), 1,10);
-        enemyIntervalAnimation.addTexture("spotted", AssetRetriever.createTexture(manager, Constants.ENEMY_SPOTTED_FILE, false), 1,1);
-        enemyIntervalAnimation.addTexture("still", enemyIntervalTexture.getTexture(), 1, 1);
-        enemyIntervalAnimation.setPlaying(false);
-        enemyIntervalAnimation.setPlayingAnimation("still");
-
-        enemyOnsightAnimation= new Animation();
-        enemyOnsightAnimation.addTexture("shoot", AssetRetriever.createTexture(manager, Constants.ENEMY_ONSIGHT_SHOOT_FILE, false), 1,1);
-        enemyOnsightAnimation.addTexture("shooting", AssetRetriever.createTexture(manager, Constants.ENEMY_ONSIGHT_SHOOTING_FILE, false), 1,6);
-        enemyOnsightAnimation.addTexture("alert", AssetRetriever.createTexture(manager, Constants.ENEMY_ONSIGHT_ALERTED_FILE, false), 1,5);
-        enemyOnsightAnimation.addTexture("spotted", AssetRetriever.createTexture(manager, Constants.ENEMY_SPOTTED_FILE, false), 1,1);
-        enemyOnsightAnimation.addTexture("still", enemyOnsightTexture.getTexture(), 1, 1);
-        enemyOnsightAnimation.setPlaying(false);
-        enemyOnsightAnimation.setPlayingAnimation("still");
+        // enemy clips, cut here so that enemy animations can be built on any thread
+        TextureRegion enemySpottedSheet = AssetRetriever.createTextureRegion(manager, Constants.ENEMY_SPOTTED_FILE, false);
+        enemyIntervalClips = new ClipSet();
+        enemyIntervalClips.add("shoot", AssetRetriever.createTextureRegion(manager, Constants.ENEMY_INTERVAL_SHOOT_FILE, false), 1,1);
+        enemyIntervalClips.add("shooting", AssetRetriever.createTextureRegion(manager, Constants.ENEMY_INTERVAL_SHOOTING_FILE, false), 1,10);
+        enemyIntervalClips.add("spotted", enemySpottedSheet, 1,1);
+        enemyIntervalClips.add("still", enemyIntervalTexture, 1, 1);
+        enemyOnsightClips = new ClipSet();
+        enemyOnsightClips.add("shoot", AssetRetriever.createTextureRegion(manager, Constants.ENEMY_ONSIGHT_SHOOT_FILE, false), 1,1);
+        enemyOnsightClips.add("shooting", AssetRetriever.createTextureRegion(manager, Constants.ENEMY_ONSIGHT_SHOOTING_FILE, false), 1,6);
+        enemyOnsightClips.add("alert", AssetRetriever.createTextureRegion(manager, Constants.ENEMY_ONSIGHT_ALERTED_FILE, false), 1,5);
+        enemyOnsightClips.add("spotted", enemySpottedSheet, 1,1);
+        enemyOnsightClips.add("still", enemyOnsightTexture, 1, 1);
 
         spikeAnimation = new Animation();
-        spikeAnimation.addTexture("spin", AssetRetriever.createTexture(manager, Constants.SPIKES_UP_STILL_FILE, false), 1 , 1);
-        spikeAnimation.setPlaying(false);
-        spikeAnimation.setPlayingAnimation("spin");
+        spikeAnimation.addTexture("spin", AssetRetriever.createTextureRegion(manager, Constants.SPIKES_UP_STILL_FILE, false), 1 , 1);
+        // Started here, on the render thread, since the preload worker shares it
+        spikeAnimation.play("spin", true);
+        spikeTexture = spikeAnimation.getTextureRegion();
 
         goalAnimation = new Animation();
-        goalAnimation.addTexture("idle", AssetRetriever.createTexture(manager, Constants.GOAL_FILE, false), 1, 1);
-        goalAnimation.addTexture("explosion", AssetRetriever.createTexture(manager, Constants.GOAL_EXPLOSION, false), 1, 8);
+        goalAnimation.addTexture("idle", AssetRetriever.createTextureRegion(manager, Constants.GOAL_FILE, false), 1, 1);
+        goalAnimation.addTexture("explosion", AssetRetriever.createTextureRegion(manager, Constants.GOAL_EXPLOSION, false), 1, 8);
         goalAnimation.setPlaying(false);
         goalAnimation.setPlayingAnimation("idle");
     }
 
     @Override
     public void unloadContent(AssetManager manager) {
-        manager.unload(Constants.BACKGROUND_FILE);
-        manager.unload(Constants.PLATFORM_FILE);
-        manager.unload(Constants.GOAL_FILE);
-        manager.unload(Constants.ENEMY_ONSIGHT_FILE);
-        manager.unload(Constants.ENEMY_INTERVAL_FILE);
-        manager.unload(Constants.ENEMY_SPOTTED_FILE);
-        manager.unload(Constants.CHARACTER_STILL_FILE);
-        manager.unload(Constants.CHARACTER_FALLING_FILE);
-        manager.unload(Constants.CHARACTER_IDLE_FILE);
-        manager.unload(Constants.CHARACTER_MIDAIR_FILE);
-        manager.unload(Constants.CHARACTER_RISING_FILE);
-        manager.unload(Constants.CHARACTER_TRANSITION_FILE);
-        manager.unload(Constants.CHARACTER_RUN_FILE);
-        manager.unload(Constants.CHARACTER_SHOOT_FILE);
-        manager.unload(Constants.CHARACTER_CROUCH_FILE);
-        manager.unload(Constants.SPLATTERER_FILE);
-        manager.unload(Constants.PLATFORM_LEFT_CAP_FILE);
-        manager.unload(Constants.PLATFORM_RIGHT_CAP_FILE);
-        manager.unload(Constants.PLATFORM_CENTER_FILE);
-        manager.unload(Constants.PLATFORM_SINGLE_FILE);
-        manager.unload(Constants.PLATFORM_BLOCK_1_FILE);
-        manager.unload(Constants.PLATFORM_BLOCK_2_FILE);
-        manager.unload(Constants.PLATFORM_BLOCK_3_FILE);
-        manager.unload(Constants.PLATFORM_BLOCK_4_FILE);
-        manager.unload(Constants.SPIKES_DOWN_SPIN_FILE);
-        manager.unload(Constants.SPIKES_UP_SPIN_FILE);
-        manager.unload(Constants.SPIKES_LEFT_SPIN_FILE);
-        manager.unload(Constants.SPIKES_RIGHT_SPIN_FILE);
-        manager.unload(Constants.SPIKES_RIGHT_STILL_FILE);
-        manager.unload(Constants.SPIKES_LEFT_STILL_FILE);
-        manager.unload(Constants.SPIKES_UP_STILL_FILE);
-        manager.unload(Constants.SPIKES_DOWN_STILL_FILE);
-        manager.unload(Constants.PAINTBALL_CHARACTER_FILE);
-        manager.unload(Constants.PAINTBALL_ENEMY_MINE_FILE);
-        manager.unload(Constants.PAINTBALL_ENEMY_NORMAL_FILE);
-        manager.unload(Constants.PAINTBALL_MINE_TRAIL_FILE);
-        manager.unload(Constants.PAINTBALL_MOVING_MINE_FILE);
-        manager.unload(Constants.PAINTBALL_ARMED_MINE_FILE);
-        manager.unload(Constants.PAINTBALL_ARMED_MINE_WARNING_FILE);
-        manager.unload(Constants.PAINTBALL_PRIMED_MINE_FILE);
-        manager.unload(Constants.PAINTBALL_PRIMED_MINE_WARNING_FILE);
-        manager.unload(Constants.PAINTBALL_NORMAL_TRAIL_FILE);
-        manager.unload(Constants.PAINTBALL_STATIONARY_MINE_FILE);
-        manager.unload(Constants.PAINTBALL_STATIONARY_NORMAL_FILE);
-        manager.unload(Constants.PAINTBALL_STATIONARY_CHAR_FILE);
-        manager.unload(Constants.PAINTBALL_SPLAT_EFFECT_FILE);
-        manager.unload(Constants.PAINTBALL_CHAR_SPLAT_EFFECT_FILE);
-        manager.unload(Constants.PAINTBALL_ENEMY_SPLAT_EFFECT_FILE);
-        manager.unload(Constants.PAINTBALL_MINE_ENEMY_SPLAT_EFFECT_FILE);
-        manager.unload(Constants.AMMO_DEPOT_FILE);
+        if (preloader != null)
+            preloader.clear();
+        AssetRetriever.unloadTexture(manager, Constants.BACKGROUND_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PLATFORM_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.WALL_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.GOAL_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.GOAL_EXPLOSION);
+        AssetRetriever.unloadTexture(manager, Constants.ENEMY_ONSIGHT_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.ENEMY_ONSIGHT_SHOOT_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.ENEMY_ONSIGHT_SHOOTING_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.ENEMY_ONSIGHT_ALERTED_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.ENEMY_INTERVAL_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.ENEMY_INTERVAL_SHOOT_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.ENEMY_INTERVAL_SHOOTING_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.ENEMY_SPOTTED_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.CHARACTER_STILL_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.CHARACTER_FALLING_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.CHARACTER_IDLE_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.CHARACTER_MIDAIR_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.CHARACTER_RISING_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.CHARACTER_TRANSITION_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.CHARACTER_RUN_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.CHARACTER_SHOOT_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.CHARACTER_CROUCH_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.CHARACTER_STUNNED_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.CHARACTER_CROUCH_SHOOT_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.CHARACTER_DEATH_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.SPLATTERER_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PLATFORM_LEFT_CAP_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PLATFORM_RIGHT_CAP_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PLATFORM_CENTER_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PLATFORM_SINGLE_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PLATFORM_BLOCK_1_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PLATFORM_BLOCK_2_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PLATFORM_BLOCK_3_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PLATFORM_BLOCK_4_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.SPIKES_DOWN_SPIN_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.SPIKES_UP_SPIN_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.SPIKES_LEFT_SPIN_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.SPIKES_RIGHT_SPIN_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.SPIKES_RIGHT_STILL_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.SPIKES_LEFT_STILL_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.SPIKES_UP_STILL_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.SPIKES_DOWN_STILL_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_CHARACTER_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_ENEMY_MINE_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_ENEMY_NORMAL_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_MINE_TRAIL_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_MOVING_MINE_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_ARMED_MINE_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_ARMED_MINE_WARNING_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_PRIMED_MINE_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_PRIMED_MINE_WARNING_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_NORMAL_TRAIL_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_STATIONARY_MINE_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_STATIONARY_NORMAL_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_STATIONARY_CHAR_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_SPLAT_EFFECT_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_CHAR_SPLAT_EFFECT_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_ENEMY_SPLAT_EFFECT_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.PAINTBALL_MINE_ENEMY_SPLAT_EFFECT_FILE);
+        AssetRetriever.unloadTexture(manager, Constants.AMMO_DEPOT_FILE);
+        for (String s: Constants.TUTORIAL_FILES) {
+            AssetRetriever.unloadTexture(manager, s);
+        }
     }
 
     @Override
     public void dispose() {
+        if (preloader != null)
+            preloader.dispose();
+        preloader = null;
         addQueue.clear();
         addQueue = null;
     }
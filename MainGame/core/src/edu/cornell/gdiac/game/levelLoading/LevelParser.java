@@ -1,16 +1,13 @@
 package edu.cornell.gdiac.game.levelLoading;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.utils.Json;
-import com.badlogic.gdx.utils.JsonReader;
-import com.badlogic.gdx.utils.JsonValue;
-import edu.cornell.gdiac.util.FileReaderWriter;
+import com.badlogic.gdx.files.FileHandle;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
-import java.util.ArrayList;
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * Created by Lu on 2/27/2017.
@@ -21,77 +18,93 @@ import java.util.Scanner;
  *  - returns the information
  */
 public class LevelParser {
-    // Variables to store information of the loaded json file.
-    private JsonValue platforms;
-    private JsonValue walls;
-    private JsonValue player;
-    private JsonValue enemies;
-    private JsonValue resources;
-    private JsonValue target;
-    private int startingAmmo;
-    private JsonValue splatterers;
-    private JsonValue backgroundObjects;
-    /** whether or not there are background objects*/
-    private boolean backgroundObjectsExist;
-
-    /** Creates a level parser object*/
-    public LevelParser(){}
+    /** The normalized data of the loaded level */
+    private LevelData level;
+    /** Reads json level files */
+    private LevelStreamParser streamParser;
+
+    /**
+     * Creates a level parser object
+     *
+     * @param tileWidth  Width of a platform tile in physics units
+     * @param tileHeight Height of a platform tile in physics units
+     */
+    public LevelParser(float tileWidth, float tileHeight){
+        level = new LevelData(tileWidth, tileHeight);
+        streamParser = new LevelStreamParser();
+    }
 
-    //* Loads a json level file into class variables
+    /**
+     * Loads a level file into the level data.
+     *
+     * If a binary version of the level exists and is at least as new as the json
+     * file, and was written at this parser's tile size, the binary version is
+     * read instead.
+     */
     public void loadLevel(String JsonFile){
-        try {
-            String content = FileReaderWriter.readJson(JsonFile);
-            JsonReader reader = new JsonReader();
-            JsonValue objects = reader.parse(content);
+        level.clear();
+        FileHandle json = Gdx.files.local(JsonFile);
+        FileHandle binary = Gdx.files.local(BinaryLevelFormat.getBinaryPath(JsonFile));
+        if (binary.exists() && binary.lastModified() >= json.lastModified()) {
+            if (loadBinary(binary))
+                return;
+            level.clear();
+        }
 
-            platforms = objects.get("platforms");
-            walls = objects.get("walls");
-            player = objects.get("player");
-            enemies = objects.get("enemies");
-            target = objects.get("target");
-            resources = objects.get("resources");
-            startingAmmo = objects.get("starting ammo").asInt();
-            splatterers = objects.get("splatterers");
-            if (objects.has("background objects")){
-                backgroundObjectsExist = true;
-                backgroundObjects = objects.get("background objects");
-            }
-            else
-                backgroundObjectsExist = false;
+        try {
+            parseJson(json);
         }
         catch (Exception e){
             Gdx.app.error("LevelParser", "Improper Json", new IllegalStateException());
         }
     }
 
-    /** Returns the walls of a level. Currently we just have one level*/
-    public JsonValue getWalls(){
-        return walls;
+    /**
+     * Reads a binary level file into the level data.
+     *
+     * The file is memory mapped when possible, and read into a direct buffer otherwise.
+     *
+     * @return true if the file held a valid binary level
+     */
+    private boolean loadBinary(FileHandle file) {
+        ByteBuffer buffer;
+        try {
+            RandomAccessFile raf = new RandomAccessFile(file.file(), "r");
+            try {
+                FileChannel channel = raf.getChannel();
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } finally {
+                raf.close();
+            }
+        } catch (Exception e) {
+            byte[] bytes = file.readBytes();
+            buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes);
+            buffer.flip();
+        }
+        return BinaryLevelFormat.read(buffer, level);
     }
 
-    /** Returns the platforms of a level. Currently we just have one level*/
-    public JsonValue getPlatforms(){
-        return platforms;
+    /**
+     * Parses a json level file into the level data.
+     *
+     * The file is streamed, so records go straight into the level data without
+     * building a json tree first. Unlike loadLevel, this does not clear the level
+     * data or catch errors, and does not need a running application (the level
+     * converter uses it).
+     */
+    public void parseJson(FileHandle file) throws IOException {
+        Reader reader = file.reader(4096, "UTF-8");
+        try {
+            streamParser.parse(reader, level);
+        } finally {
+            reader.close();
+        }
     }
 
-    /** Returns the data for the enemies*/
-    public JsonValue getEnemies() { return enemies; }
-
-    /** Returns the resources */
-    public JsonValue getResources() { return resources; }
-
-    public JsonValue getTarget() { return target; }
-
-    /** Returns the player location*/
-    public JsonValue getPlayer() { return player; }
+    /** Returns the normalized data of the loaded level */
+    public LevelData getLevel() { return level; }
 
     /** Returns the starting ammo*/
-    public int getStartingAmmo() { return startingAmmo; }
-
-    /** Returns the splatterers*/
-    public JsonValue getSplatterers() { return splatterers; }
-
-    public JsonValue getBackgroundObjects() { return backgroundObjects; }
-
-    public boolean backgroundObjectsExist() { return backgroundObjectsExist; }
+    public int getStartingAmmo() { return level.getStartingAmmo(); }
 }
@@ -0,0 +1,165 @@
+package edu.cornell.gdiac.game.levelLoading;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Builds levels on a background thread.
+ *
+ * Parsing a level file and constructing its obstacles takes long enough to drop
+ * frames, so the game asks for the levels it is likely to need next ahead of time.
+ * The worker only builds obstacles; adding them to the Box2D world still happens on
+ * the rendering thread, when the level loader hands them over.
+ *
+ * Since the render thread builds obstacles at the same time (a restart rebuilds the
+ * entities while the next level is being preloaded), everything the worker touches
+ * while building must be safe to use from two threads at once. Shared helpers keep
+ * their state per thread (e.g. the triangulator in PolygonObstacle), and shared
+ * objects that the render thread changes, like the level animations, must only be
+ * stored by the worker, never modified.
+ *
+ * A prepared level holds every obstacle of the level, so levels that were not
+ * used are thrown away as soon as a different one is loaded (see retain). A level
+ * whose file was changed after it was requested (e.g. saved by the level editor)
+ * is thrown away too, rather than handed over stale.
+ *
+ * All methods must be called from the rendering thread.
+ */
+public class LevelPreloader implements Disposable {
+    /** The loader that builds the levels */
+    private LevelLoader loader;
+    /** The parser used by the worker thread only */
+    private LevelParser parser;
+    /** The single worker thread */
+    private ExecutorService executor;
+    /** Levels that are being built or are ready, keyed by level file */
+    private HashMap<String, Future<LevelLoader.PreparedLevel>> pending;
+    /** When the file of each pending level was last changed, keyed by level file */
+    private HashMap<String, Long> modified;
+
+    /**
+     * Creates a preloader with its own worker thread.
+     *
+     * @param loader The loader that builds the levels
+     * @param parser A parser that is not used by any other thread
+     */
+    public LevelPreloader(LevelLoader loader, LevelParser parser) {
+        this.loader = loader;
+        this.parser = parser;
+        pending = new HashMap<String, Future<LevelLoader.PreparedLevel>>();
+        modified = new HashMap<String, Long>();
+        executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "LevelPreloader");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Starts building a level unless it is already being built or ready.
+     *
+     * @param file The level file
+     */
+    public void preload(final String file) {
+        if (file == null || file.isEmpty() || pending.containsKey(file))
+            return;
+        modified.put(file, lastModified(file));
+        pending.put(file, executor.submit(new Callable<LevelLoader.PreparedLevel>() {
+            @Override
+            public LevelLoader.PreparedLevel call() {
+                return loader.prepareLevel(file, parser);
+            }
+        }));
+    }
+
+    /**
+     * Removes a preloaded level, waiting for the worker if it is not done yet.
+     *
+     * A prepared level can only be added to a world once, so the caller owns it.
+     *
+     * @param file The level file
+     *
+     * @return the prepared level, or null if it was never requested, failed to build,
+     * or its file changed since it was requested
+     */
+    public LevelLoader.PreparedLevel take(String file) {
+        Future<LevelLoader.PreparedLevel> future = pending.remove(file);
+        Long stamp = modified.remove(file);
+        if (future == null)
+            return null;
+        if (stamp.longValue() != lastModified(file)) {
+            future.cancel(false);
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Gdx.app.error("LevelPreloader", "Could not preload " + file, e.getCause());
+        }
+        return null;
+    }
+
+    /**
+     * Throws away every level that has been requested, except the given one.
+     *
+     * @param file The level file to keep
+     */
+    public void retain(String file) {
+        Iterator<Map.Entry<String, Future<LevelLoader.PreparedLevel>>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Future<LevelLoader.PreparedLevel>> entry = it.next();
+            if (!entry.getKey().equals(file)) {
+                entry.getValue().cancel(false);
+                modified.remove(entry.getKey());
+                it.remove();
+            }
+        }
+    }
+
+    /** Throws away every level that has been requested */
+    public void clear() {
+        for (Future<LevelLoader.PreparedLevel> future : pending.values())
+            future.cancel(false);
+        pending.clear();
+        modified.clear();
+    }
+
+    /**
+     * Returns when a level was last changed, in either of its formats
+     *
+     * @param file The level file
+     *
+     * @return when the json or binary version of the level was last changed
+     */
+    private static long lastModified(String file) {
+        FileHandle json = Gdx.files.local(file);
+        FileHandle binary = Gdx.files.local(BinaryLevelFormat.getBinaryPath(file));
+        return Math.max(json.lastModified(), binary.lastModified());
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+        executor.shutdownNow();
+        executor = null;
+        loader = null;
+        parser = null;
+    }
+}
@@ -0,0 +1,485 @@
+package edu.cornell.gdiac.game.levelLoading;
+
+import com.badlogic.gdx.utils.FloatArray;
+import edu.cornell.gdiac.game.interfaces.LevelListener;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A streaming parser for json level files.
+ *
+ * The file is read through a small character buffer and each platform, wall
+ * and entity is handed to a LevelListener as soon as its closing bracket is
+ * read. No json tree is ever built, so the memory used while parsing is about
+ * one record no matter how large the level is. Numbers are parsed in place
+ * and keys are matched against the read buffer, so the only allocations are
+ * the vertex arrays and entity strings that the listener keeps.
+ *
+ * Unknown keys are skipped, so older and newer level files both parse.
+ */
+public class LevelStreamParser {
+    /** Keys of the geometry layers under "platforms", indexed by LevelData layer */
+    private static final String[] PLATFORM_KEYS = {"default", "spikes_left", "spikes_right", "spikes_up", "spikes_down"};
+
+    /** Object contexts */
+    private static final int ROOT = 0;
+    private static final int PLATFORMS = 1;
+    private static final int WALLS = 2;
+    private static final int ENEMIES = 3;
+    private static final int RESOURCES = 4;
+    private static final int SPLATTERERS = 5;
+    private static final int POINT = 6;
+    private static final int ENEMY = 7;
+    private static final int AMMO_DEPOT = 8;
+    private static final int SPLATTERER = 9;
+    private static final int BACKGROUND_OBJECT = 10;
+
+    /** Exact powers of ten for building numbers from their digits */
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /** Input buffer */
+    private Reader in;
+    private char[] buffer = new char[4096];
+    private int position;
+    private int limit;
+
+    /** The last string read */
+    private StringBuilder text = new StringBuilder();
+    /** Receives the records */
+    private LevelListener listener;
+
+    /** Fields of the record currently being read */
+    private FloatArray verts = new FloatArray(8);
+    private float x, y;
+    private int amount, interval;
+    private boolean isFacingRight;
+    private boolean onSight;
+    private String name;
+
+    /**
+     * Parses a json level, handing every record to the listener in file order.
+     *
+     * @param reader    The level file. It is not closed.
+     * @param listener  The receiver of the level records
+     */
+    public void parse(Reader reader, LevelListener listener) throws IOException {
+        this.in = reader;
+        this.listener = listener;
+        position = 0;
+        limit = 0;
+        try {
+            expect('{');
+            readObject(ROOT);
+        } finally {
+            this.in = null;
+            this.listener = null;
+        }
+    }
+
+    // BEGIN: Structure
+    /**
+     * Reads the members of an object whose opening brace was already read.
+     *
+     * @param context What kind of object this is
+     */
+    private void readObject(int context) throws IOException {
+        if (peek() == '}') {
+            next();
+            return;
+        }
+        do {
+            expect('"');
+            readString();
+            expect(':');
+            readMember(context);
+        } while (separator('}'));
+    }
+
+    /**
+     * Reads the value of the member whose key is in the text buffer.
+     *
+     * @param context What kind of object the member belongs to
+     */
+    private void readMember(int context) throws IOException {
+        switch (context) {
+            case ROOT:
+                if (key("platforms")) {
+                    readObject(PLATFORMS, true);
+                } else if (key("walls")) {
+                    readObject(WALLS, true);
+                } else if (key("enemies")) {
+                    readObject(ENEMIES, true);
+                } else if (key("resources")) {
+                    readObject(RESOURCES, true);
+                } else if (key("splatterers")) {
+                    readObject(SPLATTERERS, true);
+                } else if (key("player")) {
+                    readObject(POINT, true);
+                    listener.setPlayer(x, y);
+                } else if (key("target")) {
+                    readObject(POINT, true);
+                    listener.setTarget(x, y);
+                } else if (key("starting ammo")) {
+                    listener.setStartingAmmo((int) readNumber());
+                } else if (key("background objects")) {
+                    readRecords(BACKGROUND_OBJECT);
+                } else {
+                    skipValue();
+                }
+                break;
+            case PLATFORMS:
+                int layer = -1;
+                for (int i = 0; i < PLATFORM_KEYS.length; i++)
+                    if (key(PLATFORM_KEYS[i]))
+                        layer = i;
+                if (layer >= 0)
+                    readGeometry(layer);
+                else
+                    skipValue();
+                break;
+            case WALLS:
+                if (key("default"))
+                    readGeometry(LevelData.WALLS);
+                else
+                    skipValue();
+                break;
+            case ENEMIES:
+                if (key("interval") || key("on_sight")) {
+                    onSight = key("on_sight");
+                    readRecords(ENEMY);
+                } else {
+                    skipValue();
+                }
+                break;
+            case RESOURCES:
+                if (key("ammo_depots"))
+                    readRecords(AMMO_DEPOT);
+                else
+                    skipValue();
+                break;
+            case SPLATTERERS:
+                if (key("default"))
+                    readRecords(SPLATTERER);
+                else
+                    skipValue();
+                break;
+            default:
+                readField();
+        }
+    }
+
+    /** Reads an object value, or skips the value if it is not an object */
+    private void readObject(int context, boolean resetFields) throws IOException {
+        if (peek() != '{') {
+            skipValue();
+            return;
+        }
+        next();
+        if (resetFields)
+            resetFields();
+        readObject(context);
+    }
+
+    /** Reads a field of a record into the record fields */
+    private void readField() throws IOException {
+        if (key("x")) {
+            x = (float) readNumber();
+        } else if (key("y")) {
+            y = (float) readNumber();
+        } else if (key("amount")) {
+            amount = (int) readNumber();
+        } else if (key("interval")) {
+            interval = (int) readNumber();
+        } else if (key("isFacingRight")) {
+            isFacingRight = readBoolean();
+        } else if (key("enemyType") || key("path")) {
+            if (peek() == '"') {
+                next();
+                readString();
+                name = text.toString();
+            } else {
+                skipValue();
+            }
+        } else {
+            skipValue();
+        }
+    }
+
+    /** Reads an array of records, handing each to the listener when it closes */
+    private void readRecords(int context) throws IOException {
+        if (peek() != '[') {
+            skipValue();
+            return;
+        }
+        next();
+        if (peek() == ']') {
+            next();
+            return;
+        }
+        do {
+            expect('{');
+            resetFields();
+            readObject(context);
+            switch (context) {
+                case ENEMY:
+                    listener.addEnemy(x, y, isFacingRight, onSight, interval, name);
+                    break;
+                case AMMO_DEPOT:
+                    listener.addAmmoDepot(x, y, amount);
+                    break;
+                case SPLATTERER:
+                    listener.addSplatterer(x, y);
+                    break;
+                case BACKGROUND_OBJECT:
+                    listener.addBackgroundObject(name, x, y);
+                    break;
+            }
+        } while (separator(']'));
+    }
+
+    /** Reads an array of vertex arrays, handing each to the listener when it closes */
+    private void readGeometry(int layer) throws IOException {
+        if (peek() != '[') {
+            skipValue();
+            return;
+        }
+        next();
+        if (peek() == ']') {
+            next();
+            return;
+        }
+        do {
+            expect('[');
+            verts.clear();
+            if (peek() == ']') {
+                next();
+            } else {
+                do {
+                    verts.add((float) readNumber());
+                } while (separator(']'));
+            }
+            listener.addGeometry(layer, verts.toArray());
+        } while (separator(']'));
+    }
+
+    /** Clears the fields of the record being read */
+    private void resetFields() {
+        x = 0;
+        y = 0;
+        amount = 0;
+        interval = 0;
+        isFacingRight = false;
+        name = null;
+    }
+
+    /** Skips over any value */
+    private void skipValue() throws IOException {
+        char c = peek();
+        if (c == '{' || c == '[') {
+            next();
+            char close = c == '{' ? '}' : ']';
+            if (peek() == close) {
+                next();
+                return;
+            }
+            do {
+                if (c == '{') {
+                    expect('"');
+                    readString();
+                    expect(':');
+                }
+                skipValue();
+            } while (separator(close));
+        } else if (c == '"') {
+            next();
+            readString();
+        } else if (c == 't' || c == 'f') {
+            readBoolean();
+        } else if (c == 'n') {
+            expectWord("null");
+        } else {
+            readNumber();
+        }
+    }
+    // END: Structure
+
+    // BEGIN: Values
+    /** Returns true if the text buffer holds the given key */
+    private boolean key(String value) {
+        return value.contentEquals(text);
+    }
+
+    /** Reads a string whose opening quote was already read into the text buffer */
+    private void readString() throws IOException {
+        text.setLength(0);
+        char c = nextRaw();
+        while (c != '"') {
+            if (c == '\\') {
+                c = nextRaw();
+                switch (c) {
+                    case 'b': c = '\b'; break;
+                    case 'f': c = '\f'; break;
+                    case 'n': c = '\n'; break;
+                    case 'r': c = '\r'; break;
+                    case 't': c = '\t'; break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++)
+                            code = code*16 + Character.digit(nextRaw(), 16);
+                        c = (char) code;
+                        break;
+                    default: break;
+                }
+            }
+            text.append(c);
+            c = nextRaw();
+        }
+    }
+
+    /** Reads a boolean */
+    private boolean readBoolean() throws IOException {
+        if (peek() == 't') {
+            expectWord("true");
+            return true;
+        }
+        expectWord("false");
+        return false;
+    }
+
+    /**
+     * Reads a number without allocating.
+     *
+     * The digits are gathered into a long and scaled by an exact power of ten,
+     * which gives the same correctly rounded double as Double.parseDouble for the
+     * short decimals level files contain.
+     */
+    private double readNumber() throws IOException {
+        char c = peek();
+        boolean negative = false;
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            next();
+        }
+
+        long mantissa = 0;
+        int exponent = 0;
+        int digits = 0;
+        boolean fraction = false;
+        c = peekRaw();
+        while ((c >= '0' && c <= '9') || c == '.') {
+            nextRaw();
+            if (c == '.') {
+                fraction = true;
+            } else if (digits < 18) {
+                mantissa = mantissa*10 + (c - '0');
+                if (mantissa != 0)
+                    digits++;
+                if (fraction)
+                    exponent--;
+            } else if (!fraction) {
+                exponent++;
+            }
+            c = peekRaw();
+        }
+        if (c == 'e' || c == 'E') {
+            nextRaw();
+            boolean negativeExponent = false;
+            c = peekRaw();
+            if (c == '-' || c == '+') {
+                negativeExponent = c == '-';
+                nextRaw();
+            }
+            int e = 0;
+            c = peekRaw();
+            while (c >= '0' && c <= '9') {
+                nextRaw();
+                e = e*10 + (c - '0');
+                c = peekRaw();
+            }
+            exponent += negativeExponent ? -e : e;
+        }
+
+        double value = mantissa;
+        while (exponent < -22) {
+            value /= POWERS_OF_TEN[22];
+            exponent += 22;
+        }
+        while (exponent > 22) {
+            value *= POWERS_OF_TEN[22];
+            exponent -= 22;
+        }
+        value = exponent < 0 ? value/POWERS_OF_TEN[-exponent] : value*POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+    // END: Values
+
+    // BEGIN: Characters
+    /** Consumes the next non-whitespace character, which must be the given one */
+    private void expect(char c) throws IOException {
+        char actual = next();
+        if (actual != c)
+            throw new IllegalStateException("Expected '" + c + "' but found '" + actual + "'");
+    }
+
+    /** Consumes a literal word such as true, false or null */
+    private void expectWord(String word) throws IOException {
+        expect(word.charAt(0));
+        for (int i = 1; i < word.length(); i++)
+            if (nextRaw() != word.charAt(i))
+                throw new IllegalStateException("Expected " + word);
+    }
+
+    /**
+     * Consumes the separator after an element.
+     *
+     * @return true if another element follows, false if the closing bracket was read
+     */
+    private boolean separator(char close) throws IOException {
+        char c = next();
+        if (c == ',')
+            return true;
+        if (c != close)
+            throw new IllegalStateException("Expected ',' or '" + close + "' but found '" + c + "'");
+        return false;
+    }
+
+    /** Returns the next non-whitespace character without consuming it */
+    private char peek() throws IOException {
+        char c = peekRaw();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            position++;
+            c = peekRaw();
+        }
+        return c;
+    }
+
+    /** Consumes and returns the next non-whitespace character */
+    private char next() throws IOException {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    /** Returns the next character without consuming it */
+    private char peekRaw() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                throw new IllegalStateException("Unexpected end of level file");
+            }
+        }
+        return buffer[position];
+    }
+
+    /** Consumes and returns the next character */
+    private char nextRaw() throws IOException {
+        char c = peekRaw();
+        position++;
+        return c;
+    }
+    // END: Characters
+}
@@ -17,11 +17,11 @@ import java.util.Iterator;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.assets.*;
 import com.badlogic.gdx.physics.box2d.*;
+import com.badlogic.gdx.utils.Array;
 import edu.cornell.gdiac.game.Camera2;
 import edu.cornell.gdiac.game.Constants;
 import edu.cornell.gdiac.game.GameCanvas;
@@ -41,7 +41,7 @@ import edu.cornell.gdiac.game.interfaces.Shooter;
 import edu.cornell.gdiac.game.levelLoading.LevelLoader;
 import edu.cornell.gdiac.util.*;
 import edu.cornell.gdiac.util.obstacles.*;
-import edu.cornell.gdiac.util.sidebar.Sidebar;
+import edu.cornell.gdiac.util.sidebar.Settings;
 
 /**
  * Base class for a world-specific controller.
@@ -92,8 +92,26 @@ public class GameMode extends Mode implements Settable {
 	/** Timer for a race the clock situation (in seconds) **/
 	private float time = 0;
 
-	/** All the objects in the world.	 */
+	/** The level geometry (platforms, walls and backgrounds), which never moves or goes away */
+	private PooledList<Obstacle> geometry = new PooledList<Obstacle>();
+	/** All the other objects in the world, which are updated every frame	 */
 	private PooledList<Obstacle> objects = new PooledList<Obstacle>();
+	/** Advances the animations of the objects in the world, once per frame each */
+	private AnimationClock animations = new AnimationClock();
+	/** The backgrounds, which grow to cover the level */
+	private Array<BackgroundModel> backgrounds = new Array<BackgroundModel>();
+	/** The objects in the world that shoot */
+	private Array<Obstacle> shooters = new Array<Obstacle>();
+	/** The splatterers in the world */
+	private Array<SplattererModel> splatterers = new Array<SplattererModel>();
+	/** Spatial index of the objects, used to skip the ones off screen */
+	private ObstacleIndex drawIndex;
+	/** The objects that may be on screen this frame */
+	private Array<Obstacle> visible;
+	/** The area the game camera can see, in physics units */
+	private Rectangle viewBounds;
+	/** Whether the static geometry of a newly loaded level still has to be baked */
+	private boolean bakeGeometry;
 	/** All the Entity Controllers in the world	 */
 	private PooledList<EntityController> entityControllers = new PooledList<EntityController>();
 
@@ -115,6 +133,8 @@ public class GameMode extends Mode implements Settable {
 	private String levelFile;
 	/** The level number this game mode loads in	 */
 	private int levelNumber;
+	/** The level file whose geometry is in the world, or null if there is none */
+	private String loadedLevelFile;
 
 	/** Camera's used in-game**/
 	private Camera2 gameCamera;
@@ -122,13 +142,21 @@ public class GameMode extends Mode implements Settable {
 
 	/** The world scale Vector	 */
 	private Vector2 scaleVector;
+	/** Cache for the gravity setting, so that applying it does not allocate */
+	private Vector2 gravityCache = new Vector2();
+	/** The settings as of this frame */
+	private Settings.Snapshot settings = new Settings.Snapshot();
+	/** The settings version last applied to the mode itself */
+	private int appliedSettings = -1;
+	/** The objects in the world that apply settings */
+	private Array<Settable> settables = new Array<Settable>();
 	/** Whether we have completed this level	 */
 	private boolean succeeded;
 	/** Whether we have failed at this world (and need a reset)	 */
 	private boolean failed;
 
-	/** Sound controller */
-	private SoundController soundController;
+	/** Sound controllers */
+	private MusicController music;
 	private SoundController sfxSoundController;
 
 	/** An array to store the levels **/
@@ -136,6 +164,20 @@ public class GameMode extends Mode implements Settable {
 
 	private float accumulator;
 	private static final float FRAME_CAP = .25f;
+	/** The most physics steps we will take in a single frame to catch up */
+	private static final int MAX_SUBSTEPS = 5;
+	/** Size of a cell of the draw index, in tiles */
+	private static final int CULL_CELL_TILES = 8;
+	/** How far outside its bounds an object may draw (e.g. paintball trails), in tiles */
+	private static final int CULL_MARGIN_TILES = 2;
+	/** How far outside the camera view an effect can still be heard, in tiles */
+	private static final int AUDIBLE_MARGIN_TILES = 12;
+	/** How far outside the camera view an effect can still be heard, in physics units */
+	private float audibleMargin;
+	/** Where the game camera is heading, in physics units */
+	private Vector2 cameraTarget;
+	/** The area the game camera will see, for culling sound effects */
+	private Rectangle listenerBounds;
 
 	private CollisionController collisionController;
 
@@ -178,6 +220,10 @@ public class GameMode extends Mode implements Settable {
 	 * with the Box2d coordinates.  The bounds are in terms of the Box2d
 	 * world, not the screen.
 	 *
+	 * The canvas may be null to run the simulation without a window (see
+	 * HeadlessRunner). Such a game mode must be driven with simulate() instead
+	 * of render(), and never draws.
+	 *
 	 * @param canvas  The GameCanvas to draw the textures to
 	 * @param manager The AssetManager to load in the background
 	 * @param bounds  The game bounds in Box2d coordinates
@@ -186,9 +232,11 @@ public class GameMode extends Mode implements Settable {
 	public GameMode(String name, GameCanvas canvas, AssetManager manager, Rectangle bounds, Vector2 gravity) {
 		super(name, canvas, manager);
 		scaleVector = new Vector2(WORLD_WIDTH / bounds.getWidth(), WORLD_HEIGHT / bounds.getHeight());
+		int screenWidth = canvas == null ? WORLD_WIDTH : canvas.getWidth();
+		int screenHeight = canvas == null ? WORLD_HEIGHT : canvas.getHeight();
 
 		world = new World(gravity, false);
-		hud = new HUDModel(canvas.getWidth(), canvas.getHeight());
+		hud = new HUDModel(screenWidth, screenHeight);
 		hud.setY(hud.getHeight());
 		paintballFactory = new PaintballFactory(scaleVector);
 		collisionController = new CollisionController(hud,paintballFactory);
@@ -196,14 +244,20 @@ public class GameMode extends Mode implements Settable {
 		levelLoader = new LevelLoader(scaleVector,manager);
 		this.bounds = new Rectangle(bounds);
 		hud.setDrawScale(scaleVector);
-		gameCamera = new Camera2(WORLD_WIDTH,(int)((float)WORLD_WIDTH/canvas.getWidth()*canvas.getHeight()));
+		gameCamera = new Camera2(WORLD_WIDTH,(int)((float)WORLD_WIDTH/screenWidth*screenHeight));
 		gameCamera.setAutosnap(false);
-		hudCamera = new Camera2(canvas.getWidth(),canvas.getHeight());
+		drawIndex = new ObstacleIndex(CULL_CELL_TILES*Constants.DEFAULT_GRID/scaleVector.x,
+				CULL_MARGIN_TILES*Constants.DEFAULT_GRID/scaleVector.x);
+		visible = new Array<Obstacle>();
+		viewBounds = new Rectangle();
+		cameraTarget = new Vector2();
+		listenerBounds = new Rectangle();
+		audibleMargin = AUDIBLE_MARGIN_TILES*Constants.DEFAULT_GRID/scaleVector.x;
+		hudCamera = new Camera2(screenWidth,screenHeight);
 		hudCamera.setAutosnap(true);
 
-		soundController = SoundController.getInstance();
+		music = MusicController.getInstance();
 		sfxSoundController = SoundController.getSFXInstance();
-		soundController.setTimeLimit(20000);
 
 		succeeded = false;
 		failed = false;
@@ -226,12 +280,24 @@ public class GameMode extends Mode implements Settable {
 		return levelNumber;
 	}
 
+	/**
+	 * Returns the Box2D world of this game mode
+	 *
+	 * @return the Box2D world of this game mode
+	 */
+	public World getWorld() {
+		return world;
+	}
+
 	/**
 	 * Trys to set the player in the world if it exists
 	 *
+	 * The player of the previous level is forgotten either way.
+	 *
 	 * @return true if the world has a player, false otherwise
 	 */
 	private boolean trySetPlayer() {
+		player = null;
 		for (Obstacle obj : levelLoader.getAddQueue()) {
 			if (obj.getName().equals("player")) {
 				player = (PlayerModel) obj;
@@ -244,8 +310,14 @@ public class GameMode extends Mode implements Settable {
 
 	/**
 	 * trys to set the goal of the world
+	 *
+	 * The goal of the previous level is forgotten either way, so that a level
+	 * without a goal does not keep the old one.
+	 *
+	 * @return true if the world has a goal, false otherwise
 	 */
 	private boolean trySetGoal(){
+		goal = null;
 		for (Obstacle obj : levelLoader.getAddQueue()) {
 			if (obj.getName().equals("goal")) {
 				goal = (GoalModel) obj;
@@ -258,10 +330,19 @@ public class GameMode extends Mode implements Settable {
 
 	@Override
 	public void dispose() {
+		for (Obstacle obj : geometry) {
+			obj.deactivatePhysics(world);
+		}
 		for (Obstacle obj : objects) {
 			obj.deactivatePhysics(world);
 		}
-		objects.clear();
+		clearObjects();
+		geometry.clear();
+		animations.clear();
+		backgrounds.clear();
+		drawIndex.clear();
+		if (canvas != null)
+			canvas.clearStaticCache();
 		entityControllers.clear();
 		world.dispose();
 		levelLoader.dispose();
@@ -269,6 +350,9 @@ public class GameMode extends Mode implements Settable {
 		hud = null;
 		levelLoader = null;
 		objects = null;
+		geometry = null;
+		drawIndex = null;
+		visible = null;
 		bounds = null;
 		scaleVector = null;
 		world = null;
@@ -285,61 +369,107 @@ public class GameMode extends Mode implements Settable {
 	public void reset() {
 		super.reset();
 
-		for (Obstacle obj : objects)
-			obj.deactivatePhysics(world);
-		objects.clear();
 		entityControllers.clear();
-
 		collisionController.setHasDied(false);
-		if (!levelFile.isEmpty())
-			loadLevel();
+		sfxSoundController.clearListener();
+		if (levelFile.equals(loadedLevelFile) && levelLoader.restartLevel()) {
+			restartLevel();
+		} else {
+			for (Obstacle obj : geometry) {
+				obj.deactivatePhysics(world);
+			}
+			for (Obstacle obj : objects) {
+				obj.deactivatePhysics(world);
+				if (obj instanceof PaintballModel)
+					paintballFactory.free((PaintballModel) obj);
+			}
+			clearObjects();
+			geometry.clear();
+			animations.clear();
+			backgrounds.clear();
+			drawIndex.clear();
+			if (canvas != null)
+				canvas.clearStaticCache();
+			loadedLevelFile = null;
+			if (!levelFile.isEmpty())
+				loadLevel();
+		}
 
-		canvas.getCamera().setRumble(50,10,2);
-		canvas.begin(gameCamera);
-		canvas.setCamera(player.getX()*scaleVector.x,player.getY() * scaleVector.y, gameCamera.viewportHeight/2);
-		gameCamera.snap();
-		canvas.end();
+		if (canvas != null) {
+			canvas.getCamera().setRumble(50,10,2);
+			canvas.begin(gameCamera);
+			canvas.setCamera(player.getX()*scaleVector.x,player.getY() * scaleVector.y, gameCamera.viewportHeight/2);
+			gameCamera.snap();
+			canvas.end();
+		}
 		hud.reset();
-		goal.getAnimation().setPlayingAnimation("idle");
+		if (goal != null)
+			goal.getAnimation().setPlayingAnimation("idle");
 		time = 0;
 	}
 
 	@Override
 	public void update(float dt) {
+		if (Gdx.input.isKeyPressed(Input.Keys.ANY_KEY) && time+dt>SKIP_INTRO_THRESHOLD && time+dt<START_TIME)
+			skipIntro();
+		simulate(dt);
+	}
+
+	/**
+	 * Skips the look at the goal at the start of the level.
+	 */
+	public void skipIntro() {
+		time+=START_TIME;
+	}
+
+	/**
+	 * Advances the game by one frame.
+	 *
+	 * This is all of update() except reading the keyboard, so it can be called
+	 * without a window. The player is driven by PlayerInputController, whose key
+	 * source may be replaced (see PlayerInputController.setSource).
+	 *
+	 * @param dt Number of seconds since last animation frame
+	 */
+	public void simulate(float dt) {
 		time+=dt;
-		soundController.update();
+		profiler.begin(Profiler.AUDIO);
 		sfxSoundController.update();
+		profiler.end(Profiler.AUDIO);
 
-		if (Gdx.input.isKeyPressed(Input.Keys.ANY_KEY) && time>SKIP_INTRO_THRESHOLD && time<START_TIME)
-			time+=START_TIME;
-
+		profiler.begin(Profiler.CONTROLLERS);
 		if (!hud.isLose() && !hud.isWin() && time > START_TIME)
 			for (EntityController e : entityControllers)
 				e.update(dt);
-
-		applySettings();
-		paintballFactory.applySettings();
-		for(Obstacle obj: objects){
-			if(obj instanceof Settable)
-				((Settable) obj).applySettings();
-			if(obj instanceof Shooter)
-				updateShooter(obj);
-			if(obj instanceof SplattererModel)  {
-				if(((SplattererModel)obj).isShot()) {
-					((SplattererModel)obj).setShot(false);
-					PaintballModel pb;
-					if(((SplattererModel) obj).getDir())
-						pb = paintballFactory.createPaintball(obj.getX()+(((SplattererModel) obj).getWidth()*2),
-								((SplattererModel) obj).getYCoord(),!((SplattererModel)obj).getDir(), "player");
-					else
-						pb = paintballFactory.createPaintball(obj.getX()-(((SplattererModel) obj).getWidth()*2),
-								((SplattererModel) obj).getYCoord(),!((SplattererModel)obj).getDir(), "player");
-					pb.newSize(pb.getX(),pb.getY(),3);
-					pb.fixX(0f);
-					pb.setTimeToDie(pb.getPaintballToPaintballDuration());
-					pb.platformPop();
-					addObject(pb);
-				}
+		profiler.end(Profiler.CONTROLLERS);
+
+		// Settings only have to be applied again when a slider has moved
+		if (settings.update()) {
+			applySettings(settings);
+			paintballFactory.applySettings(settings);
+			for (int ii = 0; ii < settables.size; ii++)
+				settables.get(ii).applySettings(settings);
+		}
+		profiler.begin(Profiler.SHOOTERS);
+		for (int ii = 0; ii < shooters.size; ii++)
+			updateShooter(shooters.get(ii));
+		profiler.end(Profiler.SHOOTERS);
+		for (int ii = 0; ii < splatterers.size; ii++) {
+			SplattererModel splatterer = splatterers.get(ii);
+			if(splatterer.isShot()) {
+				splatterer.setShot(false);
+				PaintballModel pb;
+				if(splatterer.getDir())
+					pb = paintballFactory.createPaintball(splatterer.getX()+(splatterer.getWidth()*2),
+							splatterer.getYCoord(),!splatterer.getDir(), "player");
+				else
+					pb = paintballFactory.createPaintball(splatterer.getX()-(splatterer.getWidth()*2),
+							splatterer.getYCoord(),!splatterer.getDir(), "player");
+				pb.newSize(pb.getX(),pb.getY(),3);
+				pb.fixX(0f);
+				pb.setTimeToDie(pb.getPaintballToPaintballDuration());
+				pb.platformPop();
+				addObject(pb);
 			}
 		}
 		hud.update(dt);
@@ -361,6 +491,7 @@ public class GameMode extends Mode implements Settable {
 		}
 
 		postUpdate(dt);
+		updateListener();
 	}
 
 
@@ -368,38 +499,88 @@ public class GameMode extends Mode implements Settable {
 	public void draw() {
 		canvas.end();
 		canvas.begin(gameCamera);
-		float cameraBufferWidth = gameCamera.viewportWidth/scaleVector.x/30f;
-
-		if (hud.isWin() || time <= START_TIME)
-			canvas.setCamera(Math.max(Math.min(goal.getX()+cameraBufferWidth,gameCamera.position.x/scaleVector.x),goal.getX()-cameraBufferWidth)*scaleVector.x,
-					goal.getY() * scaleVector.y, gameCamera.viewportHeight/2);
-		else
-			canvas.setCamera(Math.max(Math.min(player.getX()+cameraBufferWidth,gameCamera.position.x/scaleVector.x),player.getX()-cameraBufferWidth)*scaleVector.x,
-					player.getY() * scaleVector.y, gameCamera.viewportHeight/2);
-		for (Obstacle obj : objects) {
+		findCameraTarget(cameraTarget);
+		canvas.setCamera(cameraTarget.x*scaleVector.x, cameraTarget.y*scaleVector.y, gameCamera.viewportHeight/2);
+		queryVisible();
+		boolean drewGeometry = false;
+		for (int i = 0; i < visible.size; i++) {
+			Obstacle obj = visible.get(i);
+			// Baked platforms are drawn all at once, where the first of them would be
+			if (!drewGeometry && obj instanceof PlatformModel && ((PlatformModel) obj).isCached()) {
+				canvas.drawStaticCache();
+				drewGeometry = true;
+			}
 			obj.draw(canvas);
 		}
 
 		canvas.end();
 		canvas.begin(hudCamera);
 		canvas.setDefaultCamera();
+		profiler.begin(Profiler.HUD);
 		hud.draw(canvas);
+		profiler.end(Profiler.HUD);
 	}
 
 	@Override
 	protected void drawDebug() {
 		canvas.endDebug();
 		canvas.beginDebug(gameCamera);
-		for (Obstacle obj : objects) {
-			obj.drawDebug(canvas);
+		queryVisible();
+		for (int i = 0; i < visible.size; i++) {
+			visible.get(i).drawDebug(canvas);
 		}
 	}
 
+	/**
+	 * Finds the objects that may be seen by the game camera, in drawing order.
+	 */
+	private void queryVisible() {
+		float width = gameCamera.viewportWidth*gameCamera.zoom/scaleVector.x;
+		float height = gameCamera.viewportHeight*gameCamera.zoom/scaleVector.y;
+		viewBounds.set(gameCamera.position.x/scaleVector.x - width/2, gameCamera.position.y/scaleVector.y - height/2,
+				width, height);
+		drawIndex.query(viewBounds, visible);
+	}
+
+	/**
+	 * Finds where the game camera is heading, in physics units.
+	 *
+	 * The camera looks at the goal during the intro and after a win, and follows
+	 * the player otherwise. It only moves sideways once its target leaves a small
+	 * buffer around its position.
+	 *
+	 * @param target	Vector to store the target in
+	 */
+	private void findCameraTarget(Vector2 target) {
+		float cameraBufferWidth = gameCamera.viewportWidth/scaleVector.x/30f;
+		float cameraX = gameCamera.position.x/scaleVector.x;
+		if (goal != null && (hud.isWin() || time <= START_TIME))
+			target.set(goal.getX(), goal.getY());
+		else
+			target.set(player.getDrawX(), player.getDrawY());
+		target.x = Math.max(Math.min(target.x+cameraBufferWidth, cameraX), target.x-cameraBufferWidth);
+	}
+
+	/**
+	 * Tells the sound controller what the game camera will see this frame.
+	 *
+	 * Effects queued during the frame are culled and attenuated against it. This
+	 * does not depend on drawing, so headless runs cull effects the same way.
+	 */
+	private void updateListener() {
+		findCameraTarget(cameraTarget);
+		float width = gameCamera.viewportWidth*gameCamera.zoom/scaleVector.x;
+		float height = gameCamera.viewportHeight*gameCamera.zoom/scaleVector.y;
+		// The camera never looks below the bottom of the level (see GameCanvas.setCamera)
+		float y = Math.max(cameraTarget.y, gameCamera.viewportHeight/2/scaleVector.y);
+		listenerBounds.set(cameraTarget.x - width/2, y - height/2, width, height);
+		sfxSoundController.setListener(listenerBounds, audibleMargin);
+	}
+
 	@Override
 	public void preLoadContent(AssetManager manager) {
 		paintballFactory.preLoadContent(manager);
 		levelLoader.preLoadContent(manager);
-		manager.load(Constants.GAME_MUSIC_FILE, Sound.class);
 		manager.load(Constants.SFX_PLAYER_SHOT, Sound.class);
 		manager.load(Constants.SFX_ENEMY_SHOT, Sound.class);
 		manager.load(Constants.SFX_ENEMY_STUN, Sound.class);
@@ -418,14 +599,13 @@ public class GameMode extends Mode implements Settable {
 		manager.load(Constants.SFX_PLAYER_JUMP_SHORT, Sound.class);
 		manager.load(Constants.SFX_PLAYER_LAND, Sound.class);
 		manager.load(Constants.SFX_PLAYER_STUN, Sound.class);
-		manager.load(Constants.AMMO_BAR, Texture.class);
-		manager.load(Constants.AMMO_EMPTY, Texture.class);
-		manager.load(Constants.AMMO_FILLED, Texture.class);
+		AssetRetriever.loadTexture(manager, Constants.AMMO_BAR);
+		AssetRetriever.loadTexture(manager, Constants.AMMO_EMPTY);
+		AssetRetriever.loadTexture(manager, Constants.AMMO_FILLED);
 	}
 
 	@Override
 	public void loadContent(AssetManager manager) {
-		soundController.allocate(manager, Constants.GAME_MUSIC_FILE);
 		sfxSoundController.allocate(manager, Constants.SFX_PLAYER_SHOT);
 		sfxSoundController.allocate(manager, Constants.SFX_PLAYER_STUN);
 		sfxSoundController.allocate(manager, Constants.SFX_PLAYER_LAND);
@@ -448,13 +628,10 @@ public class GameMode extends Mode implements Settable {
 		levelLoader.loadContent(manager);
 		if (manager.isLoaded(Constants.FONT_FILE))
 			hud.setFont(manager.get(Constants.FONT_FILE, BitmapFont.class));
-		if (!soundController.isActive("gameMode")){
-			soundController.stopAll();
-			soundController.play("gameMode", Constants.GAME_MUSIC_FILE, true, 0.5f);
-		}
+		music.play(Constants.GAME_MUSIC_FILE, 0.5f);
 
 		Animation ammo = new Animation();
-		ammo.addTexture("filled", AssetRetriever.createTexture(manager,Constants.AMMO_FILLED,false),1,4);
+		ammo.addTexture("filled", AssetRetriever.createTextureRegion(manager,Constants.AMMO_FILLED,false),1,4);
 		ammo.play("filled", true);
 		hud.setAnimationAndTexture(ammo,
 				AssetRetriever.createTextureRegion(manager, Constants.AMMO_BAR, false),
@@ -465,15 +642,21 @@ public class GameMode extends Mode implements Settable {
 	public void unloadContent(AssetManager manager) {
 		paintballFactory.unloadContent(manager);
 		levelLoader.unloadContent(manager);
+		AssetRetriever.unloadTexture(manager, Constants.AMMO_BAR);
+		AssetRetriever.unloadTexture(manager, Constants.AMMO_EMPTY);
+		AssetRetriever.unloadTexture(manager, Constants.AMMO_FILLED);
 	}
 
 	@Override
-	public void applySettings() {
-		world.setGravity(new Vector2(0, Sidebar.getValue("Gravity")));
-		gameCamera.setSpeed(Sidebar.getValue("Camera Speed"));
-		gameCamera.setRumble((int)Sidebar.getValue("Rumble Intensity"),(int)Sidebar.getValue("Rumble Intensity"),(int)Sidebar.getValue("Rumble Frequency"));
-
-		if(Sidebar.getValue("Rumble Interval")==0)
+	public void applySettings(Settings.Snapshot settings) {
+		if (settings.getVersion() == appliedSettings)
+			return;
+		appliedSettings = settings.getVersion();
+		world.setGravity(gravityCache.set(0, settings.get(Settings.GRAVITY)));
+		gameCamera.setSpeed(settings.get(Settings.CAMERA_SPEED));
+		gameCamera.setRumble((int)settings.get(Settings.RUMBLE_INTENSITY),(int)settings.get(Settings.RUMBLE_INTENSITY),(int)settings.get(Settings.RUMBLE_FREQUENCY));
+
+		if(settings.get(Settings.RUMBLE_INTERVAL)==0)
 			gameCamera.disableRumble();
 		else
 			gameCamera.enableRumble();
@@ -492,14 +675,48 @@ public class GameMode extends Mode implements Settable {
 	 * add to the game world and sets all starting attributes to their initial starting
 	 * number.
 	 *
+	 * Afterwards the next level is built in the background, so that it does not have
+	 * to be parsed when it is needed. Restarts reuse this level (see restartLevel).
 	 */
 	private void loadLevel() {
 		levelLoader.loadLevel(levelFile);
 		bounds = levelLoader.getBounds();
 		hud.setStartingAmmo(levelLoader.getStartingAmmo());
 		gameCamera.snap();
-		if (!trySetPlayer() || !trySetGoal())
+		if (!trySetPlayer())
+			System.out.println("Error: level file (" + levelFile + ") does not have a player");
+		if (!trySetGoal())
+			System.out.println("Error: level file (" + levelFile + ") does not have a goal");
+
+		loadedLevelFile = levelFile;
+		bakeGeometry = canvas != null;
+		levelLoader.preloadLevel(NUM_LEVELS[(levelNumber+1)%NUM_LEVELS.length]);
+	}
+
+	/**
+	 * Restarts the loaded level without reloading it.
+	 *
+	 * The level geometry stays in the world untouched. Every other object (the
+	 * player, enemies, paintballs, resources and the goal) is removed, and fresh
+	 * entities are queued from the snapshot the level loader took when the level
+	 * was loaded.
+	 */
+	private void restartLevel() {
+		for (Obstacle obj : objects) {
+			obj.deactivatePhysics(world);
+			drawIndex.remove(obj);
+			if (obj instanceof Animatable)
+				animations.remove(((Animatable) obj).getAnimation());
+			if (obj instanceof PaintballModel)
+				paintballFactory.free((PaintballModel) obj);
+		}
+		clearObjects();
+		accumulator = 0;
+		hud.setStartingAmmo(levelLoader.getStartingAmmo());
+		if (!trySetPlayer())
 			System.out.println("Error: level file (" + levelFile + ") does not have a player");
+		if (!trySetGoal())
+			System.out.println("Error: level file (" + levelFile + ") does not have a goal");
 	}
 
 	/**
@@ -516,8 +733,8 @@ public class GameMode extends Mode implements Settable {
 					addObject(paintballFactory.createPaintball(obj.getX(), obj.getY()+player.getHeight()/8, ((Shooter) obj).isFacingRight(), "player"));
 				else
 					addObject(paintballFactory.createPaintball(obj.getX(), obj.getY()-player.getHeight()/4, ((Shooter) obj).isFacingRight(), "player"));
-				sfxSoundController.stopAll();
-				sfxSoundController.play("gameMode",Constants.SFX_PLAYER_SHOT,false);
+				sfxSoundController.playEffect(Constants.SFX_PLAYER_SHOT,
+						SoundController.CATEGORY_SHOT, SoundController.PRIORITY_HIGH);
 			}
 			else if (obj.getName().equals("enemy")) {
 				int direction = ((Shooter) obj).isFacingRight() ? 1 : 0;
@@ -526,8 +743,8 @@ public class GameMode extends Mode implements Settable {
 						enemy.isFacingRight(),enemy.getEnemyType()));
 			}
 			else{
-				sfxSoundController.stopAll();
-				sfxSoundController.play("gameMode",Constants.SFX_PLAYER_DRY_FIRE,false);
+				sfxSoundController.playEffect(Constants.SFX_PLAYER_DRY_FIRE,
+						SoundController.CATEGORY_SHOT, SoundController.PRIORITY_NORMAL);
 			}
 		}
 	}
@@ -536,8 +753,10 @@ public class GameMode extends Mode implements Settable {
 	 * Processes physics
 	 *
 	 * Once the update phase is over, but before we draw, we are ready to handle
-	 * physics.  The primary method is the step() method in world.  This implementation
-	 * works for all applications and should not need to be overwritten.
+	 * physics.  The primary method is the step() method in world.  The world is
+	 * stepped at a fixed rate, taking up to MAX_SUBSTEPS steps per frame to drain the
+	 * accumulator.  The leftover time is handed to each object so that drawing can be
+	 * interpolated between the last two physics states.
 	 *
 	 * @param dt Number of seconds since last animation frame
 	 */
@@ -545,17 +764,33 @@ public class GameMode extends Mode implements Settable {
 		// Add any objects created by actions
 		while (!levelLoader.getAddQueue().isEmpty())
 			addObject(levelLoader.getAddQueue().poll());
+		if (bakeGeometry)
+			bakeStaticGeometry();
 
 		accumulator += (float) Math.min(dt,FRAME_CAP);
-		// Turn the physics engine crank.
-		if (!hud.isWin() && accumulator >=WORLD_STEP) {
+		// Turn the physics engine crank, catching up on any missed steps.
+		int substeps = 0;
+		while (!hud.isWin() && accumulator >= WORLD_STEP && substeps < MAX_SUBSTEPS) {
+			// The level geometry is static, so it has no previous state to keep
+			for (Obstacle obj : objects) {
+				if (obj.getBodyType() != BodyDef.BodyType.StaticBody)
+					obj.storePreviousState();
+			}
+			profiler.begin(Profiler.PHYSICS);
 			world.step(WORLD_STEP, WORLD_VELOC, WORLD_POSIT);
-			accumulator-=WORLD_STEP;
+			profiler.end(Profiler.PHYSICS);
+			accumulator -= WORLD_STEP;
+			substeps++;
 		}
+		// Drop whatever backlog is left rather than spiralling on the next frame
+		if (hud.isWin() || accumulator >= WORLD_STEP)
+			accumulator %= WORLD_STEP;
+		float alpha = hud.isWin() ? 1.0f : accumulator/WORLD_STEP;
 
 		// Garbage collect the deleted objects.
 		// Note how we use the linked list nodes to delete O(1) in place.
 		// This is O(n) without copying.
+		profiler.begin(Profiler.ENTITY_UPDATE);
 		Iterator<PooledList<Obstacle>.Entry> iterator = objects.entryIterator();
 		while (iterator.hasNext()) {
 			PooledList<Obstacle>.Entry entry = iterator.next();
@@ -563,22 +798,35 @@ public class GameMode extends Mode implements Settable {
 			if (obj.isRemoved()) {
 				obj.deactivatePhysics(world);
 				entry.remove();
+				drawIndex.remove(obj);
+				forgetObject(obj);
+				if (obj instanceof PaintballModel)
+					freePaintball((PaintballModel) obj);
 			} else {
 				obj.update(dt);
-
-				// make infinite background
-				if (obj instanceof BackgroundModel){
-					if(goal.getX()*scaleVector.x >= ((BackgroundModel) obj).getMaxWidth())
-						((BackgroundModel) obj).incBgWidth(1);
-					if(goal.getY()*scaleVector.y >= ((BackgroundModel) obj).getMaxHeight())
-						((BackgroundModel) obj).incBgHeight(1);
-					if (player.getX()*scaleVector.x <= -((BackgroundModel) obj).getMaxWidth()||
-							player.getX()*scaleVector.x >= ((BackgroundModel) obj).getMaxWidth())
-						((BackgroundModel) obj).incBgWidth(1);
-					if (player.getY()*scaleVector.y >= ((BackgroundModel) obj).getMaxHeight())
-						((BackgroundModel) obj).incBgHeight(1);
-				}
+				obj.setInterpolation(alpha);
+			}
+		}
+		profiler.end(Profiler.ENTITY_UPDATE);
+
+		// Shared animations (like the spikes) are advanced once, not once per user.
+		// The level geometry does nothing else when updated, so it is skipped.
+		animations.tick(dt);
+
+		// make infinite background
+		for (int ii = 0; ii < backgrounds.size; ii++) {
+			BackgroundModel background = backgrounds.get(ii);
+			if (goal != null) {
+				if(goal.getX()*scaleVector.x >= background.getMaxWidth())
+					background.incBgWidth(1);
+				if(goal.getY()*scaleVector.y >= background.getMaxHeight())
+					background.incBgHeight(1);
 			}
+			if (player.getX()*scaleVector.x <= -background.getMaxWidth()||
+					player.getX()*scaleVector.x >= background.getMaxWidth())
+				background.incBgWidth(1);
+			if (player.getY()*scaleVector.y >= background.getMaxHeight())
+				background.incBgHeight(1);
 		}
 	}
 
@@ -589,12 +837,96 @@ public class GameMode extends Mode implements Settable {
 	 */
 	private void addObject(Obstacle obj) {
 		//assert inBounds(obj) : "Object is not in bounds";
-		objects.add(obj);
+		if (LevelLoader.isLevelGeometry(obj)) {
+			geometry.add(obj);
+			if (obj instanceof BackgroundModel)
+				backgrounds.add((BackgroundModel) obj);
+		} else {
+			objects.add(obj);
+			if (obj instanceof Shooter)
+				shooters.add(obj);
+			if (obj instanceof SplattererModel)
+				splatterers.add((SplattererModel) obj);
+		}
 		obj.activatePhysics(world);
+		if (obj instanceof Animatable && ((Animatable) obj).getAnimation() != null)
+			animations.add(((Animatable) obj).getAnimation());
+		// Settings are otherwise only applied when they change
+		if (obj instanceof Settable) {
+			settables.add((Settable) obj);
+			((Settable) obj).applySettings(settings);
+		}
+		if (obj instanceof BackgroundModel)
+			drawIndex.add(obj, ObstacleIndex.ALWAYS);
+		else if (LevelLoader.isLevelGeometry(obj))
+			drawIndex.add(obj, ObstacleIndex.FIXED);
+		else
+			drawIndex.add(obj, ObstacleIndex.MOVING);
 
 		addEntityController(obj);
 	}
 
+	/**
+	 * Removes an object that has left the world from the lists of its roles
+	 *
+	 * @param obj The object that was removed from the world
+	 */
+	private void forgetObject(Obstacle obj) {
+		if (obj instanceof Shooter)
+			shooters.removeValue(obj, true);
+		if (obj instanceof SplattererModel)
+			splatterers.removeValue((SplattererModel) obj, true);
+		if (obj instanceof Settable)
+			settables.removeValue((Settable) obj, true);
+		if (obj instanceof Animatable)
+			animations.remove(((Animatable) obj).getAnimation());
+	}
+
+	/**
+	 * Removes every object but the level geometry from the lists of objects.
+	 *
+	 * The caller must take the objects out of the world first.
+	 */
+	private void clearObjects() {
+		objects.clear();
+		shooters.clear();
+		splatterers.clear();
+		settables.clear();
+	}
+
+	/**
+	 * Bakes the tiles of the level platforms into the canvas static cache.
+	 *
+	 * Platforms never move, so their tiles are copied into a vertex buffer once
+	 * per level and drawn with a single call per texture afterwards. Platforms
+	 * that do not fit in the cache keep drawing themselves.
+	 */
+	private void bakeStaticGeometry() {
+		int tiles = 0;
+		for (Obstacle obj : geometry) {
+			if (obj instanceof PlatformModel)
+				tiles += ((PlatformModel) obj).getTileCount();
+		}
+		canvas.beginStaticCache(tiles);
+		for (Obstacle obj : geometry) {
+			if (obj instanceof PlatformModel)
+				((PlatformModel) obj).cacheTiles(canvas);
+		}
+		canvas.endStaticCache();
+		bakeGeometry = false;
+	}
+
+	/**
+	 * Returns a removed paintball to the factory pool, making sure the player
+	 * does not keep standing on or riding it.
+	 *
+	 * @param paintball The paintball that was removed from the world
+	 */
+	private void freePaintball(PaintballModel paintball) {
+		player.forgetPaintball(paintball);
+		paintballFactory.free(paintball);
+	}
+
 	/**
 	 * Helper function that adds its corresponding controller class to
 	 * every entity obstacle.
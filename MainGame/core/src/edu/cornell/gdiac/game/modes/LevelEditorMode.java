@@ -16,7 +16,6 @@ package edu.cornell.gdiac.game.modes;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
@@ -121,6 +120,7 @@ public class LevelEditorMode extends Mode {
         debug = true;
 
         levelLoader = new LevelLoader(scaleVector,manager);
+        levelLoader.setMergePlatforms(false);
         levelCreator = new LevelCreator();
 
         input = EditorInputController.getInstance();
@@ -622,21 +622,21 @@ public class LevelEditorMode extends Mode {
 
     @Override
     public void preLoadContent(AssetManager manager) {
-        manager.load(BACKGROUND_FILE,Texture.class);
-        manager.load(Constants.ENEMY_INTERVAL_FILE,Texture.class);
-        manager.load(Constants.ENEMY_ONSIGHT_FILE,Texture.class);
-        manager.load(Constants.PLAYER_FILE,Texture.class);
-        manager.load(Constants.PLATFORM_FILE,Texture.class);
-        manager.load(Constants.AMMO_DEPOT_FILE,Texture.class);
-        manager.load(Constants.CAMERA_FILE,Texture.class);
-        manager.load(Constants.WHITE_PIXEL_FILE,Texture.class);
-        manager.load(Constants.WALL_FILE,Texture.class);
-        manager.load(Constants.SPLATTERER_FILE,Texture.class);
-        manager.load(Constants.SPIKES_DOWN_STILL_FILE,Texture.class);
-        manager.load(Constants.SPIKES_UP_STILL_FILE,Texture.class);
-        manager.load(Constants.SPIKES_LEFT_STILL_FILE,Texture.class);
-        manager.load(Constants.SPIKES_RIGHT_STILL_FILE,Texture.class);
-        manager.load(Constants.SPIKES_UP_SPIN_FILE,Texture.class);
+        AssetRetriever.loadTexture(manager, BACKGROUND_FILE);
+        AssetRetriever.loadTexture(manager, Constants.ENEMY_INTERVAL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.ENEMY_ONSIGHT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PLAYER_FILE);
+        AssetRetriever.loadTexture(manager, Constants.PLATFORM_FILE);
+        AssetRetriever.loadTexture(manager, Constants.AMMO_DEPOT_FILE);
+        AssetRetriever.loadTexture(manager, Constants.CAMERA_FILE);
+        AssetRetriever.loadTexture(manager, Constants.WHITE_PIXEL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.WALL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPLATTERER_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_DOWN_STILL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_UP_STILL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_LEFT_STILL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_RIGHT_STILL_FILE);
+        AssetRetriever.loadTexture(manager, Constants.SPIKES_UP_SPIN_FILE);
         levelLoader.preLoadContent(manager);
     }
 
@@ -647,9 +647,8 @@ public class LevelEditorMode extends Mode {
         whitePixelTexture = AssetRetriever.createTextureRegion(manager, Constants.WHITE_PIXEL_FILE, true);
 
         spikeAnimation = new Animation();
-        spikeAnimation.addTexture("spin", AssetRetriever.createTexture(manager, Constants.SPIKES_UP_SPIN_FILE, false), 1 , 8);
-        spikeAnimation.setPlaying(false);
-        spikeAnimation.setPlayingAnimation("spin");
+        spikeAnimation.addTexture("spin", AssetRetriever.createTextureRegion(manager, Constants.SPIKES_UP_SPIN_FILE, false), 1 , 8);
+        spikeAnimation.play("spin", true);
 
         regions[0] = AssetRetriever.createTextureRegion(manager, Constants.PLAYER_FILE, false);
         regions[1] = AssetRetriever.createTextureRegion(manager, Constants.ENEMY_INTERVAL_FILE, false);
@@ -667,47 +666,50 @@ public class LevelEditorMode extends Mode {
 
     @Override
     public void unloadContent(AssetManager manager) {
-        if (manager.isLoaded(BACKGROUND_FILE)) {
-            manager.unload(BACKGROUND_FILE);
+        if (AssetRetriever.isTextureLoaded(manager, BACKGROUND_FILE)) {
+            AssetRetriever.unloadTexture(manager, BACKGROUND_FILE);
         }
-        if (manager.isLoaded(Constants.ENEMY_INTERVAL_FILE)) {
-            manager.unload(Constants.ENEMY_INTERVAL_FILE);
+        if (AssetRetriever.isTextureLoaded(manager, Constants.ENEMY_INTERVAL_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.ENEMY_INTERVAL_FILE);
         }
-        if (manager.isLoaded(Constants.ENEMY_ONSIGHT_FILE)) {
-            manager.unload(Constants.ENEMY_ONSIGHT_FILE);
+        if (AssetRetriever.isTextureLoaded(manager, Constants.ENEMY_ONSIGHT_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.ENEMY_ONSIGHT_FILE);
         }
-        if (manager.isLoaded(Constants.PLAYER_FILE)) {
-            manager.unload(Constants.PLAYER_FILE);
+        if (AssetRetriever.isTextureLoaded(manager, Constants.PLAYER_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.PLAYER_FILE);
         }
-        if (manager.isLoaded(Constants.AMMO_DEPOT_FILE)) {
-            manager.unload(Constants.AMMO_DEPOT_FILE);
+        if (AssetRetriever.isTextureLoaded(manager, Constants.AMMO_DEPOT_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.AMMO_DEPOT_FILE);
         }
-        if (manager.isLoaded(Constants.PLATFORM_FILE)) {
-            manager.unload(Constants.PLATFORM_FILE);
+        if (AssetRetriever.isTextureLoaded(manager, Constants.PLATFORM_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.PLATFORM_FILE);
         }
-        if (manager.isLoaded(Constants.WALL_FILE)) {
-            manager.unload(Constants.WALL_FILE);
+        if (AssetRetriever.isTextureLoaded(manager, Constants.WALL_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.WALL_FILE);
         }
-        if (manager.isLoaded(Constants.CAMERA_FILE)) {
-            manager.unload(Constants.CAMERA_FILE);
+        if (AssetRetriever.isTextureLoaded(manager, Constants.CAMERA_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.CAMERA_FILE);
         }
-        if (manager.isLoaded(Constants.WHITE_PIXEL_FILE)) {
-            manager.unload(Constants.WHITE_PIXEL_FILE);
+        if (AssetRetriever.isTextureLoaded(manager, Constants.WHITE_PIXEL_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.WHITE_PIXEL_FILE);
         }
-        if(manager.isLoaded(Constants.SPLATTERER_FILE)) {
-            manager.unload(Constants.SPLATTERER_FILE);
+        if(AssetRetriever.isTextureLoaded(manager, Constants.SPLATTERER_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.SPLATTERER_FILE);
         }
-        if(manager.isLoaded(Constants.SPIKES_DOWN_STILL_FILE)) {
-            manager.unload(Constants.SPIKES_DOWN_STILL_FILE);
+        if(AssetRetriever.isTextureLoaded(manager, Constants.SPIKES_DOWN_STILL_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.SPIKES_DOWN_STILL_FILE);
         }
-        if(manager.isLoaded(Constants.SPIKES_UP_STILL_FILE)) {
-            manager.unload(Constants.SPIKES_UP_STILL_FILE);
+        if(AssetRetriever.isTextureLoaded(manager, Constants.SPIKES_UP_STILL_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.SPIKES_UP_STILL_FILE);
         }
-        if(manager.isLoaded(Constants.SPIKES_LEFT_STILL_FILE)) {
-            manager.unload(Constants.SPIKES_LEFT_STILL_FILE);
+        if(AssetRetriever.isTextureLoaded(manager, Constants.SPIKES_LEFT_STILL_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.SPIKES_LEFT_STILL_FILE);
         }
-        if(manager.isLoaded(Constants.SPIKES_RIGHT_STILL_FILE)) {
-            manager.unload(Constants.SPIKES_RIGHT_STILL_FILE);
+        if(AssetRetriever.isTextureLoaded(manager, Constants.SPIKES_RIGHT_STILL_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.SPIKES_RIGHT_STILL_FILE);
+        }
+        if(AssetRetriever.isTextureLoaded(manager, Constants.SPIKES_UP_SPIN_FILE)) {
+            AssetRetriever.unloadTexture(manager, Constants.SPIKES_UP_SPIN_FILE);
         }
     }
 
@@ -38,6 +38,12 @@ public class LevelSelectionMode extends Mode {
 	/** Level file finding vars **/
 	private static String[] NUM_LEVELS = FileReaderWriter.getJsonFiles();
 	private static int TOTAL_ROWS = (int)Math.ceil((float)NUM_LEVELS.length/TOTAL_COLUMNS);
+	/** The label of each level, built once so that drawing does not make new strings */
+	private static String[] LEVEL_LABELS = new String[NUM_LEVELS.length];
+	static {
+		for (int i = 0; i < LEVEL_LABELS.length; i++)
+			LEVEL_LABELS[i] = "[" + (i+1) + "]";
+	}
 
 	/** The font for giving messages to the player */
 	protected BitmapFont displayFont;
@@ -134,7 +140,7 @@ public class LevelSelectionMode extends Mode {
 					displayFont.setColor(UNSELECTED_COLOR);
 
 				if (convertToIndex(i,j) < NUM_LEVELS.length) {
-					canvas.drawText("[" + (convertToIndex(i, j) + 1)+"]", displayFont,
+					canvas.drawText(LEVEL_LABELS[convertToIndex(i, j)], displayFont,
 							i * ((canvas.getWidth() - BORDER_X * 2) / TOTAL_COLUMNS) + BORDER_X,
 							canvas.getHeight() - j * PADDING_Y - BORDER_Y);
 				}else{
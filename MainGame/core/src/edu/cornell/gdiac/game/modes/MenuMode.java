@@ -17,6 +17,7 @@ import edu.cornell.gdiac.game.GameModeManager;
 import edu.cornell.gdiac.game.input.SelectionInputController;
 import edu.cornell.gdiac.util.AssetRetriever;
 import edu.cornell.gdiac.game.interfaces.ScreenListener;
+import edu.cornell.gdiac.util.MusicController;
 import edu.cornell.gdiac.util.SoundController;
 
 /**
@@ -43,7 +44,7 @@ public class MenuMode extends Mode {
 
 	private GameMode gameMode;
 
-	private SoundController soundController;
+	private MusicController music;
 
 	/**
 	 * Creates a MenuMode with the default size and position.
@@ -56,7 +57,7 @@ public class MenuMode extends Mode {
 		onExit = ScreenListener.EXIT_QUIT;
 		input = SelectionInputController.getInstance();
 		this.gameMode = gameMode;
-		soundController = SoundController.getInstance();
+		music = MusicController.getInstance();
 	}
 
 	// BEGIN: Setters and Getters
@@ -85,7 +86,6 @@ public class MenuMode extends Mode {
 	@Override
 	protected void update(float delta) {
 		input.readInput();
-		soundController.update();
 		SoundController.getSFXInstance().update();
 		if (input.didDown()) {
 			selected = (selected + 1) % modeNames.length;
@@ -134,7 +134,6 @@ public class MenuMode extends Mode {
 		size2Params.fontFileName = Constants.MENU_FONT_FILE;
 		size2Params.fontParameters.size = Constants.MENU_FONT_SIZE;
 		manager.load(Constants.MENU_FONT_FILE, BitmapFont.class, size2Params);
-		manager.load(Constants.MENU_MUSIC_FILE, Sound.class);
 		manager.load(Constants.SFX_ENEMY_SHOT, Sound.class);
 		manager.load(Constants.SFX_UI_HOVER, Sound.class);
 		manager.load(Constants.SFX_UI_SELECT, Sound.class);
@@ -142,7 +141,6 @@ public class MenuMode extends Mode {
 
 	@Override
 	public void loadContent(AssetManager manager) {
-		soundController.allocate(manager, Constants.MENU_MUSIC_FILE);
 		SoundController.getSFXInstance().allocate(manager, Constants.SFX_ENEMY_SHOT);
 		SoundController.getSFXInstance().allocate(manager, Constants.SFX_UI_SELECT);
 		SoundController.getSFXInstance().allocate(manager, Constants.SFX_UI_HOVER);
@@ -154,10 +152,7 @@ public class MenuMode extends Mode {
 		else
 			displayFont = null;
 
-		if(!soundController.isActive("menuMode")) {
-			soundController.stopAll();
-			soundController.play("menuMode", Constants.MENU_MUSIC_FILE, true,0.5f);
-		}
+		music.play(Constants.MENU_MUSIC_FILE, 0.5f);
 	}
 
 	@Override
@@ -19,6 +19,8 @@ import com.badlogic.gdx.math.Vector2;
 import edu.cornell.gdiac.game.GameCanvas;
 import edu.cornell.gdiac.game.input.MainInputController;
 import edu.cornell.gdiac.game.interfaces.*;
+import edu.cornell.gdiac.util.MusicController;
+import edu.cornell.gdiac.util.Profiler;
 
 /**
  * Class that provides the fundamental mode functionalities
@@ -56,6 +58,8 @@ public abstract class Mode implements Screen, Completable, AssetUser, Exitable,
 	protected boolean debug;
 	/** The main input controller */
 	private MainInputController input;
+	/** The frame profiler */
+	protected Profiler profiler;
 
 	/**
 	 * TODO: write description for Constructor
@@ -74,6 +78,7 @@ public abstract class Mode implements Screen, Completable, AssetUser, Exitable,
 		completed = false;
 		debug  = false;
 		input = MainInputController.getInstance();
+		profiler = Profiler.getInstance();
 	}
 
 	// BEGIN: Getters and Setters
@@ -123,6 +128,10 @@ public abstract class Mode implements Screen, Completable, AssetUser, Exitable,
 	 */
 	protected boolean preUpdate(float dt) {
 		input.readInput();
+		if (input.didProfile())
+			profiler.setVisible(!profiler.isVisible());
+		if (input.didTrace())
+			profiler.dumpTrace();
 		if (input.didDebug())
 			debug = !debug;
 		else if (input.didReset())
@@ -175,27 +184,47 @@ public abstract class Mode implements Screen, Completable, AssetUser, Exitable,
 	@Override
 	public void render(float delta) {
 	    delta = Gdx.graphics.getRawDeltaTime();
+		profiler.beginFrame();
 		if (active) {
-			if (preUpdate(delta))
+			// Music carries on (and crossfades) across modes, so every mode updates it
+			profiler.begin(Profiler.AUDIO);
+			MusicController.getInstance().update(delta);
+			profiler.end(Profiler.AUDIO);
+
+			profiler.begin(Profiler.PRE_UPDATE);
+			boolean proceed = preUpdate(delta);
+			profiler.end(Profiler.PRE_UPDATE);
+			if (proceed) {
+				profiler.begin(Profiler.UPDATE);
 				update(delta);
+				profiler.end(Profiler.UPDATE);
+			}
 
+			profiler.begin(Profiler.DRAW);
 			canvas.clear();
 			canvas.begin();
 			draw();
 			canvas.end();
+			profiler.end(Profiler.DRAW);
 
 			if (debug) {
+				profiler.begin(Profiler.DRAW_DEBUG);
 				canvas.beginDebug();
 				drawDebug();
 				canvas.endDebug();
+				profiler.end(Profiler.DRAW_DEBUG);
 			}
 
+			if (profiler.isVisible())
+				canvas.drawProfile(profiler);
+
 			// We are are ready, notify our listener
 			if (isExit() && listener != null)
 				onExit();
 			if (isComplete() && listener != null)
 				onComplete();
 		}
+		profiler.endFrame();
 	}
 
 	@Override
@@ -9,6 +9,7 @@ import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
 import edu.cornell.gdiac.game.Camera2;
 import edu.cornell.gdiac.game.Constants;
@@ -35,6 +36,8 @@ public class WinMode extends Mode {
 
 	/** The font for giving messages to the player */
 	protected BitmapFont displayFont;
+	/** The title, laid out once (null until it is first drawn) */
+	private BitmapFontCache title;
 
 	/** Player modes that are selectable from menu mode */
 	private String[] modeNames = {"Next Level","Retry Level", "Main Menu", "Level Select"};
@@ -114,8 +117,11 @@ public class WinMode extends Mode {
 			canvas.draw(background, Constants.ALPHA, 0, 0, 0,0, 0f, scale.x, scale.y);
 		canvas.setColor(Constants.WHITE);
 		// draw lose text
-		displayFont.setColor(Color.WHITE);
-		canvas.drawTextCentered("Victory", displayFont, canvas.getHeight()/2-100);
+		if (title == null) {
+			displayFont.setColor(Color.WHITE);
+			title = canvas.cacheTextCentered("Victory", displayFont, canvas.getHeight()/2-100);
+		}
+		canvas.drawText(title);
 		// draw menu items
 		for (int i = 0; i<modeNames.length; i++) {
 			if (selected == i)
@@ -157,6 +163,13 @@ public class WinMode extends Mode {
 		}
 	}
 
+	@Override
+	public void resize(int width, int height) {
+		super.resize(width, height);
+		// The title is centered for the old size
+		title = null;
+	}
+
 	@Override
 	public void preLoadContent(AssetManager manager) {
 		manager.load(BACKGROUND_FILE,Texture.class);
@@ -177,6 +190,7 @@ public class WinMode extends Mode {
 			displayFont = manager.get(Constants.FONT_FILE, BitmapFont.class);
 		else
 			displayFont = null;
+		title = null;
 	}
 
 	@Override
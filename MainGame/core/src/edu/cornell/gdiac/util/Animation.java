@@ -4,33 +4,46 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Disposable;
 
-import java.util.HashMap;
-
 /**
  * Created by Lu on 4/5/2017.
+ *
+ * The playhead of an animation: which clip is playing, which frame it shows and how
+ * long until the next one. The clips themselves are in a ClipSet, which may be shared
+ * by many animations, so an animation of a shared set costs a handful of fields.
  */
 public class Animation implements Disposable{
     /** Frames per second we want to play in */
     private static final int FPS = 10;
 
-    /** All the filmstrips in this animation with a string key that's the name of the strip*/
-    private HashMap<String, FilmStrip> filmStrips;
+    /** The clips this animation can play, possibly shared with other animations */
+    private ClipSet clips;
 
     /** Frame control variables */
     private float framesPassed = 0f;
 
     /** animation variables */
     private int currentFrame = 0;
-    private String currentStrip = "";
+    /** The frame on screen (the last frame advanced to) */
+    private int shownFrame = 0;
+    /** The id of the playing clip, or -1 if there is none */
+    private int currentClip = -1;
     private boolean isPlaying = false;
     private boolean isLooping = false;
     private boolean hasPlayedOnce = true;
 
     /**
-     *  Constructor
+     *  Constructor for an animation with its own clips (see addTexture)
      */
     public Animation() {
-        filmStrips = new HashMap<String, FilmStrip>();
+    }
+
+    /**
+     *  Constructor for an animation playing a shared set of clips
+     *
+     * @param clips the clips this animation plays
+     */
+    public Animation(ClipSet clips) {
+        this.clips = clips;
     }
 
     // BEGIN: setters and getters
@@ -39,7 +52,36 @@ public class Animation implements Disposable{
      * @return the currently playing strip in the specific frame
      */
     public TextureRegion getTextureRegion(){
-        return filmStrips.get(currentStrip);
+        if (currentClip < 0)
+            return null;
+        return clips.get(currentClip).getFrame(shownFrame);
+    }
+
+    /**
+     * Replaces the clips this animation plays, and rewinds it.
+     *
+     * @param clips the clips this animation plays
+     */
+    public void setClips(ClipSet clips){
+        this.clips = clips;
+        reset();
+    }
+
+    /**
+     * @return the clips this animation plays
+     */
+    public ClipSet getClips(){
+        return clips;
+    }
+
+    /**
+     * Returns the id of a clip, to play it without looking up its name.
+     *
+     * @param stripName the name of the clip
+     * @return the id of the clip, or -1 if this animation has no such clip
+     */
+    public int getClipId(String stripName){
+        return clips == null ? -1 : clips.getId(stripName);
     }
 
     /**
@@ -48,9 +90,20 @@ public class Animation implements Disposable{
      * @param stripName the name that corresponds to the filmstrip we want to play
      */
     public void setPlayingAnimation(String stripName){
-        if (!currentStrip.equals(stripName))
+        setPlayingAnimation(getClipId(stripName));
+    }
+
+    /**
+     * Sets the current clip this animation should play
+     *
+     * @param clip the id of the clip we want to play
+     */
+    public void setPlayingAnimation(int clip){
+        if (currentClip != clip) {
             currentFrame = 0;
-        currentStrip = stripName;
+            shownFrame = 0;
+        }
+        currentClip = clip;
     }
 
     /**
@@ -74,10 +127,39 @@ public class Animation implements Disposable{
         // END: setters and getters
 
     /**
-     * Add a spritesheet and converts it to a filmstrip to be included in this animation group
+     * Add a spritesheet and converts it to a clip to be included in this animation group
+     *
+     * The clips of this animation must not be shared yet.
      */
     public void addTexture(String name, Texture texture, int rows, int cols){
-        filmStrips.put(name, new FilmStrip(texture, rows, cols));
+        addTexture(name, new TextureRegion(texture), rows, cols);
+    }
+
+    /**
+     * Add a spritesheet stored in part of a texture (e.g. an atlas region) and converts
+     * it to a clip to be included in this animation group
+     *
+     * The clips of this animation must not be shared yet.
+     */
+    public void addTexture(String name, TextureRegion region, int rows, int cols){
+        if (clips == null)
+            clips = new ClipSet();
+        clips.add(name, region, rows, cols);
+    }
+
+    /**
+     * Stops the animation and rewinds it, keeping its clips.
+     *
+     * This puts the animation back in the state it had right after its textures were added.
+     */
+    public void reset(){
+        framesPassed = 0f;
+        currentFrame = 0;
+        shownFrame = 0;
+        currentClip = -1;
+        isPlaying = false;
+        isLooping = false;
+        hasPlayedOnce = true;
     }
 
     /**
@@ -87,8 +169,18 @@ public class Animation implements Disposable{
      * @param loop whether or not to loop this animation
      */
     public void play(String stripName, boolean loop){
+        play(getClipId(stripName), loop);
+    }
+
+    /**
+     * Plays the clip, but waits until the last animation can be interrupted
+     *
+     * @param clip the id of the clip to be played
+     * @param loop whether or not to loop this animation
+     */
+    public void play(int clip, boolean loop){
         if (hasPlayedOnce) {
-            setPlayingAnimation(stripName);
+            setPlayingAnimation(clip);
             setPlaying(true);
             isLooping = loop;
         }
@@ -100,8 +192,17 @@ public class Animation implements Disposable{
      * @param stripName the filmstrip to be played
      */
     public void playOnce(String stripName){
-        if (stripName != currentStrip) {
-            play(stripName, false);
+        playOnce(getClipId(stripName));
+    }
+
+    /**
+     * Plays the clip completely through once
+     *
+     * @param clip the id of the clip to be played
+     */
+    public void playOnce(int clip){
+        if (clip != currentClip) {
+            play(clip, false);
             hasPlayedOnce = false;
         }
     }
@@ -128,10 +229,9 @@ public class Animation implements Disposable{
      * Advance the animation one frame.
      */
     public void advanceFrame() {
-        if (isPlaying){
-            FilmStrip filmStrip = filmStrips.get(currentStrip);
-            filmStrip.setFrame(currentFrame);
-            currentFrame = (currentFrame+1) % filmStrip.getSize();
+        if (isPlaying && currentClip >= 0){
+            shownFrame = currentFrame;
+            currentFrame = (currentFrame+1) % clips.get(currentClip).getSize();
             if (currentFrame == 0 && !isLooping) {
                 isPlaying = false;
                 hasPlayedOnce = true;
@@ -144,14 +244,22 @@ public class Animation implements Disposable{
      *  @return the name of the strip that is currently playing
      */
     public String getCurrentStrip(){
-        return currentStrip;
+        return currentClip < 0 ? "" : clips.get(currentClip).getName();
+    }
+
+    /**
+     *  Return the current clip's id.
+     *  @return the id of the clip that is currently playing, or -1 if there is none
+     */
+    public int getCurrentClip(){
+        return currentClip;
     }
 
     public int getCurrentFrame(){return currentFrame;}
 
     @Override
     public void dispose(){
-        filmStrips.clear();
-        filmStrips = null;
+        // The clips may be shared, so they are only let go of
+        clips = null;
     }
 }
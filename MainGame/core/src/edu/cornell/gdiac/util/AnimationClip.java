@@ -0,0 +1,101 @@
+package edu.cornell.gdiac.util;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * The frames of one animation, cut from a spritesheet.
+ *
+ * The sheet is cut into frames once, when the clip is made, and each frame keeps its
+ * own texture coordinates. A clip never changes afterwards, so any number of
+ * animations can play it at once; each of them only remembers which frame it shows.
+ */
+public class AnimationClip {
+    /** The name of this clip */
+    private final String name;
+    /** The frames of this clip, in playing order */
+    private final TextureRegion[] frames;
+
+    /** The region of the texture this clip was cut from */
+    private final Texture texture;
+    private final int left, top, sourceWidth, sourceHeight, cols;
+
+    /**
+     * Cuts a clip from a whole texture
+     *
+     * @param name the name of the clip
+     * @param texture the spritesheet
+     * @param rows the number of rows in the spritesheet
+     * @param cols the number of columns in the spritesheet
+     */
+    public AnimationClip(String name, Texture texture, int rows, int cols) {
+        this(name, new TextureRegion(texture), rows, cols);
+    }
+
+    /**
+     * Cuts a clip from part of a texture (e.g. an atlas region)
+     *
+     * The region must not be rotated or trimmed, since the frames are cut from
+     * it on a regular grid.
+     *
+     * @param name the name of the clip
+     * @param region the spritesheet
+     * @param rows the number of rows in the spritesheet
+     * @param cols the number of columns in the spritesheet
+     */
+    public AnimationClip(String name, TextureRegion region, int rows, int cols) {
+        this.name = name;
+        this.cols = cols;
+        texture = region.getTexture();
+        left = region.getRegionX();
+        top  = region.getRegionY();
+        sourceWidth  = region.getRegionWidth();
+        sourceHeight = region.getRegionHeight();
+
+        FilmStrip strip = new FilmStrip(region, rows, cols);
+        frames = new TextureRegion[strip.getSize()];
+        for (int i = 0; i < frames.length; i++) {
+            strip.setFrame(i);
+            frames[i] = new TextureRegion(strip);
+        }
+    }
+
+    /**
+     * @return the name of this clip
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of frames in this clip
+     */
+    public int getSize() {
+        return frames.length;
+    }
+
+    /**
+     * Returns a frame of this clip. The region is shared, so it must not be changed.
+     *
+     * @param frame the index of the frame
+     * @return a frame of this clip
+     */
+    public TextureRegion getFrame(int frame) {
+        return frames[frame];
+    }
+
+    /**
+     * Returns true if this clip was cut from the given region into the given grid.
+     *
+     * @param region The texture region
+     * @param rows The number of rows in the spritesheet
+     * @param cols The number of columns in the spritesheet
+     *
+     * @return true if this clip was cut from the given region into the given grid.
+     */
+    public boolean isCutFrom(TextureRegion region, int rows, int cols) {
+        return texture == region.getTexture() && left == region.getRegionX() && top == region.getRegionY()
+                && sourceWidth == region.getRegionWidth() && sourceHeight == region.getRegionHeight()
+                && frames.length == rows*cols && this.cols == cols;
+    }
+}
@@ -0,0 +1,86 @@
+package edu.cornell.gdiac.util;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Advances animations once per frame.
+ *
+ * An animation may be shared by many obstacles (the level loader gives every spike
+ * platform the same one). If each obstacle advanced it, a shared animation would play
+ * once per user per frame, too fast and at a cost that grows with the level. Instead
+ * obstacles register their animation here and only read its current frame when they
+ * draw; the clock advances each registered animation exactly once per tick, however
+ * many obstacles use it.
+ */
+public class AnimationClock {
+    /** The registered animations */
+    private Array<Animation> animations;
+    /** How many users registered each animation, by index in animations */
+    private IntArray users;
+
+    /**
+     *  Constructor
+     */
+    public AnimationClock() {
+        animations = new Array<Animation>();
+        users = new IntArray();
+    }
+
+    /**
+     * Registers a user of an animation, so that the animation is advanced every tick
+     *
+     * @param animation the animation to advance
+     */
+    public void add(Animation animation) {
+        int index = animations.indexOf(animation, true);
+        if (index < 0) {
+            animations.add(animation);
+            users.add(1);
+        } else {
+            users.incr(index, 1);
+        }
+    }
+
+    /**
+     * Unregisters a user of an animation. The animation is no longer advanced once
+     * it has no users left.
+     *
+     * @param animation the animation to stop advancing
+     */
+    public void remove(Animation animation) {
+        int index = animations.indexOf(animation, true);
+        if (index < 0)
+            return;
+        users.incr(index, -1);
+        if (users.get(index) == 0) {
+            animations.removeIndex(index);
+            users.removeIndex(index);
+        }
+    }
+
+    /**
+     * Advances every registered animation once
+     *
+     * @param delta Number of seconds since last animation frame
+     */
+    public void tick(float delta) {
+        for (int i = 0; i < animations.size; i++)
+            animations.get(i).update(delta);
+    }
+
+    /**
+     * Unregisters every animation
+     */
+    public void clear() {
+        animations.clear();
+        users.clear();
+    }
+
+    /**
+     * @return the number of animations advanced every tick
+     */
+    public int size() {
+        return animations.size;
+    }
+}
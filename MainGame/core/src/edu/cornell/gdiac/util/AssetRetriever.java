@@ -1,20 +1,76 @@
 package edu.cornell.gdiac.util;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.ObjectSet;
 
 /**
  * Created by Lu on 3/13/2017.
  *
  * Static class that helps with retrieving assests from the AssetManager
+ *
+ * Images under sprites/ and ui/ are packed into a texture atlas at build time
+ * (see the packTextures Gradle task). When the atlas is present, textures that
+ * were packed are loaded as regions of the atlas instead of as separate textures,
+ * so that the sprite batch does not have to switch textures between them. Images
+ * that were left out of the atlas (like repeating backgrounds) and builds without
+ * an atlas fall back to separate textures.
  */
 public class AssetRetriever {
+    /** The packed atlas of the sprites and ui images */
+    public static final String ATLAS_FILE = "atlas/game.atlas";
+
+    /** Names of the regions in the atlas, or null if the atlas has not been read yet */
+    private static ObjectSet<String> atlasRegions;
+
+    /**
+     * Queues a texture for loading, from the atlas if it was packed.
+     *
+     * Every call must be matched by a call to unloadTexture.
+     *
+     * @param manager 	Reference to global asset manager.
+     * @param file		The texture file
+     */
+    public static void loadTexture(AssetManager manager, String file) {
+        if (isPacked(file))
+            manager.load(ATLAS_FILE, TextureAtlas.class);
+        else
+            manager.load(file, Texture.class);
+    }
+
+    /**
+     * Unloads a texture queued with loadTexture.
+     *
+     * @param manager 	Reference to global asset manager.
+     * @param file		The texture file
+     */
+    public static void unloadTexture(AssetManager manager, String file) {
+        String name = isPacked(file) ? ATLAS_FILE : file;
+        if (manager.isLoaded(name))
+            manager.unload(name);
+    }
+
+    /**
+     * Returns true if the texture queued with loadTexture has finished loading.
+     *
+     * @param manager 	Reference to global asset manager.
+     * @param file		The texture file
+     */
+    public static boolean isTextureLoaded(AssetManager manager, String file) {
+        return manager.isLoaded(isPacked(file) ? ATLAS_FILE : file);
+    }
+
     /**
      * Returns a newly loaded texture region for the given file.
      *
      * This helper methods is used to set texture settings (such as scaling, and
-     * whether or not the texture should repeat) after loading.
+     * whether or not the texture should repeat) after loading. A packed texture
+     * is returned as its region of the atlas. Repeating textures cannot come from
+     * the atlas, so they must be left out of it when it is packed.
      *
      * @param manager 	Reference to global asset manager.
      * @param file		The texture (region) file
@@ -23,6 +79,17 @@ public class AssetRetriever {
      * @return a newly loaded texture region for the given file.
      */
     public static TextureRegion createTextureRegion(AssetManager manager, String file, boolean repeat) {
+        if (isPacked(file)) {
+            if (repeat) {
+                Gdx.app.error("AssetRetriever", file + " repeats, so it cannot be packed", new IllegalStateException());
+                return null;
+            }
+            if (manager.isLoaded(ATLAS_FILE)) {
+                TextureAtlas atlas = manager.get(ATLAS_FILE, TextureAtlas.class);
+                return new TextureRegion(atlas.findRegion(getRegionName(file)));
+            }
+            return null;
+        }
         if (manager.isLoaded(file)) {
             TextureRegion region = new TextureRegion(manager.get(file, Texture.class));
             region.getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
@@ -38,7 +105,8 @@ public class AssetRetriever {
      * Returns a newly loaded texture for the given file.
      *
      * This helper methods is used to set texture settings (such as scaling, and
-     * whether or not the texture should repeat) after loading.
+     * whether or not the texture should repeat) after loading. Packed textures
+     * have no texture of their own, so they must use createTextureRegion instead.
      *
      * @param manager 	Reference to global asset manager.
      * @param file		The texture (region) file
@@ -57,4 +125,31 @@ public class AssetRetriever {
         }
         return null;
     }
+
+    /**
+     * Returns true if the given texture file was packed into the atlas.
+     *
+     * The atlas description is read the first time this is called. It is a small
+     * text file, so this does not load any images.
+     *
+     * @param file		The texture file
+     */
+    public static boolean isPacked(String file) {
+        if (atlasRegions == null) {
+            atlasRegions = new ObjectSet<String>();
+            FileHandle handle = Gdx.files.internal(ATLAS_FILE);
+            if (handle.exists()) {
+                TextureAtlas.TextureAtlasData data = new TextureAtlas.TextureAtlasData(handle, handle.parent(), false);
+                for (TextureAtlas.TextureAtlasData.Region region : data.getRegions())
+                    atlasRegions.add(region.name);
+            }
+        }
+        return atlasRegions.contains(getRegionName(file));
+    }
+
+    /** Returns the atlas region name of a texture file (its path without the extension) */
+    private static String getRegionName(String file) {
+        int dot = file.lastIndexOf('.');
+        return dot < 0 ? file : file.substring(0, dot);
+    }
 }
@@ -0,0 +1,91 @@
+package edu.cornell.gdiac.util;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * The clips an animation can play, numbered in the order they were added.
+ *
+ * A set is built once, when the textures are loaded, and then shared by every
+ * animation of that kind (every enemy of a type, every paintball of a type). Once
+ * it is shared it should not be changed. Animations refer to clips by their number,
+ * which can be looked up once with getId, so that playing and drawing a clip does
+ * not need to look up names.
+ */
+public class ClipSet {
+    /** The clips, by id */
+    private Array<AnimationClip> clips;
+
+    /**
+     *  Constructor
+     */
+    public ClipSet() {
+        clips = new Array<AnimationClip>(4);
+    }
+
+    /**
+     * Cuts a spritesheet into a clip and adds it to this set.
+     *
+     * A clip with the same name is replaced (keeping its id), unless it was cut from
+     * the same region in the same way, in which case it is kept.
+     *
+     * @param name the name of the clip
+     * @param region the spritesheet
+     * @param rows the number of rows in the spritesheet
+     * @param cols the number of columns in the spritesheet
+     *
+     * @return the id of the clip
+     */
+    public int add(String name, TextureRegion region, int rows, int cols) {
+        int id = getId(name);
+        if (id >= 0 && clips.get(id).isCutFrom(region, rows, cols))
+            return id;
+        return add(new AnimationClip(name, region, rows, cols));
+    }
+
+    /**
+     * Adds a clip to this set, replacing any clip with the same name (and keeping its id).
+     *
+     * @param clip the clip to add
+     *
+     * @return the id of the clip
+     */
+    public int add(AnimationClip clip) {
+        int id = getId(clip.getName());
+        if (id >= 0) {
+            clips.set(id, clip);
+            return id;
+        }
+        clips.add(clip);
+        return clips.size-1;
+    }
+
+    /**
+     * Returns the id of the clip with the given name
+     *
+     * @param name the name of the clip
+     * @return the id of the clip, or -1 if there is no such clip
+     */
+    public int getId(String name) {
+        for (int i = 0; i < clips.size; i++) {
+            if (clips.get(i).getName().equals(name))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @param id the id of the clip
+     * @return the clip with the given id
+     */
+    public AnimationClip get(int id) {
+        return clips.get(id);
+    }
+
+    /**
+     * @return the number of clips in this set
+     */
+    public int size() {
+        return clips.size;
+    }
+}
@@ -50,6 +50,9 @@ public class FilmStrip extends TextureRegion {
     /** The active animation frame */
     private int frame;
 
+    /** The corner of the region of the texture this filmstrip was cut from */
+    private int left, top;
+
     /**
      * Creates a new filmstrip from the given texture.
      *
@@ -86,6 +89,27 @@ public class FilmStrip extends TextureRegion {
         setFrame(0);
     }
 
+    /**
+     * Creates a new filmstrip from part of a texture (e.g. a region of an atlas).
+     *
+     * The region must not be rotated or trimmed, since the frames are cut from
+     * it on a regular grid.
+     *
+     * @param region The texture region to use
+     * @param rows The number of rows in the filmstrip
+     * @param cols The number of columns in the filmstrip
+     */
+    public FilmStrip(TextureRegion region, int rows, int cols) {
+        super(region);
+        this.cols = cols;
+        this.size = rows*cols;
+        left = region.getRegionX();
+        top  = region.getRegionY();
+        rwidth  = region.getRegionWidth()/cols;
+        rheight = region.getRegionHeight()/rows;
+        setFrame(0);
+    }
+
     /**
      * Returns the number of frames in this filmstrip.
      *
@@ -117,8 +141,8 @@ public class FilmStrip extends TextureRegion {
             return;
         }
         this.frame = frame;
-        int x = (frame % cols)*rwidth;
-        int y = (frame / cols)*rheight;
+        int x = left + (frame % cols)*rwidth;
+        int y = top + (frame / cols)*rheight;
         setRegion(x,y,rwidth,rheight);
     }
 
@@ -0,0 +1,198 @@
+/*
+ * MusicController.java
+ *
+ * Background music used to be loaded like any other sound effect, which means
+ * that every track was decoded in full into memory when the game started, even
+ * though only one of them plays at a time.  This class streams music from disk
+ * instead, using a libGDX Music.  A track is only opened when a mode asks for it,
+ * and is closed again once the next track has faded in over it.
+ *
+ * Like SoundController, this class is a singleton; use getInstance() to get it.
+ * It must be updated once a frame (see update) for the crossfades to progress.
+ */
+package edu.cornell.gdiac.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * A singleton class for streaming looped background music, with crossfades.
+ */
+public class MusicController {
+	/** The default length of a crossfade, in seconds */
+	private static final float DEFAULT_FADE = 1.0f;
+
+	/** The singleton music controller instance */
+	private static MusicController controller;
+
+	/** The track that is playing (or fading in), or null if there is none */
+	private Music current;
+	/** The file of the current track */
+	private String currentFile;
+	/** The volume of the current track once it has faded in */
+	private float currentVolume;
+	/** The track that is fading out, or null if there is none */
+	private Music fading;
+	/** The volume the fading track started fading out from */
+	private float fadingVolume;
+	/** How long the current crossfade has run, in seconds */
+	private float fadeTime;
+	/** How long a crossfade takes, in seconds */
+	private float fadeLength;
+
+	/**
+	 * Creates a new MusicController with the default settings.
+	 */
+	private MusicController() {
+		fadeLength = DEFAULT_FADE;
+		fadeTime = fadeLength;
+	}
+
+	/**
+	 * Returns the single instance for the MusicController
+	 *
+	 * The first time this is called, it will construct the MusicController.
+	 *
+	 * @return the single instance for the MusicController
+	 */
+	public static MusicController getInstance() {
+		if (controller == null) {
+			controller = new MusicController();
+		}
+		return controller;
+	}
+
+	/**
+	 * Returns how long a crossfade takes, in seconds
+	 *
+	 * @return how long a crossfade takes, in seconds
+	 */
+	public float getFadeLength() {
+		return fadeLength;
+	}
+
+	/**
+	 * Sets how long a crossfade takes, in seconds (0 to switch tracks at once)
+	 *
+	 * @param value how long a crossfade takes, in seconds
+	 */
+	public void setFadeLength(float value) {
+		fadeLength = value;
+	}
+
+	/**
+	 * Returns true if the given track is the one playing (or fading in)
+	 *
+	 * @param filename	The filename of the track
+	 *
+	 * @return true if the given track is the one playing
+	 */
+	public boolean isPlaying(String filename) {
+		return filename.equals(currentFile);
+	}
+
+	/**
+	 * Loops the given track, crossfading from the track that was playing.
+	 *
+	 * If the track is already playing it carries on, at the new volume. The track
+	 * is streamed from disk, so only a small buffer of it is ever in memory.
+	 *
+	 * @param filename	The filename of the track
+	 * @param volume	The music volume in the range [0,1]
+	 */
+	public void play(String filename, float volume) {
+		if (isPlaying(filename)) {
+			currentVolume = volume;
+			if (fadeTime >= fadeLength)
+				current.setVolume(volume);
+			return;
+		}
+
+		Music music;
+		try {
+			music = Gdx.audio.newMusic(Gdx.files.internal(filename));
+		} catch (GdxRuntimeException e) {
+			Gdx.app.error("MusicController", "Could not open " + filename, e);
+			return;
+		}
+
+		// Only two tracks are ever open; a third cuts off the oldest one
+		fadeOut();
+		current = music;
+		currentFile = filename;
+		currentVolume = volume;
+		current.setLooping(true);
+		current.setVolume(fadeLength > 0 ? 0 : volume);
+		current.play();
+	}
+
+	/**
+	 * Fades out the track that is playing, leaving silence.
+	 */
+	public void stop() {
+		fadeOut();
+		currentFile = null;
+	}
+
+	/**
+	 * Starts fading out the current track, closing any track still fading out.
+	 */
+	private void fadeOut() {
+		if (fading != null)
+			close(fading);
+		fading = current;
+		fadingVolume = current == null ? 0 : current.getVolume();
+		current = null;
+		fadeTime = 0;
+		if (fadeLength <= 0)
+			update(0);
+	}
+
+	/**
+	 * Updates the crossfade, closing the old track once it is silent.
+	 *
+	 * @param delta Number of seconds since last animation frame
+	 */
+	public void update(float delta) {
+		if (fadeTime >= fadeLength && fading == null)
+			return;
+		fadeTime += delta;
+		float progress = fadeLength <= 0 ? 1 : Math.min(1, fadeTime/fadeLength);
+		if (current != null)
+			current.setVolume(currentVolume*progress);
+		if (fading != null) {
+			fading.setVolume(fadingVolume*(1-progress));
+			if (progress >= 1) {
+				close(fading);
+				fading = null;
+			}
+		}
+		if (progress >= 1)
+			fadeTime = fadeLength;
+	}
+
+	/**
+	 * Stops and closes every track at once.
+	 */
+	public void dispose() {
+		if (fading != null)
+			close(fading);
+		if (current != null)
+			close(current);
+		fading = null;
+		current = null;
+		currentFile = null;
+		fadeTime = fadeLength;
+	}
+
+	/**
+	 * Stops a track and releases its stream
+	 *
+	 * @param music	The track to close
+	 */
+	private static void close(Music music) {
+		music.stop();
+		music.dispose();
+	}
+}
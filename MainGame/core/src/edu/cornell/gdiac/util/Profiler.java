@@ -0,0 +1,447 @@
+/*
+ * Profiler.java
+ *
+ * When a frame takes too long, the first question is always "where did the
+ * time go?"  This class answers it.  The game loop marks the start and end of
+ * each of its phases, and the profiler keeps the timings of the last few hundred
+ * frames, together with how much memory each frame allocated and whether the
+ * garbage collector ran.  The recent history can be drawn as a graph (see
+ * GameCanvas.drawProfile) or saved as a trace that chrome://tracing can open.
+ *
+ * Note that this class is an instance of a Singleton, like SoundController.
+ * Use getInstance() to get the profiler.
+ */
+package edu.cornell.gdiac.util;
+
+import java.lang.management.*;
+import java.util.List;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * A singleton that records how long each phase of a frame takes.
+ *
+ * Timings are only recorded while the profiler is enabled, so the calls to begin
+ * and end cost next to nothing otherwise.  Phases may nest (physics is part of
+ * update) and may be entered several times per frame, in which case their times
+ * are added up.
+ *
+ * The finished frames go into a ring buffer with a single writer (the render
+ * thread).  A frame is published by a volatile write of the frame count after
+ * its slot has been filled, so any thread may take a snapshot without locking.
+ */
+public class Profiler {
+	/** The whole frame */
+	public static final int FRAME = 0;
+	/** Input handling in Mode.preUpdate */
+	public static final int PRE_UPDATE = 1;
+	/** Game logic in Mode.update */
+	public static final int UPDATE = 2;
+	/** Drawing in Mode.draw */
+	public static final int DRAW = 3;
+	/** Outline drawing in Mode.drawDebug */
+	public static final int DRAW_DEBUG = 4;
+	/** The entity controllers (player input and enemy AI) */
+	public static final int CONTROLLERS = 5;
+	/** Objects shooting paintballs */
+	public static final int SHOOTERS = 6;
+	/** Updating the sound controllers */
+	public static final int AUDIO = 7;
+	/** Stepping the Box2D world */
+	public static final int PHYSICS = 8;
+	/** Updating the objects, and sweeping removed ones out of the world */
+	public static final int ENTITY_UPDATE = 9;
+	/** Drawing the HUD */
+	public static final int HUD = 10;
+	/** The number of sections */
+	public static final int SECTION_COUNT = 11;
+
+	/** The names of the sections, as they appear in traces */
+	private static final String[] SECTION_NAMES = {
+			"frame", "preUpdate", "update", "draw", "drawDebug",
+			"controllers", "shooters", "audio", "physics", "entityUpdate", "hud"
+	};
+
+	/** The number of frames kept */
+	public static final int CAPACITY = 600;
+
+	// Layout of a frame record
+	/** System.nanoTime() at the start of the frame */
+	private static final int FRAME_START = 0;
+	/** Pairs of (start relative to the frame, duration) for each section, in nanoseconds */
+	private static final int SECTION_BASE = 1;
+	/** Bytes allocated by the render thread during the frame, or -1 if unknown */
+	private static final int ALLOCATED = SECTION_BASE + 2*SECTION_COUNT;
+	/** Number of garbage collections during the frame */
+	private static final int COLLECTIONS = ALLOCATED + 1;
+	/** Size of a frame record */
+	private static final int STRIDE = COLLECTIONS + 1;
+
+	/** The singleton profiler */
+	private static Profiler profiler;
+
+	/**
+	 * Returns the single instance of the profiler
+	 *
+	 * @return the single instance of the profiler
+	 */
+	public static Profiler getInstance() {
+		if (profiler == null) {
+			profiler = new Profiler();
+		}
+		return profiler;
+	}
+
+	/** The finished frames, CAPACITY records of STRIDE longs each */
+	private final long[] ring;
+	/** The number of frames written to the ring so far */
+	private volatile long published;
+	/** The record of the frame in progress */
+	private final long[] current;
+	/** When each open section began, or 0 if it is not open */
+	private final long[] opened;
+
+	/** Whether frames are being recorded */
+	private boolean enabled;
+	/** Whether the graph should be drawn */
+	private boolean visible;
+	/** Whether a frame is in progress */
+	private boolean inFrame;
+
+	/** The HotSpot thread bean, if this JVM can count allocations */
+	private com.sun.management.ThreadMXBean threads;
+	/** The thread that records frames */
+	private long threadId;
+	/** Bytes allocated by asking the bean for the allocation count */
+	private long allocOverhead;
+	/** The allocation count at the start of the frame */
+	private long allocStart;
+	/** The garbage collectors of this JVM */
+	private List<GarbageCollectorMXBean> collectors;
+	/** The number of collections at the start of the frame */
+	private long collectStart;
+
+	/**
+	 * Creates a disabled profiler.
+	 */
+	private Profiler() {
+		ring = new long[CAPACITY*STRIDE];
+		current = new long[STRIDE];
+		opened = new long[SECTION_COUNT];
+		collectors = ManagementFactory.getGarbageCollectorMXBeans();
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			threads = (com.sun.management.ThreadMXBean) bean;
+			if (!threads.isThreadAllocatedMemorySupported()) {
+				threads = null;
+			}
+		}
+	}
+
+	// BEGIN: Setters and Getters
+	/**
+	 * Returns true if frames are being recorded
+	 *
+	 * @return true if frames are being recorded
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts or stops recording frames.
+	 *
+	 * Recording starts on the next call to beginFrame.
+	 *
+	 * @param value whether to record frames
+	 */
+	public void setEnabled(boolean value) {
+		if (value && !enabled && threads != null) {
+			threads.setThreadAllocatedMemoryEnabled(true);
+			threadId = Thread.currentThread().getId();
+			// Asking for the count allocates a little by itself
+			long first = threads.getThreadAllocatedBytes(threadId);
+			long second = threads.getThreadAllocatedBytes(threadId);
+			allocOverhead = second-first;
+		}
+		enabled = value;
+		inFrame = false;
+	}
+
+	/**
+	 * Returns true if the graph should be drawn
+	 *
+	 * @return true if the graph should be drawn
+	 */
+	public boolean isVisible() {
+		return visible;
+	}
+
+	/**
+	 * Shows or hides the graph, recording frames only while it is shown.
+	 *
+	 * Once it is hidden the recorded frames are kept, so they can still be saved
+	 * with dumpTrace, but new frames cost nothing.
+	 *
+	 * @param value whether to show the graph
+	 */
+	public void setVisible(boolean value) {
+		visible = value;
+		setEnabled(value);
+	}
+
+	/**
+	 * Returns the name of a section
+	 *
+	 * @param section The section id
+	 *
+	 * @return the name of a section
+	 */
+	public static String getSectionName(int section) {
+		return SECTION_NAMES[section];
+	}
+
+	/**
+	 * Returns the number of recorded frames still in the ring
+	 *
+	 * @return the number of recorded frames still in the ring
+	 */
+	public int getFrameCount() {
+		return (int)Math.min(published, CAPACITY);
+	}
+
+	/**
+	 * Returns the time spent in a section, in milliseconds.
+	 *
+	 * This reads the ring without checking for overwrites, so it is only meant
+	 * for the thread that records the frames.
+	 *
+	 * @param back    How many frames ago (0 is the last finished frame)
+	 * @param section The section id
+	 *
+	 * @return the time spent in a section, in milliseconds.
+	 */
+	public float getTime(int back, int section) {
+		return ring[slot(published-1-back) + SECTION_BASE + 2*section + 1]/1000000.0f;
+	}
+
+	/**
+	 * Returns the bytes allocated during a frame, or -1 if this JVM cannot tell
+	 *
+	 * @param back    How many frames ago (0 is the last finished frame)
+	 *
+	 * @return the bytes allocated during a frame
+	 */
+	public long getAllocated(int back) {
+		return ring[slot(published-1-back) + ALLOCATED];
+	}
+
+	/**
+	 * Returns the number of garbage collections during a frame
+	 *
+	 * @param back    How many frames ago (0 is the last finished frame)
+	 *
+	 * @return the number of garbage collections during a frame
+	 */
+	public int getCollections(int back) {
+		return (int)ring[slot(published-1-back) + COLLECTIONS];
+	}
+	// END: Setters and Getters
+
+	/**
+	 * Starts recording a new frame.
+	 */
+	public void beginFrame() {
+		if (!enabled) {
+			return;
+		}
+		for(int ii = 0; ii < STRIDE; ii++) {
+			current[ii] = 0;
+		}
+		for(int ii = 0; ii < SECTION_COUNT; ii++) {
+			opened[ii] = 0;
+		}
+		collectStart = countCollections();
+		allocStart = threads == null ? 0 : threads.getThreadAllocatedBytes(threadId);
+		current[FRAME_START] = System.nanoTime();
+		inFrame = true;
+	}
+
+	/**
+	 * Marks the start of a section of the frame.
+	 *
+	 * @param section The section id
+	 */
+	public void begin(int section) {
+		if (!inFrame) {
+			return;
+		}
+		long now = System.nanoTime();
+		int index = SECTION_BASE + 2*section;
+		if (current[index+1] == 0) {
+			current[index] = now - current[FRAME_START];
+		}
+		opened[section] = now;
+	}
+
+	/**
+	 * Marks the end of a section of the frame.
+	 *
+	 * @param section The section id
+	 */
+	public void end(int section) {
+		if (!inFrame || opened[section] == 0) {
+			return;
+		}
+		current[SECTION_BASE + 2*section + 1] += Math.max(1, System.nanoTime() - opened[section]);
+		opened[section] = 0;
+	}
+
+	/**
+	 * Finishes the frame in progress and publishes it to the ring.
+	 */
+	public void endFrame() {
+		if (!inFrame) {
+			return;
+		}
+		current[SECTION_BASE + 1] = System.nanoTime() - current[FRAME_START];
+		if (threads == null) {
+			current[ALLOCATED] = -1;
+		} else {
+			long bytes = threads.getThreadAllocatedBytes(threadId) - allocStart - allocOverhead;
+			current[ALLOCATED] = Math.max(0, bytes);
+		}
+		current[COLLECTIONS] = countCollections() - collectStart;
+		inFrame = false;
+
+		long frame = published;
+		System.arraycopy(current, 0, ring, slot(frame), STRIDE);
+		published = frame+1;
+	}
+
+	/**
+	 * Copies the recorded frames, oldest first, into an array.
+	 *
+	 * This may be called from any thread.  Frames that were overwritten while they
+	 * were being copied are dropped, and so is the oldest frame, since its slot is
+	 * the one the writer fills next and may be half written.
+	 *
+	 * @param out An array of at least CAPACITY*STRIDE longs
+	 *
+	 * @return the number of frames copied
+	 */
+	private int snapshot(long[] out) {
+		long last = published;
+		long first = Math.max(0, last-CAPACITY);
+		for(long frame = first; frame < last; frame++) {
+			System.arraycopy(ring, slot(frame), out, (int)(frame-first)*STRIDE, STRIDE);
+		}
+		// The writer may have lapped us while copying.  It fills the slot of frame
+		// now (which is also that of frame now-CAPACITY) before publishing it.
+		long now = published;
+		long valid = Math.max(first, now+1-CAPACITY);
+		int skip = (int)Math.min(valid-first, last-first);
+		if (skip > 0) {
+			System.arraycopy(out, skip*STRIDE, out, 0, (int)(last-first-skip)*STRIDE);
+		}
+		return (int)(last-first-skip);
+	}
+
+	/**
+	 * Saves the recorded frames as a trace in the Chrome trace event format.
+	 *
+	 * The file can be opened with chrome://tracing or ui.perfetto.dev.  Every
+	 * section becomes a complete event and the allocations become a counter.
+	 *
+	 * @param file The file to write
+	 *
+	 * @return true if the trace was written
+	 */
+	public boolean dumpTrace(FileHandle file) {
+		long[] frames = new long[CAPACITY*STRIDE];
+		int count = snapshot(frames);
+		if (count == 0) {
+			return false;
+		}
+
+		long origin = frames[FRAME_START];
+		StringBuilder json = new StringBuilder(count*STRIDE*64);
+		json.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+		json.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":1,\"args\":{\"name\":\"render\"}}");
+		for(int ii = 0; ii < count; ii++) {
+			int base = ii*STRIDE;
+			long start = frames[base+FRAME_START]-origin;
+			for(int section = 0; section < SECTION_COUNT; section++) {
+				long duration = frames[base+SECTION_BASE+2*section+1];
+				if (duration == 0) {
+					continue;
+				}
+				long offset = frames[base+SECTION_BASE+2*section];
+				json.append(",\n{\"name\":\"").append(SECTION_NAMES[section]);
+				json.append("\",\"cat\":\"").append(section == FRAME ? "frame" : "section");
+				json.append("\",\"ph\":\"X\",\"pid\":1,\"tid\":1,\"ts\":");
+				appendMicros(json, start+offset);
+				json.append(",\"dur\":");
+				appendMicros(json, duration);
+				json.append('}');
+			}
+			json.append(",\n{\"name\":\"memory\",\"ph\":\"C\",\"pid\":1,\"tid\":1,\"ts\":");
+			appendMicros(json, start);
+			json.append(",\"args\":{\"allocatedBytes\":").append(frames[base+ALLOCATED]);
+			json.append(",\"collections\":").append(frames[base+COLLECTIONS]).append("}}");
+		}
+		json.append("\n]}\n");
+
+		try {
+			file.writeString(json.toString(), false, "UTF-8");
+		} catch (Exception e) {
+			Gdx.app.error("Profiler", "Could not write "+file.path(), e);
+			return false;
+		}
+		Gdx.app.log("Profiler", "Wrote "+count+" frames to "+file.path());
+		return true;
+	}
+
+	/**
+	 * Saves the recorded frames to a new trace file in the working directory.
+	 *
+	 * @return true if the trace was written
+	 */
+	public boolean dumpTrace() {
+		return dumpTrace(Gdx.files.local("profile-"+System.currentTimeMillis()+".json"));
+	}
+
+	/**
+	 * Returns the index of the record of a frame in the ring
+	 */
+	private static int slot(long frame) {
+		return (int)(frame % CAPACITY)*STRIDE;
+	}
+
+	/**
+	 * Returns the total number of garbage collections so far
+	 */
+	private long countCollections() {
+		long total = 0;
+		for(int ii = 0; ii < collectors.size(); ii++) {
+			total += Math.max(0, collectors.get(ii).getCollectionCount());
+		}
+		return total;
+	}
+
+	/**
+	 * Appends a time in nanoseconds as microseconds with three decimals
+	 */
+	private static void appendMicros(StringBuilder json, long nanos) {
+		json.append(nanos/1000).append('.');
+		long frac = nanos%1000;
+		if (frac < 100) {
+			json.append('0');
+		}
+		if (frac < 10) {
+			json.append('0');
+		}
+		json.append(frac);
+	}
+}
@@ -20,6 +20,7 @@ package edu.cornell.gdiac.util;
 
 import com.badlogic.gdx.assets.*;
 import com.badlogic.gdx.audio.*;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.*;
 
 /**
@@ -48,6 +49,16 @@ import com.badlogic.gdx.utils.*;
  * Finally, for (3), we never actually stop a Sound.  Instead we turn its
  * volume to 0 and allow it to be garbage collected when done.  This is why
  * we never allow you to access a sound object directly.
+ *
+ * Game sound effects should use playEffect instead of keys.  An effect has a
+ * category (pops, shots, stuns, events) and a priority.  Effects asked for
+ * during a frame are queued.  Those asked for twice are merged.  update() then
+ * plays the most important ones, up to the frame limit, on a fixed pool of
+ * voices.  Each category has a cap on its voices.  When there is no free
+ * voice, a new effect takes the voice of the weakest effect playing, if it is
+ * at least as important.  An effect with a position is quieter the further it
+ * is outside the listener's view (see setListener), and is dropped before it
+ * reaches OpenAL if it is too far away to be heard.
  */
 public class SoundController {
 
@@ -59,8 +70,10 @@ public class SoundController {
 	 * know when a sound ends.  Therefore, we simply let the sound go
 	 * and we garbage collect when the lifespace is greater than the
 	 * sound limit.
+	 *
+	 * Active sounds are pooled, so that playing a sound does not allocate.
 	 */
-	private class ActiveSound {
+	private static class ActiveSound implements Pool.Poolable {
 		/** Reference to the sound resource */
 		public Sound sound;
 		/** The id number representing the sound instance */
@@ -71,20 +84,110 @@ public class SoundController {
 		public long lifespan;
 		
 		/**
-		 * Creates a new active sound with the given values
+		 * Sets this active sound to the given values
 		 * 
 		 * @param s	Reference to the sound resource
 		 * @param n The id number representing the sound instance
 		 * @param b Is the sound looping (so no garbage collection)
 		 */
-		public ActiveSound(Sound s, long n, boolean b) {
+		public void set(Sound s, long n, boolean b) {
 			sound = s;
 			id = n;
 			loop = b;
 			lifespan = 0;
 		}
+
+		public void reset() {
+			sound = null;
+		}
+	}
+
+	/**
+	 * Inner class for one voice of the sound effect pool
+	 *
+	 * A voice is free when it has no sound.  As with keyed sounds, we do not
+	 * know when an effect ends, so a voice is freed once its effect has played
+	 * for the length of its category.
+	 */
+	private static class Voice {
+		/** Reference to the sound resource, or null if the voice is free */
+		public Sound sound;
+		/** The id number representing the sound instance */
+		public long id;
+		/** The category of the effect */
+		public int category;
+		/** The priority of the effect */
+		public int priority;
+		/** How many animation frames the effect has been playing */
+		public int age;
+
+		/**
+		 * Sets this voice to a newly played effect
+		 *
+		 * @param s	Reference to the sound resource
+		 * @param n The id number representing the sound instance
+		 * @param c The category of the effect
+		 * @param p The priority of the effect
+		 */
+		public void set(Sound s, long n, int c, int p) {
+			sound = s;
+			id = n;
+			category = c;
+			priority = p;
+			age = 0;
+		}
 	}
 
+	/**
+	 * Inner class for an effect waiting to be played at the next update
+	 */
+	private static class Request {
+		/** Reference to the sound resource */
+		public Sound sound;
+		/** The category of the effect */
+		public int category;
+		/** The priority of the effect */
+		public int priority;
+		/** The sound volume in the range [0,1] */
+		public float volume;
+
+		/**
+		 * Sets this request to the given values
+		 *
+		 * @param s	Reference to the sound resource
+		 * @param c The category of the effect
+		 * @param p The priority of the effect
+		 * @param v The sound volume in the range [0,1]
+		 */
+		public void set(Sound s, int c, int p, float v) {
+			sound = s;
+			category = c;
+			priority = p;
+			volume = v;
+		}
+	}
+
+	/** Effects of paint hitting something (many at once in busy levels) */
+	public static final int CATEGORY_POP = 0;
+	/** Effects of shooting */
+	public static final int CATEGORY_SHOT = 1;
+	/** Effects of something being stunned */
+	public static final int CATEGORY_STUN = 2;
+	/** Effects of game events (landing, reloading, dying, winning) */
+	public static final int CATEGORY_EVENT = 3;
+	/** The number of effect categories */
+	private static final int CATEGORY_COUNT = 4;
+
+	/** Effect priorities; an effect may only take the voice of an effect of at most its priority */
+	public static final int PRIORITY_LOW = 0;
+	public static final int PRIORITY_NORMAL = 1;
+	public static final int PRIORITY_HIGH = 2;
+
+	/** The number of voices for sound effects */
+	private static final int MAX_VOICES = 8;
+	/** The most effects that can wait for the next update */
+	private static final int MAX_REQUESTS = 16;
+
 	/** The default sound cooldown */
 	private static final int DEFAULT_COOL = 20;
 	/** The default sound length limit */
@@ -102,7 +205,26 @@ public class SoundController {
 	private IdentityMap<String,ActiveSound> actives;
 	/** Support class for garbage collection */
 	private Array<String> collection;
-	
+	/** Memory pool for active sounds */
+	private Pool<ActiveSound> activePool;
+
+	/** The voices for sound effects */
+	private Voice[] voices;
+	/** The most voices each category may use */
+	private int[] categoryCaps;
+	/** How many animation frames an effect of each category holds its voice */
+	private int[] categoryLengths;
+	/** The effects waiting for the next update */
+	private Request[] requests;
+	/** The number of effects waiting for the next update */
+	private int requestCount;
+	/** The area the listener can see, in the units of effect positions */
+	private Rectangle listener;
+	/** How far outside that area an effect can still be heard */
+	private float falloff;
+	/** Whether there is a listener (otherwise every effect is heard) */
+	private boolean hasListener;
+
 	
 	/** The number of animation frames before a key can be reused */
 	private long cooldown;
@@ -120,10 +242,31 @@ public class SoundController {
 		soundbank = new IdentityMap<String,Sound>();
 		actives = new IdentityMap<String,ActiveSound>();
 		collection = new Array<String>();
+		activePool = new Pool<ActiveSound>() {
+			protected ActiveSound newObject() {
+				return new ActiveSound();
+			}
+		};
 		cooldown = DEFAULT_COOL;
 		timeLimit = DEFAULT_LIMIT;
 		frameLimit = DEFAULT_FRAME;
 		current = 0;
+
+		voices = new Voice[MAX_VOICES];
+		for (int ii = 0; ii < MAX_VOICES; ii++) {
+			voices[ii] = new Voice();
+		}
+		requests = new Request[MAX_REQUESTS];
+		for (int ii = 0; ii < MAX_REQUESTS; ii++) {
+			requests[ii] = new Request();
+		}
+		categoryCaps = new int[CATEGORY_COUNT];
+		categoryLengths = new int[CATEGORY_COUNT];
+		setCategory(CATEGORY_POP, 3, 20);
+		setCategory(CATEGORY_SHOT, 2, 20);
+		setCategory(CATEGORY_STUN, 2, 40);
+		setCategory(CATEGORY_EVENT, 3, 60);
+		listener = new Rectangle();
 	}
 
 	/**
@@ -245,6 +388,43 @@ public class SoundController {
 		frameLimit = value;
 	}
 
+	/**
+	 * Sets how many voices a category of effects may use, and for how long
+	 *
+	 * We cannot tell when an effect ends, so an effect is taken to hold its
+	 * voice for the given number of animation frames.
+	 *
+	 * @param category	The effect category
+	 * @param cap		The most voices the category may use at once
+	 * @param length	How many animation frames an effect holds its voice
+	 */
+	public void setCategory(int category, int cap, int length) {
+		categoryCaps[category] = cap;
+		categoryLengths[category] = length;
+	}
+
+	/**
+	 * Sets the area the listener can see, for effects with a position
+	 *
+	 * Effects in the area play at full volume.  Outside of it, they get quieter
+	 * with distance, and are not played at all once they are falloff away.
+	 *
+	 * @param view		The area the listener can see (copied)
+	 * @param falloff	How far outside the area an effect can still be heard
+	 */
+	public void setListener(Rectangle view, float falloff) {
+		listener.set(view);
+		this.falloff = falloff;
+		hasListener = true;
+	}
+
+	/**
+	 * Removes the listener, so that every effect is heard at full volume
+	 */
+	public void clearListener() {
+		hasListener = false;
+	}
+
 	/// Sound Management
 	/**
 	 * Uses the asset manager to allocate a sound
@@ -330,11 +510,242 @@ public class SoundController {
 			sound.setLooping(id, true);
 		}
 		
-		actives.put(key,new ActiveSound(sound,id,loop));
+		ActiveSound snd = activePool.obtain();
+		snd.set(sound,id,loop);
+		snd = actives.put(key,snd);
+		if (snd != null) {
+			activePool.free(snd);
+		}
 		current++;
 		return true;
 	}
 
+	/**
+	 * Queues a sound effect heard everywhere, at full volume
+	 *
+	 * @param filename	The filename of the sound asset
+	 * @param category	The effect category
+	 * @param priority	The effect priority
+	 *
+	 * @return True if the effect was queued
+	 */
+	public boolean playEffect(String filename, int category, int priority) {
+		return playEffect(filename,category,priority,1.0f);
+	}
+
+	/**
+	 * Queues a sound effect at a position, at full volume
+	 *
+	 * @param filename	The filename of the sound asset
+	 * @param category	The effect category
+	 * @param priority	The effect priority
+	 * @param x			The x-coordinate of the source of the effect
+	 * @param y			The y-coordinate of the source of the effect
+	 *
+	 * @return True if the effect was queued
+	 */
+	public boolean playEffect(String filename, int category, int priority, float x, float y) {
+		return playEffect(filename,category,priority,1.0f,x,y);
+	}
+
+	/**
+	 * Queues a sound effect at a position
+	 *
+	 * The effect is quieter the further it is outside the listener's view, and
+	 * is not queued at all if it is too far away to be heard.
+	 *
+	 * @param filename	The filename of the sound asset
+	 * @param category	The effect category
+	 * @param priority	The effect priority
+	 * @param volume	The sound volume in the range [0,1]
+	 * @param x			The x-coordinate of the source of the effect
+	 * @param y			The y-coordinate of the source of the effect
+	 *
+	 * @return True if the effect was queued
+	 */
+	public boolean playEffect(String filename, int category, int priority, float volume, float x, float y) {
+		if (hasListener) {
+			float dx = Math.max(0, Math.max(listener.x-x, x-listener.x-listener.width));
+			float dy = Math.max(0, Math.max(listener.y-y, y-listener.y-listener.height));
+			if (dx > 0 || dy > 0) {
+				float distance = (float)Math.sqrt(dx*dx+dy*dy);
+				if (distance >= falloff) {
+					return false;
+				}
+				volume *= 1-distance/falloff;
+			}
+		}
+		return playEffect(filename,category,priority,volume);
+	}
+
+	/**
+	 * Queues a sound effect heard everywhere
+	 *
+	 * The effect is played at the next update, if it is among the most important
+	 * effects of the frame and can get a voice.  An effect queued again in the
+	 * same frame is only played once, as loud as the loudest.
+	 *
+	 * @param filename	The filename of the sound asset
+	 * @param category	The effect category
+	 * @param priority	The effect priority
+	 * @param volume	The sound volume in the range [0,1]
+	 *
+	 * @return True if the effect was queued
+	 */
+	public boolean playEffect(String filename, int category, int priority, float volume) {
+		Sound sound = soundbank.get(filename);
+		if (sound == null || volume <= 0) {
+			return false;
+		}
+
+		for (int ii = 0; ii < requestCount; ii++) {
+			Request req = requests[ii];
+			if (req.sound == sound) {
+				req.priority = Math.max(req.priority, priority);
+				req.volume = Math.max(req.volume, volume);
+				return true;
+			}
+		}
+
+		Request req;
+		if (requestCount < MAX_REQUESTS) {
+			req = requests[requestCount++];
+		} else {
+			req = requests[weakestRequest()];
+			if (req.priority > priority || (req.priority == priority && req.volume >= volume)) {
+				return false;
+			}
+		}
+		req.set(sound,category,priority,volume);
+		return true;
+	}
+
+	/**
+	 * Returns the index of the least important queued effect
+	 *
+	 * Effects are ordered by priority, and then by volume.
+	 *
+	 * @return the index of the least important queued effect
+	 */
+	private int weakestRequest() {
+		int weakest = 0;
+		for (int ii = 1; ii < requestCount; ii++) {
+			Request req = requests[ii];
+			Request min = requests[weakest];
+			if (req.priority < min.priority || (req.priority == min.priority && req.volume < min.volume)) {
+				weakest = ii;
+			}
+		}
+		return weakest;
+	}
+
+	/**
+	 * Plays the most important queued effects, up to the frame limit
+	 *
+	 * The rest are dropped, as they would be late by the next update.
+	 */
+	private void playRequests() {
+		while (requestCount > 0 && current < frameLimit) {
+			// Find the most important effect
+			int best = 0;
+			for (int ii = 1; ii < requestCount; ii++) {
+				Request req = requests[ii];
+				Request max = requests[best];
+				if (req.priority > max.priority || (req.priority == max.priority && req.volume > max.volume)) {
+					best = ii;
+				}
+			}
+
+			Request req = requests[best];
+			int index = findVoice(req.category, req.priority);
+			if (index >= 0) {
+				Voice voice = voices[index];
+				if (voice.sound != null) {
+					// This is a workaround for the OS X sound bug
+					voice.sound.setVolume(voice.id, 0.0f);
+					voice.sound = null;
+				}
+				long id = req.sound.play(req.volume);
+				if (id != -1) {
+					voice.set(req.sound,id,req.category,req.priority);
+					current++;
+				}
+			}
+
+			// Swap the played effect out of the queue
+			requestCount--;
+			requests[best] = requests[requestCount];
+			requests[requestCount] = req;
+		}
+		for (int ii = 0; ii < requestCount; ii++) {
+			requests[ii].sound = null;
+		}
+		requestCount = 0;
+	}
+
+	/**
+	 * Returns the index of the voice an effect should play on, or -1 if none
+	 *
+	 * If its category is at its cap, the effect takes the voice of the weakest
+	 * effect in the category.  Otherwise it takes a free voice, or else the voice
+	 * of the weakest effect playing.  It never takes the voice of a more
+	 * important effect.
+	 *
+	 * @param category	The effect category
+	 * @param priority	The effect priority
+	 *
+	 * @return the index of the voice for the effect, or -1 if none
+	 */
+	private int findVoice(int category, int priority) {
+		int used = 0;
+		int free = -1;
+		for (int ii = 0; ii < MAX_VOICES; ii++) {
+			Voice voice = voices[ii];
+			if (voice.sound == null) {
+				if (free < 0) {
+					free = ii;
+				}
+			} else if (voice.category == category) {
+				used++;
+			}
+		}
+		if (used >= categoryCaps[category]) {
+			return weakestVoice(category, priority);
+		}
+		if (free >= 0) {
+			return free;
+		}
+		return weakestVoice(-1, priority);
+	}
+
+	/**
+	 * Returns the index of the weakest playing effect, if it is not above a priority
+	 *
+	 * Effects are ordered by priority, and then by age, oldest first.
+	 *
+	 * @param category	The category to search, or -1 for all of them
+	 * @param priority	The highest priority that may be returned
+	 *
+	 * @return the index of the weakest playing effect, or -1 if none
+	 */
+	private int weakestVoice(int category, int priority) {
+		int weakest = -1;
+		for (int ii = 0; ii < MAX_VOICES; ii++) {
+			Voice voice = voices[ii];
+			if (voice.sound == null || (category >= 0 && voice.category != category)) {
+				continue;
+			}
+			if (weakest < 0 || voice.priority < voices[weakest].priority ||
+					(voice.priority == voices[weakest].priority && voice.age > voices[weakest].age)) {
+				weakest = ii;
+			}
+		}
+		if (weakest < 0 || voices[weakest].priority > priority) {
+			return -1;
+		}
+		return weakest;
+	}
+
 	public boolean pause(String key, String filename){
 		// Get the sound for the file
 		if (!soundbank.containsKey(filename) || current >= frameLimit) {
@@ -378,21 +789,34 @@ public class SoundController {
 		snd.sound.setLooping(snd.id,false); // Will eventually garbage collect
 		snd.sound.setVolume(snd.id, 0.0f); 
 		actives.remove(key);
+		activePool.free(snd);
 	}
 
 	/**
-	 * Removes all the sounds from the playing list
+	 * Removes all the sounds from the playing list, including queued and playing effects
 	 */
 	public void stopAll(){
+		for (int ii = 0; ii < MAX_VOICES; ii++) {
+			Voice voice = voices[ii];
+			if (voice.sound != null) {
+				voice.sound.setVolume(voice.id, 0.0f);
+				voice.sound = null;
+			}
+		}
+		for (int ii = 0; ii < requestCount; ii++) {
+			requests[ii].sound = null;
+		}
+		requestCount = 0;
+
 		if(actives.size == 0)
 			return;
 
-		for(String key:actives.keys()){
-			ActiveSound snd = actives.get(key);
+		for(ActiveSound snd : actives.values()){
 			snd.sound.setLooping(snd.id,false); // Will eventually garbage collect
 			snd.sound.setVolume(snd.id, 0.0f);
-			actives.remove(key);
+			activePool.free(snd);
 		}
+		actives.clear();
 	}
 
 	/**
@@ -409,9 +833,10 @@ public class SoundController {
 	/**
 	 * Updates the current frame of the sound controller.
 	 * 
-	 * This method serves two purposes.  First, it allows us to limit the number
+	 * This method serves three purposes.  First, it allows us to limit the number
 	 * of sounds per animation frame.  In addition it allows us some primitive
-	 * garbage collection.
+	 * garbage collection.  Finally, it plays the effects queued since the last
+	 * update.
 	 */
 	public void update() {
 		for(String key : actives.keys()) {
@@ -424,10 +849,18 @@ public class SoundController {
 			}
 		}
 		for(String key : collection) {
-			actives.remove(key);
+			activePool.free(actives.remove(key));
 		}
 		collection.clear();
 		current = 0;
+
+		for (int ii = 0; ii < MAX_VOICES; ii++) {
+			Voice voice = voices[ii];
+			if (voice.sound != null && ++voice.age > categoryLengths[voice.category]) {
+				voice.sound = null;
+			}
+		}
+		playRequests();
 	}
 
 	/**
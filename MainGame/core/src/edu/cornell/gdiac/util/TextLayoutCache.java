@@ -0,0 +1,127 @@
+/*
+ * TextLayoutCache.java
+ *
+ * Laying out a string (looking up its glyphs and working out where each one goes)
+ * is most of the cost of drawing text, and almost all of the text on screen is the
+ * same from one frame to the next.  This class keeps the layouts of recently drawn
+ * strings, so that a string is only laid out again when its font, text or color
+ * changes.  When the cache is full the least recently drawn layout is dropped.
+ *
+ * Looking up a layout that is already cached does not allocate.
+ */
+package edu.cornell.gdiac.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Pools;
+
+/**
+ * A least recently used cache of text layouts, keyed by font, string and color.
+ */
+public class TextLayoutCache {
+	/** A string drawn in a font with a color */
+	private static class Key {
+		/** The font (compared by identity) */
+		BitmapFont font;
+		/** The string */
+		String text;
+		/** The color, packed as by Color.toIntBits */
+		int color;
+		/** The cached hash code */
+		int hash;
+
+		/**
+		 * Sets this key to the given values
+		 *
+		 * @return this key, for chaining
+		 */
+		Key set(BitmapFont font, String text, Color color) {
+			this.font = font;
+			this.text = text;
+			this.color = color.toIntBits();
+			hash = (31*System.identityHashCode(font) + text.hashCode())*31 + this.color;
+			return this;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key)obj;
+			return font == other.font && color == other.color && text.equals(other.text);
+		}
+	}
+
+	/** The cached layouts, from least to most recently used */
+	private LinkedHashMap<Key,GlyphLayout> layouts;
+	/** The key used for lookups */
+	private Key probe;
+
+	/**
+	 * Creates an empty cache
+	 *
+	 * @param capacity  The most layouts to keep
+	 */
+	public TextLayoutCache(final int capacity) {
+		probe = new Key();
+		layouts = new LinkedHashMap<Key,GlyphLayout>(capacity*4/3+1, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key,GlyphLayout> eldest) {
+				if (size() <= capacity) {
+					return false;
+				}
+				Pools.free(eldest.getValue());
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Returns the layout of a string, laying it out if it is not cached.
+	 *
+	 * The layout is left aligned and does not wrap. It belongs to the cache, and
+	 * stays valid until it is evicted, so it should be drawn right away rather than
+	 * kept.
+	 *
+	 * @param font  The font to lay out the string in
+	 * @param text  The string to lay out
+	 * @param color The color of the text
+	 *
+	 * @return the layout of a string
+	 */
+	public GlyphLayout get(BitmapFont font, String text, Color color) {
+		GlyphLayout layout = layouts.get(probe.set(font, text, color));
+		if (layout == null) {
+			layout = Pools.obtain(GlyphLayout.class);
+			layout.setText(font, text, color, 0, Align.left, false);
+			layouts.put(new Key().set(font, text, color), layout);
+		}
+		probe.font = null;
+		probe.text = null;
+		return layout;
+	}
+
+	/**
+	 * Removes every layout from the cache.
+	 *
+	 * This must be called if a cached font is changed (for example rescaled),
+	 * since the cache cannot tell that its layouts are out of date.
+	 */
+	public void clear() {
+		for (GlyphLayout layout : layouts.values()) {
+			Pools.free(layout);
+		}
+		layouts.clear();
+	}
+}
@@ -97,6 +97,17 @@ public class BoxObstacle extends SimpleObstacle {
 	public float getHeight() {
 		return dimension.y;
 	}
+
+	/**
+	 * Stores the bounding box of this object, at its drawing position, in out
+	 *
+	 * @param out  The rectangle to store the bounds in
+	 *
+	 * @return out, for chaining
+	 */
+	public Rectangle getBounds(Rectangle out) {
+		return out.set(getDrawX()-dimension.x/2.0f, getDrawY()-dimension.y/2.0f, dimension.x, dimension.y);
+	}
 	
 	/**
 	 * Sets the box height
@@ -48,6 +48,8 @@ public abstract class Obstacle {
 	protected boolean masseffect;
     /** A tag for debugging purposes */
     private String nametag;
+	/** The entity type of this object, an index into per-type tables (0 if untyped) */
+	private int entityType;
 	/** Drawing scale to convert physics units to pixels */
 	protected Vector2 drawScale;
 
@@ -67,6 +69,16 @@ public abstract class Obstacle {
 	/** A cache value for when the user wants to access the drawing scale */
 	protected Vector2 scaleCache = new Vector2();
 
+	/// Interpolation state
+	/** The position at the start of the most recent physics step */
+	private Vector2 previousPosition = new Vector2();
+	/** The angle at the start of the most recent physics step */
+	private float previousAngle;
+	/** Whether a previous physics state has been recorded yet */
+	private boolean hasPreviousState;
+	/** How far (0 to 1) the drawn frame lies between the previous and current step */
+	private float interpolation = 1.0f;
+
 
 	/// BodyDef Methods
 	/**
@@ -832,6 +844,98 @@ public abstract class Obstacle {
 		return null;
 	}
 	
+	/// INTERPOLATION METHODS
+	/**
+	 * Records the current position and angle as the previous physics state.
+	 *
+	 * This should be called immediately before each fixed physics step, so that
+	 * the drawn frame can be blended between the last two simulated states.
+	 */
+	public void storePreviousState() {
+		previousPosition.set(getX(),getY());
+		previousAngle = getAngle();
+		hasPreviousState = true;
+	}
+
+	/**
+	 * Forgets the previous physics state, so that the object is drawn at its current state.
+	 *
+	 * This should be called when an object is moved without simulating, such as
+	 * when it is reused from a pool.
+	 */
+	public void clearPreviousState() {
+		hasPreviousState = false;
+	}
+
+	/**
+	 * Sets how far the drawn frame lies between the previous and current step.
+	 *
+	 * A value of 0 draws the previous physics state and a value of 1 draws the
+	 * current one.  This is the leftover time in the step accumulator divided by
+	 * the step size.
+	 *
+	 * @param alpha the blend factor between the previous and current step
+	 */
+	public void setInterpolation(float alpha) {
+		interpolation = alpha;
+	}
+
+	/**
+	 * Returns the x-coordinate to draw this object at
+	 *
+	 * This is the physics position blended with the previous step position.
+	 *
+	 * @return the interpolated x-coordinate in physics units
+	 */
+	public float getDrawX() {
+		if (!hasPreviousState) {
+			return getX();
+		}
+		return previousPosition.x + (getX()-previousPosition.x)*interpolation;
+	}
+
+	/**
+	 * Returns the y-coordinate to draw this object at
+	 *
+	 * This is the physics position blended with the previous step position.
+	 *
+	 * @return the interpolated y-coordinate in physics units
+	 */
+	public float getDrawY() {
+		if (!hasPreviousState) {
+			return getY();
+		}
+		return previousPosition.y + (getY()-previousPosition.y)*interpolation;
+	}
+
+	/**
+	 * Stores the bounding box of this object, at its drawing position, in out
+	 *
+	 * The box is in physics units and ignores rotation. Objects that do not know
+	 * their size report a box of size zero at their drawing position.
+	 *
+	 * @param out  The rectangle to store the bounds in
+	 *
+	 * @return out, for chaining
+	 */
+	public Rectangle getBounds(Rectangle out) {
+		return out.set(getDrawX(), getDrawY(), 0, 0);
+	}
+
+	/**
+	 * Returns the angle to draw this object at
+	 *
+	 * This is the physics angle blended with the previous step angle.
+	 *
+	 * @return the interpolated angle in radians
+	 */
+	public float getDrawAngle() {
+		if (!hasPreviousState) {
+			return getAngle();
+		}
+		return previousAngle + (getAngle()-previousAngle)*interpolation;
+	}
+
 	/// DRAWING METHODS
 	/**
      * Returns the drawing scale for this physics object
@@ -909,6 +1013,27 @@ public abstract class Obstacle {
     public void setName(String value) {
      	nametag = value; 
 	}
+
+	/**
+	 * Returns the entity type of this object.
+	 *
+	 * Unlike the name, the type is a small integer, so it can index tables
+	 * (such as collision handlers) without any string comparisons.
+	 *
+	 * @return the entity type of this object
+	 */
+	public int getEntityType() {
+		return entityType;
+	}
+
+	/**
+	 * Sets the entity type of this object.
+	 *
+	 * @param value  the entity type, from 0 up to the size of the per-type tables
+	 */
+	public void setEntityType(int value) {
+		entityType = value;
+	}
 	
 	/**
 	 * Create a new physics object at the origin.
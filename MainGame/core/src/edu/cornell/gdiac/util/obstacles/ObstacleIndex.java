@@ -0,0 +1,275 @@
+/*
+ * ObstacleIndex.java
+ *
+ * Drawing every obstacle in a level each frame wastes most of the time on objects
+ * that are nowhere near the screen. This class answers the question "which obstacles
+ * touch this rectangle?" without looking at all of them.
+ *
+ * Level geometry never moves, so it goes into a uniform grid once. Moving objects
+ * are few, so they are simply kept in a list and tested one by one. Queries return
+ * the obstacles in the order they were added, which keeps the drawing order intact.
+ */
+package edu.cornell.gdiac.util.obstacles;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.math.*;
+import com.badlogic.gdx.utils.*;
+
+/**
+ * A spatial index over obstacles for view culling.
+ *
+ * Obstacles are added as FIXED (kept in a uniform grid by their bounds at the time
+ * they are added), MOVING (tested against each query with their current bounds)
+ * or ALWAYS (returned by every query, for things like a tiled background).
+ */
+public class ObstacleIndex {
+	/** Obstacles that never move */
+	public static final int FIXED = 0;
+	/** Obstacles that may move */
+	public static final int MOVING = 1;
+	/** Obstacles that are always visible */
+	public static final int ALWAYS = 2;
+
+	/** A single indexed obstacle */
+	private static class Entry implements Pool.Poolable {
+		/** The indexed obstacle */
+		Obstacle obstacle;
+		/** How this obstacle is indexed (FIXED, MOVING or ALWAYS) */
+		int kind;
+		/** The position of this obstacle in the insertion order */
+		long order;
+		/** The last query that visited this entry (so grid entries are visited once) */
+		int stamp;
+		/** The bounds of this obstacle (only kept up to date for FIXED entries) */
+		final Rectangle bounds = new Rectangle();
+
+		public void reset() {
+			obstacle = null;
+			stamp = 0;
+		}
+	}
+
+	/** Sorts entries by insertion order */
+	private static final Comparator<Entry> INSERTION_ORDER = new Comparator<Entry>() {
+		public int compare(Entry a, Entry b) {
+			return a.order < b.order ? -1 : (a.order == b.order ? 0 : 1);
+		}
+	};
+
+	/** The width and height of a grid cell in physics units */
+	private float cellSize;
+	/** How far beyond its bounds an obstacle may draw, in physics units */
+	private float margin;
+	/** Grid cells of fixed obstacles, keyed by packed cell coordinates */
+	private LongMap<Array<Entry>> cells;
+	/** Moving and always visible obstacles, in insertion order */
+	private Array<Entry> loose;
+	/** The entry of every indexed obstacle */
+	private IdentityMap<Obstacle,Entry> entries;
+	/** Memory pool for entries */
+	private Pool<Entry> entryPool;
+	/** Memory pool for grid cells */
+	private Pool<Array<Entry>> cellPool;
+	/** The next insertion order */
+	private long nextOrder;
+	/** The current query */
+	private int stamp;
+
+	/** Scratch space for queries */
+	private Array<Entry> fixedHits;
+	private Rectangle area;
+	private Rectangle scratch;
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param cellSize  The size of a grid cell in physics units
+	 * @param margin    How far beyond its bounds an obstacle may draw, in physics units
+	 */
+	public ObstacleIndex(float cellSize, float margin) {
+		this.cellSize = cellSize;
+		this.margin = margin;
+		cells = new LongMap<Array<Entry>>();
+		loose = new Array<Entry>();
+		entries = new IdentityMap<Obstacle,Entry>();
+		entryPool = new Pool<Entry>() {
+			protected Entry newObject() {
+				return new Entry();
+			}
+		};
+		cellPool = new Pool<Array<Entry>>() {
+			protected Array<Entry> newObject() {
+				return new Array<Entry>(false, 8);
+			}
+		};
+		fixedHits = new Array<Entry>();
+		area = new Rectangle();
+		scratch = new Rectangle();
+	}
+
+	/**
+	 * Adds an obstacle to the index.
+	 *
+	 * A FIXED obstacle is filed under the bounds it has now, so it must not move
+	 * while it is indexed.
+	 *
+	 * @param obj   The obstacle to add
+	 * @param kind  FIXED, MOVING or ALWAYS
+	 */
+	public void add(Obstacle obj, int kind) {
+		if (entries.containsKey(obj)) {
+			remove(obj);
+		}
+		Entry entry = entryPool.obtain();
+		entry.obstacle = obj;
+		entry.kind = kind;
+		entry.order = nextOrder++;
+		entries.put(obj, entry);
+
+		if (kind == FIXED) {
+			obj.getBounds(entry.bounds);
+			int x0 = cell(entry.bounds.x);
+			int x1 = cell(entry.bounds.x+entry.bounds.width);
+			int y0 = cell(entry.bounds.y);
+			int y1 = cell(entry.bounds.y+entry.bounds.height);
+			for(int x = x0; x <= x1; x++) {
+				for(int y = y0; y <= y1; y++) {
+					long key = pack(x,y);
+					Array<Entry> list = cells.get(key);
+					if (list == null) {
+						list = cellPool.obtain();
+						cells.put(key, list);
+					}
+					list.add(entry);
+				}
+			}
+		} else {
+			loose.add(entry);
+		}
+	}
+
+	/**
+	 * Removes an obstacle from the index.
+	 *
+	 * @param obj   The obstacle to remove
+	 */
+	public void remove(Obstacle obj) {
+		Entry entry = entries.remove(obj);
+		if (entry == null) {
+			return;
+		}
+		if (entry.kind == FIXED) {
+			int x0 = cell(entry.bounds.x);
+			int x1 = cell(entry.bounds.x+entry.bounds.width);
+			int y0 = cell(entry.bounds.y);
+			int y1 = cell(entry.bounds.y+entry.bounds.height);
+			for(int x = x0; x <= x1; x++) {
+				for(int y = y0; y <= y1; y++) {
+					long key = pack(x,y);
+					Array<Entry> list = cells.get(key);
+					list.removeValue(entry, true);
+					if (list.size == 0) {
+						cells.remove(key);
+						cellPool.free(list);
+					}
+				}
+			}
+		} else {
+			loose.removeValue(entry, true);
+		}
+		entryPool.free(entry);
+	}
+
+	/**
+	 * Removes every obstacle from the index.
+	 */
+	public void clear() {
+		for(Array<Entry> list : cells.values()) {
+			list.clear();
+			cellPool.free(list);
+		}
+		cells.clear();
+		for(Entry entry : entries.values()) {
+			entryPool.free(entry);
+		}
+		entries.clear();
+		loose.clear();
+		nextOrder = 0;
+	}
+
+	/**
+	 * Finds the obstacles that may draw inside a rectangle.
+	 *
+	 * The obstacles are stored in out in the order they were added. The out array
+	 * is cleared first. This method does not allocate once the scratch arrays have
+	 * grown to the size of a typical query.
+	 *
+	 * @param view  The rectangle to test, in physics units
+	 * @param out   The array to store the obstacles in
+	 */
+	public void query(Rectangle view, Array<Obstacle> out) {
+		out.clear();
+		fixedHits.clear();
+		stamp++;
+		area.set(view.x-margin, view.y-margin, view.width+2*margin, view.height+2*margin);
+
+		// Fixed obstacles, from the cells under the rectangle
+		int x0 = cell(area.x);
+		int x1 = cell(area.x+area.width);
+		int y0 = cell(area.y);
+		int y1 = cell(area.y+area.height);
+		for(int x = x0; x <= x1; x++) {
+			for(int y = y0; y <= y1; y++) {
+				Array<Entry> list = cells.get(pack(x,y));
+				if (list == null) {
+					continue;
+				}
+				for(int ii = 0; ii < list.size; ii++) {
+					Entry entry = list.get(ii);
+					if (entry.stamp != stamp) {
+						entry.stamp = stamp;
+						if (area.overlaps(entry.bounds)) {
+							fixedHits.add(entry);
+						}
+					}
+				}
+			}
+		}
+		fixedHits.sort(INSERTION_ORDER);
+
+		// Merge with the moving obstacles, which are already in order
+		int next = 0;
+		for(int ii = 0; ii < loose.size; ii++) {
+			Entry entry = loose.get(ii);
+			if (entry.kind == MOVING && !area.overlaps(entry.obstacle.getBounds(scratch))) {
+				continue;
+			}
+			while (next < fixedHits.size && fixedHits.get(next).order < entry.order) {
+				out.add(fixedHits.get(next++).obstacle);
+			}
+			out.add(entry.obstacle);
+		}
+		while (next < fixedHits.size) {
+			out.add(fixedHits.get(next++).obstacle);
+		}
+	}
+
+	/**
+	 * Returns the grid cell containing a coordinate
+	 *
+	 * @param value  The coordinate in physics units
+	 *
+	 * @return the grid cell containing a coordinate
+	 */
+	private int cell(float value) {
+		return MathUtils.floor(value/cellSize);
+	}
+
+	/**
+	 * Packs a pair of cell coordinates into a single key
+	 */
+	private static long pack(int x, int y) {
+		return ((long)x << 32) | (y & 0xffffffffL);
+	}
+}
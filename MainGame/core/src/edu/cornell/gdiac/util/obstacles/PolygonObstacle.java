@@ -32,8 +32,18 @@ import edu.cornell.gdiac.game.GameCanvas;
  * from the texture size, using the same policy as PolygonSpriteBatch.
  */
 public class PolygonObstacle extends SimpleObstacle {
-	/** An earclipping triangular to make sure we work with convex shapes */
-	private static final EarClippingTriangulator TRIANGULATOR = new EarClippingTriangulator();
+	/**
+	 * An earclipping triangular to make sure we work with convex shapes
+	 *
+	 * A triangulator keeps its working arrays between calls, so each thread gets
+	 * its own; levels are built on the preload thread (see LevelPreloader).
+	 */
+	private static final ThreadLocal<EarClippingTriangulator> TRIANGULATOR = new ThreadLocal<EarClippingTriangulator>() {
+		@Override
+		protected EarClippingTriangulator initialValue() {
+			return new EarClippingTriangulator();
+		}
+	};
 	
 	/** Shape information for this physics object */
 	protected PolygonShape[] shapes;
@@ -116,6 +126,27 @@ public class PolygonObstacle extends SimpleObstacle {
 	public float getHeight() {
 		return dimension.y;
 	}
+
+	/**
+	 * Stores the bounding box of this object, at its drawing position, in out
+	 *
+	 * @param out  The rectangle to store the bounds in
+	 *
+	 * @return out, for chaining
+	 */
+	public Rectangle getBounds(Rectangle out) {
+		float minx = vertices[0];
+		float maxx = vertices[0];
+		float miny = vertices[1];
+		float maxy = vertices[1];
+		for(int ii = 2; ii < vertices.length; ii += 2) {
+			minx = Math.min(minx, vertices[ii]);
+			maxx = Math.max(maxx, vertices[ii]);
+			miny = Math.min(miny, vertices[ii+1]);
+			maxy = Math.max(maxy, vertices[ii+1]);
+		}
+		return out.set(getDrawX()+minx, getDrawY()+miny, maxx-minx, maxy-miny);
+	}
 	
 	/**
 	 * Sets the box height
@@ -198,7 +229,7 @@ public class PolygonObstacle extends SimpleObstacle {
 	 */
 	public void initShapes(float[] points) {
 		// Triangulate
-		ShortArray array = TRIANGULATOR.computeTriangles(points);
+		ShortArray array = TRIANGULATOR.get().computeTriangles(points);
 		trimColinear(points,array);
 		
 		tridx = new short[array.items.length];
@@ -366,7 +397,7 @@ public class PolygonObstacle extends SimpleObstacle {
 	 */
 	public void draw(GameCanvas canvas) {
 		if (region != null) {
-			canvas.draw(region,Color.WHITE,0,0,getX()*drawScale.x,getY()*drawScale.y,getAngle(),1,1);
+			canvas.draw(region,Color.WHITE,0,0,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),1,1);
 		}
 	}
 
@@ -11,6 +11,7 @@
  */
 package edu.cornell.gdiac.util.obstacles;
 
+import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.physics.box2d.*;
 
@@ -35,6 +36,18 @@ public class WheelObstacle extends SimpleObstacle {
 	public float getRadius() {
 		return shape.getRadius();
 	}
+
+	/**
+	 * Stores the bounding box of this object, at its drawing position, in out
+	 *
+	 * @param out  The rectangle to store the bounds in
+	 *
+	 * @return out, for chaining
+	 */
+	public Rectangle getBounds(Rectangle out) {
+		float radius = shape.getRadius();
+		return out.set(getDrawX()-radius, getDrawY()-radius, 2*radius, 2*radius);
+	}
 	
 	/**
 	 * Sets the radius of this circle
@@ -0,0 +1,190 @@
+package edu.cornell.gdiac.util.sidebar;
+
+/**
+ * The registry of the tunable game settings.
+ *
+ * Every setting has a name and an integer handle. The handles of the settings the
+ * game uses are resolved once, below, so reading a setting in the frame loop is an
+ * array lookup rather than a hash map lookup.
+ *
+ * Values are written by the Sidebar sliders on the Swing thread and read by the game
+ * on the render thread. Writers are synchronized and bump a volatile version number
+ * after each change, which tells readers whether anything has changed since they
+ * last looked, so they can skip re-applying the settings. Readers take the same
+ * lock to see the new values.
+ *
+ * The game applies settings from a Snapshot, a private copy of every value taken at
+ * one version, so that all of its objects see the same values within a frame.
+ */
+public class Settings {
+    /** The most settings the registry can hold */
+    public static final int MAX_SETTINGS = 64;
+
+    /** The name of each setting, by handle */
+    private static final String[] names = new String[MAX_SETTINGS];
+    /** The value of each setting, by handle */
+    private static final float[] values = new float[MAX_SETTINGS];
+    /** The number of registered settings */
+    private static int count;
+    /** Bumped after every change of a value */
+    private static volatile int version;
+
+    /**
+     * A copy of every setting at one version.
+     *
+     * Objects that apply settings remember the version of the snapshot they last
+     * applied, so applying the same snapshot again costs them a single comparison.
+     */
+    public static class Snapshot {
+        /** The copied values, by handle */
+        private final float[] copy = new float[MAX_SETTINGS];
+        /** The version of the copied values, or -1 if nothing was copied yet */
+        private int copied = -1;
+
+        /**
+         * Copies the current settings, if they changed since the last copy
+         *
+         * @return true if the settings changed
+         */
+        public boolean update() {
+            if (copied == version)
+                return false;
+            synchronized (Settings.class) {
+                System.arraycopy(values, 0, copy, 0, count);
+                copied = version;
+            }
+            return true;
+        }
+
+        /**
+         * Returns the value of a setting in this snapshot
+         *
+         * @param handle    The handle of the setting
+         * @return the value of the setting in this snapshot
+         */
+        public float get(int handle) {
+            return copy[handle];
+        }
+
+        /**
+         * Returns the version of the settings in this snapshot
+         *
+         * @return the version of the settings in this snapshot
+         */
+        public int getVersion() {
+            return copied;
+        }
+    }
+
+    // Handles of the settings used by the game
+    public static final int GRAVITY = handle("Gravity");
+    public static final int JUMP_HEIGHT = handle("Jump Height");
+    public static final int PLAYER_SPEED = handle("Player Speed");
+    public static final int KNOCKBACK_FORCE = handle("Knockback Force");
+    public static final int KNOCKBACK_FRICTION = handle("Knockback Friction");
+    public static final int KNOCKBACK_DURATION = handle("Knockback Duration");
+    public static final int KNOCKBACK_STUN_DURATION = handle("Knockback Stun Duration");
+    public static final int PAINTBALL_HEIGHT = handle("Paintball Height");
+    public static final int PAINTBALL_WIDTH = handle("Paintball Width");
+    public static final int PAINTBALL_SPEED = handle("Paintball Speed");
+    public static final int PAINTBALL_STICK_TIME = handle("Paintball-paintball Stick Time");
+    public static final int WALL_STICK_TIME = handle("Paintball-Wall Stick Time");
+    public static final int CAMERA_SPEED = handle("Camera Speed");
+    public static final int RUMBLE_INTENSITY = handle("Rumble Intensity");
+    public static final int RUMBLE_INTERVAL = handle("Rumble Interval");
+    public static final int RUMBLE_FREQUENCY = handle("Rumble Frequency");
+
+    /**
+     * Returns the handle of a setting, registering it (with the value 0) if it is new.
+     *
+     * This searches the registry, so it should be called once and the handle kept.
+     *
+     * @param name      The name of the setting
+     * @return the handle of the setting
+     */
+    public static synchronized int handle(String name) {
+        int found = find(name);
+        if (found >= 0)
+            return found;
+        if (count == MAX_SETTINGS)
+            throw new IllegalStateException("Too many settings to add " + name);
+        names[count] = name;
+        values[count] = 0;
+        return count++;
+    }
+
+    /**
+     * Returns the handle of a setting, without registering it if it is new.
+     *
+     * This searches the registry, so it should be called once and the handle kept.
+     *
+     * @param name      The name of the setting
+     * @return the handle of the setting, or -1 if there is no such setting
+     */
+    public static synchronized int find(String name) {
+        for (int ii = 0; ii < count; ii++) {
+            if (names[ii].equals(name))
+                return ii;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value of a setting
+     *
+     * This takes the lock the writers hold, so code that reads settings every
+     * frame should read them from a Snapshot instead.
+     *
+     * @param handle    The handle of the setting
+     * @return the value of the setting
+     */
+    public static synchronized float get(int handle) {
+        return values[handle];
+    }
+
+    /**
+     * Changes the value of a setting
+     *
+     * The version only changes if the value does.
+     *
+     * @param handle    The handle of the setting
+     * @param value     The new value
+     */
+    public static synchronized void set(int handle, float value) {
+        if (values[handle] != value) {
+            values[handle] = value;
+            version++;
+        }
+    }
+
+    /**
+     * Returns a number that changes whenever a setting does
+     *
+     * Compare it with the version seen when the settings were last applied to know
+     * whether they must be applied again.
+     *
+     * @return a number that changes whenever a setting does
+     */
+    public static int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the name of a setting
+     *
+     * @param handle    The handle of the setting
+     * @return the name of the setting
+     */
+    public static synchronized String getName(int handle) {
+        return names[handle];
+    }
+
+    /**
+     * Returns the number of registered settings
+     *
+     * @return the number of registered settings
+     */
+    public static synchronized int getCount() {
+        return count;
+    }
+}
@@ -8,9 +8,13 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.Enumeration;
-import java.util.HashMap;
 
-/** This class represents the sidebar menu to change in-game variables **/
+/**
+ * This class represents the sidebar menu to change in-game variables
+ *
+ * The values themselves live in Settings. The sidebar only writes them, from the
+ * Swing thread, and the game reads them through their handles.
+ **/
 public class Sidebar {
 
     /**The frame**/
@@ -20,9 +24,6 @@ public class Sidebar {
     
     /**Current height of the frame**/
     private static int currHeight;
-    /**Hashmap of all the values**/
-    private static HashMap<String,Float> theMap;
-    
     /**Whether or not the Sidebar has been set up**/
     private static boolean created = false;
     
@@ -73,29 +74,25 @@ public class Sidebar {
     }
 
     public static void initDefaultSettings(){
-        if (theMap == null)
-            theMap = new HashMap<String, Float>();
-        Sidebar.setValue("Gravity",-30.0f);
-        Sidebar.setValue("Jump Height",14.25f);
-        Sidebar.setValue("Player Speed",7.65f);
-        Sidebar.setValue("Knockback Force",12f);
-        Sidebar.setValue("Knockback Friction",.06f);
-        Sidebar.setValue("Knockback Duration",3f);
-        Sidebar.setValue("Knockback Stun Duration",20f);
-        Sidebar.setValue("Paintball Height",.46f);
-        Sidebar.setValue("Paintball Width",3.5f);
-        Sidebar.setValue("Paintball Speed",5.225f);
-        Sidebar.setValue("Paintball-paintball Stick Time",10f);
-        Sidebar.setValue("Paintball-Wall Stick Time",1.5f);
-        Sidebar.setValue("Camera Speed",.1f);
-        Sidebar.setValue("Rumble Intensity",0f);
-        Sidebar.setValue("Rumble Interval",3f);
+        Settings.set(Settings.GRAVITY,-30.0f);
+        Settings.set(Settings.JUMP_HEIGHT,14.25f);
+        Settings.set(Settings.PLAYER_SPEED,7.65f);
+        Settings.set(Settings.KNOCKBACK_FORCE,12f);
+        Settings.set(Settings.KNOCKBACK_FRICTION,.06f);
+        Settings.set(Settings.KNOCKBACK_DURATION,3f);
+        Settings.set(Settings.KNOCKBACK_STUN_DURATION,20f);
+        Settings.set(Settings.PAINTBALL_HEIGHT,.46f);
+        Settings.set(Settings.PAINTBALL_WIDTH,3.5f);
+        Settings.set(Settings.PAINTBALL_SPEED,5.225f);
+        Settings.set(Settings.PAINTBALL_STICK_TIME,10f);
+        Settings.set(Settings.WALL_STICK_TIME,1.5f);
+        Settings.set(Settings.CAMERA_SPEED,.1f);
+        Settings.set(Settings.RUMBLE_INTENSITY,0f);
+        Settings.set(Settings.RUMBLE_INTERVAL,3f);
     }
 
     /**Initialize sidebar*/
     public static void bootUp() {
-        if (theMap == null)
-            theMap = new HashMap<String,Float>();
         currHeight = 50;
         javax.swing.SwingUtilities.invokeLater(new Runnable() {
             public void run() {
@@ -113,6 +110,7 @@ public class Sidebar {
     **/
     public static void addSlider(String myReference,float from, float to, float begin) {
         final String ref = myReference;
+        final int handle = Settings.handle(myReference);
         final int height = currHeight;
         final float min = from;
         final float max = to;
@@ -127,7 +125,7 @@ public class Sidebar {
                 final JSlider s = new JSlider(JSlider.HORIZONTAL,0,100,100);
                 s.setAlignmentX(Component.CENTER_ALIGNMENT);
                 l.setBounds(300,height+20,600,50);
-                s.addChangeListener(new SliderListener(ref,theMap,min,max));
+                s.addChangeListener(new SliderListener(handle,min,max));
                 s.setMajorTickSpacing(20);
                 s.setMinorTickSpacing(5);
                 s.setPaintTicks(true);
@@ -161,6 +159,7 @@ public class Sidebar {
     **/
     public static void addButton(String buttonName) {
         final String bname = buttonName;
+        final int handle = Settings.handle(buttonName);
         final int height = currHeight;
         currHeight+=50;
          javax.swing.SwingUtilities.invokeLater(new Runnable() {
@@ -170,7 +169,7 @@ public class Sidebar {
                 b.addActionListener(new ActionListener() {
                     @Override
                     public void actionPerformed(ActionEvent e) {
-                        theMap.put(bname,theMap.get(bname)+1);
+                        Settings.set(handle,Settings.get(handle)+1);
                         value++;
                     }
                 });
@@ -182,32 +181,42 @@ public class Sidebar {
                 frame.pack();
             }
         });
-        theMap.put(bname,0f);
+        Settings.set(handle,0f);
     }
 
     /**
-     * Basic getter for hashmap values
+     * Basic getter for setting values by name
+     *
+     * This looks the name up every call. Code that runs every frame should keep
+     * a handle instead (see Settings.handle).
+     *
      *@param key        Variable name to get value of
      *@return           Returns key value if exists, else 0.0 
      **/
     public static float getValue(String key) {
-        if(theMap == null || !theMap.containsKey(key))
+        int handle = Settings.find(key);
+        if (handle < 0)
             return 0.0f;
-        return theMap.get(key);
+        return Settings.get(handle);
     }
 
     /**
-     * Puts values into the hashmap with
+     * Sets a setting value by name
      *
      * @param key   Variable name to get value of
      * @param value The value to set the variable name to
      *
-     * @returns whether or not we have successfully set the value
+     * @returns whether or not we have successfully set the value (false if the
+     * name is new and there is no room for it)
      */
     public static boolean setValue(String key, float value){
-        if (theMap==null)
-            return false;
-        theMap.put(key, value);
+        int handle = Settings.find(key);
+        if (handle < 0) {
+            if (Settings.getCount() == Settings.MAX_SETTINGS)
+                return false;
+            handle = Settings.handle(key);
+        }
+        Settings.set(handle, value);
         return true;
     }
 }
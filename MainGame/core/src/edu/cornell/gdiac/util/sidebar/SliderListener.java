@@ -3,14 +3,11 @@ package edu.cornell.gdiac.util.sidebar;
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
-import java.util.HashMap;
 
 
 public class SliderListener implements ChangeListener{
-    /** Key value associated with this instance **/
-    private String ref;
-    /** The hashmap from which the key is associated with **/
-    private HashMap<String,Float> theMap;
+    /** Handle of the setting associated with this instance **/
+    private int handle;
     /** Slider value scale **/
     private float scale;
     /** Slider value offset **/
@@ -18,14 +15,12 @@ public class SliderListener implements ChangeListener{
 
     /**
     *Constructer for SliderListener
-    *@param refString       The key value associated with this instance 
-    *@param outMap          The hashmap from which the key is associated with
+    *@param handle          The handle of the setting associated with this instance (see Settings)
     *@param min             Slider value scale
     *@param max             Slider value offset
     **/
-    public SliderListener(String refString, HashMap<String,Float> outMap, float min, float max) {
-        ref = refString;
-        theMap = outMap;
+    public SliderListener(int handle, float min, float max) {
+        this.handle = handle;
         scale = (max-min)/100;
         offset = min;
     }
@@ -33,6 +28,6 @@ public class SliderListener implements ChangeListener{
     @Override
     public void stateChanged(ChangeEvent e) {
         JSlider s = (JSlider)e.getSource();
-        theMap.put(ref,(float)s.getValue()*scale+offset);
+        Settings.set(handle,(float)s.getValue()*scale+offset);
     }
 }
@@ -0,0 +1,331 @@
+/*
+ * HeadlessRunner.java
+ *
+ * Runs the game simulation without a window.  Each level is loaded into a
+ * GameMode without a canvas and stepped at a fixed rate for a number of frames,
+ * with the player driven by a ScriptedInput.  At the end the runner reports how
+ * fast the simulation ran, how many bodies and contacts the world had, and how
+ * much memory the frames allocated.
+ *
+ * This is meant for performance regression tests and for trying out user-made
+ * levels on a build server.  Run it with
+ *
+ *     gradlew headless:run -Pargs="--frames 3600 --level JSON/level1.json"
+ *
+ * With --alloc-check the run fails if any gameplay frame allocates memory, since
+ * garbage collection during play shows up as hitches.  The first frames after a
+ * level starts are not checked, so that pools and caches can fill up first.
+ * The headless:allocCheck task runs this check on every level as part of
+ * gradlew check.
+ *
+ * Options:
+ *     --frames N      frames to simulate per level (default 3600)
+ *     --dt SECONDS    length of a frame (default 1/60)
+ *     --script FILE   key script for the player (see ScriptedInput)
+ *     --level NAME    a level file or its index in levelsDirectory.json
+ *                     (may be repeated; default is every level)
+ *     --alloc-check N fail if a frame allocates, ignoring the first N frames
+ *                     after each start of a level
+ */
+package edu.cornell.gdiac.headless;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import edu.cornell.gdiac.game.GameModeManager;
+import edu.cornell.gdiac.game.input.PlayerInputController;
+import edu.cornell.gdiac.game.interfaces.ScreenListener;
+import edu.cornell.gdiac.game.modes.GameMode;
+import edu.cornell.gdiac.util.FileReaderWriter;
+import edu.cornell.gdiac.util.Profiler;
+import edu.cornell.gdiac.util.sidebar.Sidebar;
+
+/**
+ * Simulates levels without a window and reports how they perform.
+ */
+public class HeadlessRunner extends ApplicationAdapter implements ScreenListener {
+	/** Default number of frames to simulate per level */
+	private static final int DEFAULT_FRAMES = 3600;
+	/** Default length of a frame in seconds */
+	private static final float DEFAULT_DT = 1/60.0f;
+
+	/** The level files to run */
+	private Array<String> levels;
+	/** The index of each level in levelsDirectory.json */
+	private Array<Integer> levelNumbers;
+	/** Frames to simulate per level */
+	private int frames;
+	/** Length of a frame in seconds */
+	private float dt;
+	/** The key script for the player */
+	private ScriptedInput input;
+	/** The level names given on the command line */
+	private Array<String> requested;
+	/** Frames to skip before checking allocations, or -1 to not check them */
+	private int allocWarmup;
+
+	/** The game being simulated */
+	private GameMode gameMode;
+	/** The assets of the game */
+	private AssetManager manager;
+	/** Whether the level must restart after this frame */
+	private boolean restart;
+	/** Times the player died in the current level */
+	private int deaths;
+	/** Times the player won the current level */
+	private int wins;
+	/** Whether the run failed */
+	private boolean failed;
+
+	/**
+	 * Starts the headless application.
+	 *
+	 * @param arg Command line arguments
+	 */
+	public static void main(String[] arg) {
+		HeadlessRunner runner = new HeadlessRunner();
+		try {
+			runner.parseArguments(arg);
+		} catch (RuntimeException e) {
+			System.out.println("Error: "+e.getMessage());
+			System.exit(2);
+		}
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		new HeadlessApplication(runner, config);
+	}
+
+	/**
+	 * Creates a runner with the default options.
+	 */
+	public HeadlessRunner() {
+		frames = DEFAULT_FRAMES;
+		dt = DEFAULT_DT;
+		input = new ScriptedInput(ScriptedInput.DEFAULT_SCRIPT);
+		allocWarmup = -1;
+		requested = new Array<String>();
+		levels = new Array<String>();
+		levelNumbers = new Array<Integer>();
+	}
+
+	/**
+	 * Reads the command line options.
+	 *
+	 * The script is read here, before the application starts, so it is given as
+	 * a plain path rather than a libGDX file.
+	 *
+	 * @param arg Command line arguments
+	 */
+	private void parseArguments(String[] arg) {
+		for(int ii = 0; ii < arg.length; ii++) {
+			String option = arg[ii];
+			if (option.isEmpty()) {
+				continue;
+			}
+			if (ii+1 >= arg.length) {
+				throw new IllegalArgumentException("Missing value for "+option);
+			}
+			String value = arg[++ii];
+			if (option.equals("--frames")) {
+				frames = Integer.parseInt(value);
+			} else if (option.equals("--dt")) {
+				dt = Float.parseFloat(value);
+			} else if (option.equals("--alloc-check")) {
+				allocWarmup = Integer.parseInt(value);
+			} else if (option.equals("--level")) {
+				requested.add(value);
+			} else if (option.equals("--script")) {
+				input = new ScriptedInput(new FileHandle(value).readString("UTF-8"));
+			} else {
+				throw new IllegalArgumentException("Unknown option "+option);
+			}
+		}
+	}
+
+	@Override
+	public void create() {
+		try {
+			setUp();
+			System.out.println(String.format("%-36s %7s %10s %9s %6s %9s %6s %10s %4s %6s %4s",
+					"level", "frames", "ticks/s", "bodies", "max", "contacts", "max",
+					"KB/frame", "gc", "deaths", "wins"));
+			for(int ii = 0; ii < levels.size; ii++) {
+				runLevel(levels.get(ii), levelNumbers.get(ii));
+			}
+		} catch (Exception e) {
+			Gdx.app.error("HeadlessRunner", "Simulation failed", e);
+			failed = true;
+		}
+		Gdx.app.exit();
+	}
+
+	@Override
+	public void dispose() {
+		if (gameMode != null) {
+			gameMode.unloadContent(manager);
+			gameMode.dispose();
+		}
+		if (manager != null) {
+			manager.dispose();
+		}
+		System.exit(failed ? 1 : 0);
+	}
+
+	/**
+	 * Loads the game assets and creates the game mode.
+	 */
+	private void setUp() {
+		// Textures are still created for the models, but are never drawn
+		Gdx.gl = Gdx.gl20 = createNullGL();
+		Sidebar.initDefaultSettings();
+
+		String[] all = FileReaderWriter.getJsonFiles();
+		if (requested.size == 0) {
+			for(int ii = 0; ii < all.length; ii++) {
+				levels.add(all[ii]);
+				levelNumbers.add(ii);
+			}
+		}
+		for(String name : requested) {
+			int number = -1;
+			for(int ii = 0; ii < all.length; ii++) {
+				if (all[ii].equals(name) || String.valueOf(ii).equals(name)) {
+					number = ii;
+				}
+			}
+			levels.add(number < 0 ? name : all[number]);
+			levelNumbers.add(Math.max(number, 0));
+		}
+
+		manager = new AssetManager();
+		gameMode = new GameMode(GameModeManager.GAME_MODE, null, manager);
+		gameMode.preLoadContent(manager);
+		manager.finishLoading();
+		gameMode.loadContent(manager);
+		gameMode.setScreenListener(this);
+		PlayerInputController.getInstance().setSource(input);
+		Profiler.getInstance().setEnabled(true);
+	}
+
+	/**
+	 * Simulates one level and prints its statistics.
+	 *
+	 * @param level  The level file
+	 * @param number The index of the level in levelsDirectory.json
+	 */
+	private void runLevel(String level, int number) {
+		Profiler profiler = Profiler.getInstance();
+		gameMode.setLevel(level, number);
+		gameMode.reset();
+		gameMode.skipIntro();
+		World world = gameMode.getWorld();
+		deaths = 0;
+		wins = 0;
+
+		long bodies = 0;
+		long contacts = 0;
+		int maxBodies = 0;
+		int maxContacts = 0;
+		long allocated = 0;
+		int collections = 0;
+		int checkFrom = allocWarmup;
+		int allocFrames = 0;
+		int firstAllocFrame = -1;
+		long firstAllocBytes = 0;
+		long start = System.nanoTime();
+		for(int frame = 0; frame < frames; frame++) {
+			input.setFrame(frame);
+			profiler.beginFrame();
+			profiler.begin(Profiler.UPDATE);
+			gameMode.simulate(dt);
+			profiler.end(Profiler.UPDATE);
+			profiler.endFrame();
+			long bytes = profiler.getAllocated(0);
+			if (allocWarmup >= 0 && frame >= checkFrom && !restart && bytes != 0) {
+				if (firstAllocFrame < 0) {
+					firstAllocFrame = frame;
+					firstAllocBytes = bytes;
+				}
+				allocFrames++;
+			}
+			if (restart) {
+				restart = false;
+				gameMode.reset();
+				gameMode.skipIntro();
+				checkFrom = frame+1+allocWarmup;
+			}
+
+			bodies += world.getBodyCount();
+			contacts += world.getContactCount();
+			maxBodies = Math.max(maxBodies, world.getBodyCount());
+			maxContacts = Math.max(maxContacts, world.getContactCount());
+			allocated += Math.max(0, bytes);
+			collections += profiler.getCollections(0);
+		}
+		double seconds = (System.nanoTime()-start)/1e9;
+
+		System.out.println(String.format("%-36s %7d %10.1f %9.1f %6d %9.1f %6d %10.2f %4d %6d %4d",
+				level, frames, frames/seconds, (double)bodies/frames, maxBodies,
+				(double)contacts/frames, maxContacts, allocated/1024.0/frames, collections, deaths, wins));
+
+		if (firstAllocFrame >= 0) {
+			if (firstAllocBytes < 0) {
+				System.out.println("Error: this JVM cannot count allocations, so --alloc-check cannot be used");
+			} else {
+				System.out.println(String.format("Error: %d gameplay frames of %s allocated memory (first was frame %d, %d bytes)",
+						allocFrames, level, firstAllocFrame, firstAllocBytes));
+			}
+			failed = true;
+		}
+	}
+
+	/**
+	 * Returns an OpenGL stand-in that does nothing.
+	 *
+	 * Every method returns zero, false or null. This is enough to create the
+	 * textures that the models expect, since nothing is ever drawn with them.
+	 *
+	 * @return an OpenGL stand-in that does nothing
+	 */
+	public static GL20 createNullGL() {
+		return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] { GL20.class },
+				new InvocationHandler() {
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						Class<?> type = method.getReturnType();
+						if (type == boolean.class) {
+							return false;
+						} else if (type == int.class) {
+							return 0;
+						} else if (type == float.class) {
+							return 0.0f;
+						} else if (type == String.class) {
+							return "";
+						}
+						return null;
+					}
+				});
+	}
+
+	// ScreenListener: the runner restarts the level instead of changing screens
+	public void exitScreen(Screen screen, int exitCode) {
+	}
+
+	public void switchToScreen(Screen from, String to) {
+		if (to.equals(GameModeManager.LOSS)) {
+			deaths++;
+		} else if (to.equals(GameModeManager.WIN)) {
+			wins++;
+		}
+		restart = true;
+	}
+}
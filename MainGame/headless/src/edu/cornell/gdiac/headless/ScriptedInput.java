@@ -0,0 +1,109 @@
+/*
+ * ScriptedInput.java
+ *
+ * Plays back a fixed sequence of key presses, so that the player can be driven
+ * without a keyboard.  A script is plain text with one command per line:
+ *
+ *     # comments start with a hash
+ *     period 120           the script repeats every 120 frames
+ *     0 120 RIGHT          hold RIGHT from frame 0 for 120 frames
+ *     30 8 X               hold X (jump) from frame 30 for 8 frames
+ *
+ * Key names are those of Input.Keys (e.g. LEFT, RIGHT, DOWN, X, Z, SPACE) and
+ * are not case sensitive.  Without a period the script plays once.
+ */
+package edu.cornell.gdiac.headless;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.utils.IntArray;
+import edu.cornell.gdiac.game.input.InputSource;
+
+/**
+ * An input source that presses keys according to a script.
+ */
+public class ScriptedInput implements InputSource {
+	/** Runs right, jumping now and then and shooting once per loop */
+	public static final String DEFAULT_SCRIPT =
+			"period 90\n" +
+			"0 90 RIGHT\n" +
+			"0 8 X\n" +
+			"45 8 X\n" +
+			"60 2 Z\n";
+
+	/** The presses, as triples of (first frame, last frame + 1, key) */
+	private IntArray presses;
+	/** The length of a loop of the script, or 0 if it does not repeat */
+	private int period;
+	/** The current frame of the script */
+	private int frame;
+
+	/**
+	 * Creates a scripted input from the text of a script.
+	 *
+	 * @param script The text of the script
+	 *
+	 * @throws IllegalArgumentException if the script cannot be read
+	 */
+	public ScriptedInput(String script) {
+		presses = new IntArray();
+		String[] lines = script.split("\n");
+		for(int ii = 0; ii < lines.length; ii++) {
+			String line = lines[ii].trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] words = line.split("\\s+");
+			try {
+				if (words[0].equalsIgnoreCase("period")) {
+					period = Integer.parseInt(words[1]);
+					continue;
+				}
+				int start = Integer.parseInt(words[0]);
+				int length = Integer.parseInt(words[1]);
+				for(int jj = 2; jj < words.length; jj++) {
+					presses.add(start);
+					presses.add(start+length);
+					presses.add(parseKey(words[jj]));
+				}
+			} catch (RuntimeException e) {
+				throw new IllegalArgumentException("Bad script line "+(ii+1)+": "+line, e);
+			}
+		}
+	}
+
+	/**
+	 * Moves the script to the given frame
+	 *
+	 * @param frame The number of frames since the script started
+	 */
+	public void setFrame(int frame) {
+		this.frame = frame;
+	}
+
+	public boolean isKeyPressed(int key) {
+		int now = period > 0 ? frame % period : frame;
+		for(int ii = 0; ii < presses.size; ii += 3) {
+			if (presses.get(ii+2) == key && presses.get(ii) <= now && now < presses.get(ii+1)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the key code for a key name
+	 *
+	 * @param name The name of the key, as in Input.Keys
+	 *
+	 * @return the key code for a key name
+	 */
+	private static int parseKey(String name) {
+		for(int key = 0; key <= 255; key++) {
+			String known = Input.Keys.toString(key);
+			if (known != null && known.equalsIgnoreCase(name)) {
+				return key;
+			}
+		}
+		throw new IllegalArgumentException("Unknown key "+name);
+	}
+}